@@ -0,0 +1,122 @@
+package de.ibmix.magkit.tools.t9n;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation;
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.LocaleUtils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+
+/**
+ * Shared cache of the translation property fallback chains per locale.
+ * <p><strong>Purpose:</strong></p>
+ * Computes the translation property names of a locale once and shares them between the translation service,
+ * the i18n REST endpoint and the CSV export.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Fallback order language_country_variant, language_country, language</li>
+ * <li>Optional default locale of the {@link TranslationModule} as last fallback</li>
+ * <li>Chains are recomputed when the configured default locale changes</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe. The returned arrays are shared and must not be modified.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class LocaleFallbackChains {
+
+    private final Provider<TranslationModule> _moduleProvider;
+    private volatile Chains _chains = new Chains(null);
+
+    /**
+     * Creates the fallback chain cache.
+     *
+     * @param moduleProvider provider for the translation module configuration
+     */
+    @Inject
+    public LocaleFallbackChains(Provider<TranslationModule> moduleProvider) {
+        _moduleProvider = moduleProvider;
+    }
+
+    /**
+     * Returns the translation property names of the locale in fallback order.
+     *
+     * @param locale the requested locale
+     * @return the shared property names, must not be modified
+     */
+    public String[] getPropertyNames(Locale locale) {
+        final String defaultLocale = getDefaultLocale();
+        Chains chains = _chains;
+        if (!Objects.equals(chains._defaultLocale, defaultLocale)) {
+            chains = new Chains(defaultLocale);
+            _chains = chains;
+        }
+        return chains.get(locale);
+    }
+
+    private String getDefaultLocale() {
+        final TranslationModule module = _moduleProvider != null ? _moduleProvider.get() : null;
+        return module != null ? trimToNull(module.getDefaultLocale()) : null;
+    }
+
+    /**
+     * Property names of all requested locales for one default locale.
+     */
+    private static final class Chains {
+        private final String _defaultLocale;
+        private final Locale _fallback;
+        private final Map<Locale, String[]> _byLocale = new ConcurrentHashMap<>();
+
+        private Chains(String defaultLocale) {
+            _defaultLocale = defaultLocale;
+            _fallback = toLocale(defaultLocale);
+        }
+
+        private static Locale toLocale(String defaultLocale) {
+            Locale locale = null;
+            if (defaultLocale != null) {
+                try {
+                    locale = LocaleUtils.toLocale(defaultLocale);
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Ignore invalid default locale {} of translation module.", defaultLocale);
+                }
+            }
+            return locale;
+        }
+
+        private String[] get(Locale locale) {
+            return _fallback == null ? Translation.LOCALE_TO_PROPERTY_NAMES.apply(locale) : _byLocale.computeIfAbsent(locale, l -> Translation.toPropertyNames(l, _fallback));
+        }
+    }
+}
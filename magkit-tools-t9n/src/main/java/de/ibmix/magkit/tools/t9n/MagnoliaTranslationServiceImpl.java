@@ -20,6 +20,10 @@ package de.ibmix.magkit.tools.t9n;
  * #L%
  */
 
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import de.ibmix.magkit.tools.t9n.metrics.TranslationMetrics;
+import de.ibmix.magkit.tools.t9n.usage.KeyUsageTracker;
+import de.ibmix.magkit.tools.t9n.usage.MissingKeyCollector;
 import info.magnolia.cms.util.QueryUtil;
 import info.magnolia.context.MgnlContext;
 import info.magnolia.i18nsystem.DefaultMessageBundlesLoader;
@@ -30,15 +34,28 @@ import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 
 import javax.jcr.Node;
 import javax.jcr.NodeIterator;
 import javax.jcr.RepositoryException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
+import static info.magnolia.jcr.util.PropertyUtil.getString;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 
 /**
@@ -49,10 +66,17 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
  * through the Magnolia UI.
  * <p><strong>Key Features:</strong></p>
  * <ul>
- * <li>Retrieves translations from the translation workspace via JCR queries</li>
+ * <li>Retrieves translations from the in-memory {@link TranslationIndex} of the translation workspace</li>
+ * <li>Falls back to JCR queries while the index is not available</li>
  * <li>Falls back to standard property file translations if workspace lookup fails</li>
- * <li>Supports locale-specific and language-only translation lookups</li>
+ * <li>Batch translation of many labels for one locale with a single index pass or query</li>
+ * <li>Optionally serves workspace translations merged into the message bundles with a single lookup</li>
+ * <li>Records lookup counts and latencies in the {@link TranslationMetrics} MBean</li>
+ * <li>Records the requested keys in the {@link KeyUsageTracker} to find dead translations</li>
+ * <li>Hands keys without any translation to the {@link MissingKeyCollector}</li>
+ * <li>Supports variant, country and language translation lookups with an optional default locale fallback</li>
  * <li>Automatically escapes single quotes in placeholder messages for MessageFormat compatibility</li>
+ * <li>Caches the analysed workspace translations per locale and key, evicted on workspace changes</li>
  * <li>Operates in the system context for consistent access regardless of user permissions</li>
  * <li>Validates keys to prevent SQL injection in JCR queries</li>
  * </ul>
@@ -68,22 +92,69 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 @Singleton
 public class MagnoliaTranslationServiceImpl extends TranslationServiceImpl {
     public static final String BASE_QUERY = "select * from [" + TranslationNodeTypes.Translation.NAME + "] where key = ";
+    static final int QUERY_BATCH_SIZE = 100;
     private static final Predicate<String> MESSAGE_CONDITION = StringUtils::isNotEmpty;
 
+    private final TranslationIndex _translationIndex;
+    private final LocaleFallbackChains _fallbackChains;
+    private final MessageBundleMerger _bundleMerger;
+    private final TranslationMetrics _metrics;
+    private final KeyUsageTracker _keyUsageTracker;
+    private final MissingKeyCollector _missingKeyCollector;
+    private final Map<Locale, Map<String, PreparedMessage>> _preparedMessages = new ConcurrentHashMap<>();
+
     /**
-     * Creates a new translation service with the required providers.
+     * Creates a new translation service without workspace index. Every lookup queries the repository.
      *
      * @param i18nModuleProvider provider for the i18n module configuration
      * @param defaultMessageBundlesLoaderProvider provider for loading message bundles from properties files
      */
-    @Inject
     public MagnoliaTranslationServiceImpl(Provider<I18nModule> i18nModuleProvider, Provider<DefaultMessageBundlesLoader> defaultMessageBundlesLoaderProvider) {
+        this(i18nModuleProvider, defaultMessageBundlesLoaderProvider, null);
+    }
+
+    /**
+     * Creates a new translation service with workspace index only.
+     *
+     * @param i18nModuleProvider provider for the i18n module configuration
+     * @param defaultMessageBundlesLoaderProvider provider for loading message bundles from properties files
+     * @param translationIndex in-memory index of the translation workspace (may be null)
+     */
+    public MagnoliaTranslationServiceImpl(Provider<I18nModule> i18nModuleProvider, Provider<DefaultMessageBundlesLoader> defaultMessageBundlesLoaderProvider, TranslationIndex translationIndex) {
+        this(i18nModuleProvider, defaultMessageBundlesLoaderProvider, translationIndex, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a new translation service with the required providers. All collaborators except the providers are optional.
+     *
+     * @param i18nModuleProvider provider for the i18n module configuration
+     * @param defaultMessageBundlesLoaderProvider provider for loading message bundles from properties files
+     * @param translationIndex in-memory index of the translation workspace (may be null)
+     * @param fallbackChains shared translation property fallback chains (may be null)
+     * @param bundleMerger merger of the workspace translations into the message bundles (may be null)
+     * @param metrics lookup metrics published via JMX (may be null)
+     * @param keyUsageTracker recorder of the requested keys (may be null)
+     * @param missingKeyCollector collector of keys without any translation (may be null)
+     */
+    @Inject
+    public MagnoliaTranslationServiceImpl(Provider<I18nModule> i18nModuleProvider, Provider<DefaultMessageBundlesLoader> defaultMessageBundlesLoaderProvider, TranslationIndex translationIndex, LocaleFallbackChains fallbackChains, MessageBundleMerger bundleMerger, TranslationMetrics metrics, KeyUsageTracker keyUsageTracker, MissingKeyCollector missingKeyCollector) {
         super(i18nModuleProvider, defaultMessageBundlesLoaderProvider);
+        _translationIndex = translationIndex;
+        _fallbackChains = fallbackChains;
+        _bundleMerger = bundleMerger;
+        _metrics = metrics;
+        _keyUsageTracker = keyUsageTracker;
+        _missingKeyCollector = missingKeyCollector;
+        if (translationIndex != null) {
+            translationIndex.addChangeListener(this::evictPreparedMessages);
+        }
     }
 
     /**
      * Translates the given keys by first attempting to retrieve the translation from the workspace,
      * then falling back to the parent implementation if not found.
+     * If the workspace translations of the locale are merged into the message bundles, only the parent implementation
+     * is used.
      * Automatically escapes single quotes in messages containing placeholders for proper MessageFormat handling.
      *
      * @param localeProvider provides the target locale for the translation
@@ -93,31 +164,218 @@ public class MagnoliaTranslationServiceImpl extends TranslationServiceImpl {
      */
     @Override
     public String translate(LocaleProvider localeProvider, String basename, String[] keys) {
-        String message = getAppMessage(localeProvider, keys);
-        message = escapeSingleQuotesIfPlaceholderMessage(message);
-        return MESSAGE_CONDITION.test(message) ? message : super.translate(localeProvider, basename, keys);
+        final long start = System.nanoTime();
+        final Locale locale = localeProvider.getLocale();
+        final boolean merged = isMergedIntoBundles(locale);
+        PreparedMessage message = merged ? null : getPreparedMessage(locale, keys);
+        String translation = message != null ? message.getText() : translateFromBundles(localeProvider, basename, keys);
+        recordLookup(locale, merged, message != null, System.nanoTime() - start);
+        recordUsage(keys);
+        return translation;
     }
 
-    String escapeSingleQuotesIfPlaceholderMessage(final String message) {
-        String escapedMessage = message;
-        if (Strings.CS.contains(escapedMessage, "'") && !Strings.CS.contains(escapedMessage, "''") && escapedMessage.matches(".*\\{[0-9]}.*")) {
-            escapedMessage = escapedMessage.replace("'", "''");
+    /**
+     * Translates the given keys and formats the message with the arguments.
+     * Workspace translations reuse the cached {@link java.text.MessageFormat} of their {@link PreparedMessage}.
+     *
+     * @param localeProvider provides the target locale for the translation
+     * @param basename the basename of the message bundle (maybe empty when using workspace translations)
+     * @param keys array of translation keys to try in order of preference
+     * @param args the message arguments
+     * @return the formatted message, or the first key if no translation is found
+     */
+    public String format(LocaleProvider localeProvider, String basename, String[] keys, Object... args) {
+        final long start = System.nanoTime();
+        final Locale locale = localeProvider.getLocale();
+        final boolean merged = isMergedIntoBundles(locale);
+        PreparedMessage message = merged ? null : getPreparedMessage(locale, keys);
+        final boolean hit = message != null;
+        if (!hit) {
+            message = PreparedMessage.of(translateFromBundles(localeProvider, basename, keys), locale);
         }
-        return escapedMessage;
+        recordLookup(locale, merged, hit, System.nanoTime() - start);
+        recordUsage(keys);
+        return message.format(args);
     }
 
-    String getAppMessage(LocaleProvider localeProvider, String[] keys) {
+    /**
+     * Translates many labels for one locale at once.
+     * The locale and its fallback chain are resolved once and all workspace translations are read with one index
+     * probe per key or, while the index is not available, with one repository query per {@value #QUERY_BATCH_SIZE} keys.
+     *
+     * @param localeProvider provides the target locale for the translations
+     * @param basename the basename of the message bundle (maybe empty when using workspace translations)
+     * @param keyArrays arrays of translation keys, each in order of preference
+     * @return the translated messages by the first key of each array, or the first key if no translation is found
+     */
+    public Map<String, String> translateAll(LocaleProvider localeProvider, String basename, Collection<String[]> keyArrays) {
+        final long start = System.nanoTime();
         final Locale locale = localeProvider.getLocale();
+        final boolean merged = isMergedIntoBundles(locale);
+        final Map<String, String> messages = merged ? Collections.emptyMap() : lookupMessages(collectKeys(keyArrays), getPropertyNames(locale));
+        final Map<String, String> translations = new LinkedHashMap<>();
+        int hits = 0;
+        for (String[] keys : keyArrays) {
+            if (ArrayUtils.isNotEmpty(keys)) {
+                PreparedMessage message = null;
+                for (int i = 0; i < keys.length && message == null; i++) {
+                    final String newMessage = messages.get(keys[i]);
+                    if (MESSAGE_CONDITION.test(newMessage)) {
+                        message = prepare(locale, keys[i], newMessage);
+                    }
+                }
+                translations.put(keys[0], message != null ? message.getText() : translateFromBundles(localeProvider, basename, keys));
+                hits += message != null ? 1 : 0;
+                recordUsage(keys);
+            }
+        }
+        if (!translations.isEmpty()) {
+            // the batch is recorded as single lookups with the mean duration
+            final long nanos = (System.nanoTime() - start) / translations.size();
+            for (int i = 0; i < translations.size(); i++) {
+                recordLookup(locale, merged, i < hits, nanos);
+            }
+        }
+        return translations;
+    }
+
+    private static Set<String> collectKeys(Collection<String[]> keyArrays) {
+        final Set<String> keys = new LinkedHashSet<>();
+        for (String[] candidates : keyArrays) {
+            if (candidates != null) {
+                for (String key : candidates) {
+                    if (key != null && !Strings.CS.contains(key, "'")) {
+                        keys.add(key);
+                    }
+                }
+            }
+        }
+        return keys;
+    }
 
-        final String[] i18nPropertyNames = TranslationNodeTypes.Translation.LOCALE_TO_PROPERTY_NAMES.apply(locale);
+    /**
+     * Looks up the translations of all keys in the workspace index or, if the index is not available, in the repository.
+     *
+     * @param keys the translation keys to look up, without single quotes
+     * @param i18nPropertyNames the property names to check for translations, in order of preference
+     * @return the translated messages by key, keys without translation may be missing
+     */
+    Map<String, String> lookupMessages(final Set<String> keys, final String[] i18nPropertyNames) {
+        Map<String, String> messages;
+        if (_translationIndex != null && _translationIndex.isAvailable()) {
+            messages = new HashMap<>();
+            for (String key : keys) {
+                messages.put(key, _translationIndex.getValue(key, i18nPropertyNames));
+            }
+        } else {
+            messages = doMessagesQuery(keys, i18nPropertyNames);
+        }
+        return messages;
+    }
+
+    /**
+     * Executes JCR queries to retrieve the translations for many keys, switching to the system context once.
+     *
+     * @param keys the translation keys to look up, without single quotes
+     * @param i18nPropertyNames the property names to check for translations, in order of preference
+     * @return the translated messages by key, keys without translation node are missing
+     */
+    Map<String, String> doMessagesQuery(final Set<String> keys, final String[] i18nPropertyNames) {
+        Map<String, String> messages = new HashMap<>();
+        if (!keys.isEmpty()) {
+            try {
+                MgnlContext.doInSystemContext(() -> {
+                    for (List<String> batch : ListUtils.partition(new ArrayList<>(keys), QUERY_BATCH_SIZE)) {
+                        NodeIterator nodeIterator = QueryUtil.search(TranslationNodeTypes.WS_TRANSLATION, buildQuery(batch));
+                        while (nodeIterator.hasNext()) {
+                            final Node node = nodeIterator.nextNode();
+                            messages.putIfAbsent(getString(node, TranslationNodeTypes.Translation.PN_KEY, EMPTY), TranslationNodeTypes.Translation.retrieveValue(node, i18nPropertyNames));
+                        }
+                    }
+                    return null;
+                });
+            } catch (RepositoryException e) {
+                LOGGER.error("Error on querying translation nodes for {} keys.", keys.size(), e);
+                recordQueryError();
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Builds the query for the translation nodes of all given keys.
+     *
+     * @param keys the translation keys, without single quotes
+     * @return the JCR-SQL2 statement
+     */
+    public static String buildQuery(List<String> keys) {
+        StringBuilder statement = new StringBuilder(BASE_QUERY.length() + keys.size() * 32).append(BASE_QUERY);
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                statement.append(" or key = ");
+            }
+            statement.append('\'').append(keys.get(i)).append('\'');
+        }
+        return statement.toString();
+    }
+
+    /**
+     * Translates the keys with the message bundles and captures the first key if no bundle has a translation either.
+     */
+    private String translateFromBundles(LocaleProvider localeProvider, String basename, String[] keys) {
+        final String translation = super.translate(localeProvider, basename, keys);
+        if (_missingKeyCollector != null && ArrayUtils.isNotEmpty(keys) && (translation == null || translation.equals(keys[0]))) {
+            _missingKeyCollector.capture(keys[0]);
+        }
+        return translation;
+    }
+
+    private void recordLookup(Locale locale, boolean merged, boolean hit, long nanos) {
+        if (_metrics != null) {
+            if (merged) {
+                _metrics.recordMergedBundleLookup(locale, nanos);
+            } else if (hit) {
+                _metrics.recordOverrideHit(locale, nanos);
+            } else {
+                _metrics.recordBundleFallback(locale, nanos);
+            }
+        }
+    }
+
+    private void recordUsage(String[] keys) {
+        if (_keyUsageTracker != null) {
+            _keyUsageTracker.record(keys);
+        }
+    }
+
+    private void recordQueryError() {
+        if (_metrics != null) {
+            _metrics.recordQueryError();
+        }
+    }
+
+    boolean isMergedIntoBundles(Locale locale) {
+        return _bundleMerger != null && _bundleMerger.isMerged(locale);
+    }
+
+    /**
+     * Returns the prepared workspace translation of the first key having one.
+     * Prepared messages are reused as long as the workspace translation is unchanged.
+     *
+     * @param locale the target locale
+     * @param keys array of translation keys to try in order of preference
+     * @return the prepared message or null if no key has a workspace translation
+     */
+    PreparedMessage getPreparedMessage(Locale locale, String[] keys) {
+        final String[] i18nPropertyNames = getPropertyNames(locale);
 
         // get first acceptable translation for list of keys:
-        String message = null;
+        PreparedMessage message = null;
         for (String key : keys) {
             if (!Strings.CS.contains(key, "'")) {
-                String newMessage = doMessageQuery(key, i18nPropertyNames);
+                String newMessage = lookupMessage(key, i18nPropertyNames);
                 if (MESSAGE_CONDITION.test(newMessage)) {
-                    message = newMessage;
+                    message = prepare(locale, key, newMessage);
                     break;
                 }
             }
@@ -125,6 +383,36 @@ public class MagnoliaTranslationServiceImpl extends TranslationServiceImpl {
         return message;
     }
 
+    String[] getPropertyNames(Locale locale) {
+        return _fallbackChains != null ? _fallbackChains.getPropertyNames(locale) : TranslationNodeTypes.Translation.LOCALE_TO_PROPERTY_NAMES.apply(locale);
+    }
+
+    private PreparedMessage prepare(Locale locale, String key, String source) {
+        final Map<String, PreparedMessage> messages = _preparedMessages.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+        PreparedMessage message = messages.get(key);
+        if (message == null || !message.isPreparedFrom(source)) {
+            message = PreparedMessage.of(source, locale);
+            messages.put(key, message);
+        }
+        return message;
+    }
+
+    private void evictPreparedMessages(Set<String> keys) {
+        _preparedMessages.values().forEach(messages -> messages.keySet().removeAll(keys));
+    }
+
+    /**
+     * Looks up the translation in the workspace index and queries the repository if the index is not available.
+     *
+     * @param key the translation key to look up
+     * @param i18nPropertyNames the property names to check for translations, in order of preference
+     * @return the translated message, or null if not found
+     */
+    String lookupMessage(final String key, final String[] i18nPropertyNames) {
+        String message = _translationIndex != null ? _translationIndex.getValue(key, i18nPropertyNames) : null;
+        return message != null ? message : doMessageQuery(key, i18nPropertyNames);
+    }
+
     /**
      * Executes a JCR query to retrieve the translation for the given key.
      * This method is package-private to allow testing with mock implementations.
@@ -152,6 +440,7 @@ public class MagnoliaTranslationServiceImpl extends TranslationServiceImpl {
             );
         } catch (RepositoryException e) {
             LOGGER.error("Error on querying translation node for query {}.", statement, e);
+            recordQueryError();
         }
         return message;
     }
@@ -0,0 +1,313 @@
+package de.ibmix.magkit.tools.t9n;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import de.ibmix.magkit.tools.t9n.index.TranslationSnapshot;
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import info.magnolia.i18nsystem.DefaultMessageBundlesLoader;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.LocaleUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+import static org.apache.commons.lang3.StringUtils.removeStart;
+
+/**
+ * Merges the workspace translations into the in-memory message bundles of the {@link DefaultMessageBundlesLoader}.
+ * <p><strong>Purpose:</strong></p>
+ * With the module option {@code mergeMessageBundles} the translation service resolves every key with a single
+ * bundle lookup instead of probing the workspace first and the message bundles afterwards.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Workspace values override the bundle values of the locale given by the property name
+ * (e.g. translation_de_DE)</li>
+ * <li>Values of placeholder messages are stored escaped, as returned by the translation service</li>
+ * <li>Changed keys reported by the {@link TranslationIndex} are merged again, removed overrides restore the bundle
+ * value</li>
+ * <li>Bundles reloaded by Magnolia are detected and merged again on the next lookup. Besides the identity of the
+ * bundle map and of the bundle of each locale, one overridden value per locale is checked, so that bundles cleared
+ * and refilled in place are detected as well</li>
+ * <li>Disabling the option restores the original bundle values</li>
+ * <li>Locales with workspace translations but without message bundle are reported by {@link #isMerged(Locale)},
+ * so that the translation service keeps looking them up in the workspace</li>
+ * </ul>
+ * <p><strong>Limitations:</strong></p>
+ * Overrides are resolved with the fallback of the message bundles, so a country specific bundle value takes
+ * precedence over a language override of the workspace. The default locale of the module is not applied.
+ * Overrides of locales without a message bundle are not merged, as the bundle map of Magnolia is never modified.
+ * Requests of these locales and of their more specific locales are translated from the workspace first.
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe. Merging is serialized and only modifies the existing bundle {@link Properties},
+ * which are synchronized themselves. The bundle map read by the request threads is not changed structurally.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class MessageBundleMerger {
+
+    private final Provider<DefaultMessageBundlesLoader> _loaderProvider;
+    private final Provider<TranslationModule> _moduleProvider;
+    private final TranslationIndex _translationIndex;
+    private final Object _lock = new Object();
+    private final Map<Locale, Map<String, String>> _originals = new HashMap<>();
+    private final Map<Locale, Witness> _witnesses = new HashMap<>();
+    private volatile Map<Locale, Properties> _merged;
+    private final Set<Locale> _unmerged = new HashSet<>();
+    private volatile Collection<Witness> _checks = List.of();
+    private volatile Set<Locale> _unmergedLocales = Set.of();
+
+    /**
+     * Creates the merger and registers it for changed keys of the index.
+     *
+     * @param loaderProvider provider for the message bundles loader
+     * @param moduleProvider provider for the translation module configuration
+     * @param translationIndex in-memory index of the translation workspace
+     */
+    @Inject
+    public MessageBundleMerger(Provider<DefaultMessageBundlesLoader> loaderProvider, Provider<TranslationModule> moduleProvider, TranslationIndex translationIndex) {
+        _loaderProvider = loaderProvider;
+        _moduleProvider = moduleProvider;
+        _translationIndex = translationIndex;
+        translationIndex.addChangeListener(this::mergeKeys);
+    }
+
+    /**
+     * Checks whether the message bundles contain the workspace translations and merges them if necessary.
+     *
+     * @return true if translations can be served by the message bundles alone
+     */
+    public boolean isMerged() {
+        boolean merged = false;
+        final TranslationModule module = _moduleProvider.get();
+        if (module != null && module.isMergeMessageBundles()) {
+            final Map<Locale, Properties> messages = _loaderProvider.get().getMessages();
+            merged = isCurrent(messages) || mergeAll(messages);
+        } else if (_merged != null) {
+            restoreAll();
+        }
+        return merged;
+    }
+
+    /**
+     * Checks whether the message bundles contain the workspace translations of the given locale and its fallbacks.
+     * Locales whose workspace translations have no message bundle to be merged into are not covered.
+     *
+     * @param locale the requested locale
+     * @return true if translations of the locale can be served by the message bundles alone
+     */
+    public boolean isMerged(Locale locale) {
+        boolean merged = isMerged();
+        final Set<Locale> unmergedLocales = _unmergedLocales;
+        if (merged && locale != null && !unmergedLocales.isEmpty()) {
+            for (Iterator<Locale> it = LocaleUtils.localeLookupList(locale).iterator(); merged && it.hasNext();) {
+                merged = !unmergedLocales.contains(it.next());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Checks whether the given bundles are the merged ones and still contain the overrides.
+     */
+    private boolean isCurrent(Map<Locale, Properties> messages) {
+        boolean current = messages == _merged;
+        for (Iterator<Witness> it = _checks.iterator(); current && it.hasNext();) {
+            current = it.next().isValid(messages);
+        }
+        return current;
+    }
+
+    private boolean mergeAll(Map<Locale, Properties> messages) {
+        synchronized (_lock) {
+            if (!isCurrent(messages)) {
+                final TranslationSnapshot snapshot = _translationIndex.getSnapshot();
+                // reloaded bundles do not contain overrides anymore, the recorded originals belong to the old ones
+                _originals.clear();
+                _witnesses.clear();
+                _checks = List.of();
+                _unmerged.clear();
+                _unmergedLocales = Set.of();
+                _merged = null;
+                if (snapshot != null) {
+                    try {
+                        final long start = System.currentTimeMillis();
+                        for (String key : snapshot.getKeys()) {
+                            merge(messages, key, snapshot.getValues(key));
+                        }
+                        _merged = messages;
+                        _checks = List.copyOf(_witnesses.values());
+                        _unmergedLocales = Set.copyOf(_unmerged);
+                        LOGGER.info("Merged {} translations into message bundles in {} ms.", snapshot.size(), System.currentTimeMillis() - start);
+                    } catch (UnsupportedOperationException e) {
+                        LOGGER.error("Message bundles cannot be modified, use workspace lookups.", e);
+                    }
+                }
+            }
+            return _merged == messages;
+        }
+    }
+
+    void mergeKeys(Set<String> keys) {
+        synchronized (_lock) {
+            final Map<Locale, Properties> messages = _merged;
+            if (messages != null) {
+                restore(messages, keys);
+                if (_translationIndex.isLoaded()) {
+                    final TranslationSnapshot snapshot = _translationIndex.getSnapshot();
+                    keys.forEach(key -> merge(messages, key, snapshot.getValues(key)));
+                    electWitnesses(messages);
+                    _checks = List.copyOf(_witnesses.values());
+                    _unmergedLocales = Set.copyOf(_unmerged);
+                } else {
+                    // index discarded, merge the reloaded state on next lookup
+                    _merged = null;
+                }
+            }
+        }
+    }
+
+    private void restoreAll() {
+        synchronized (_lock) {
+            final Map<Locale, Properties> messages = _merged;
+            if (messages != null) {
+                _originals.forEach((locale, originals) -> restore(messages.get(locale), originals, originals.keySet().toArray(new String[0])));
+                _originals.clear();
+                _witnesses.clear();
+                _checks = List.of();
+                _unmerged.clear();
+                _unmergedLocales = Set.of();
+                _merged = null;
+            }
+        }
+    }
+
+    private void restore(Map<Locale, Properties> messages, Collection<String> keys) {
+        _originals.forEach((locale, originals) -> restore(messages.get(locale), originals, keys.toArray(new String[0])));
+        _witnesses.values().removeIf(witness -> keys.contains(witness._key));
+    }
+
+    private void restore(Properties properties, Map<String, String> originals, String[] keys) {
+        for (String key : keys) {
+            if (originals.containsKey(key)) {
+                final String original = originals.remove(key);
+                if (properties != null) {
+                    if (original == null) {
+                        properties.remove(key);
+                    } else {
+                        properties.setProperty(key, original);
+                    }
+                }
+            }
+        }
+    }
+
+    private void merge(Map<Locale, Properties> messages, String key, Map<String, String> values) {
+        values.forEach((propertyName, value) -> {
+            final Locale locale = toLocale(propertyName);
+            // the bundle map is read by request threads without synchronization and must not be changed structurally
+            final Properties properties = locale != null ? messages.get(locale) : null;
+            if (properties != null && isNotEmpty(value)) {
+                final Map<String, String> originals = _originals.computeIfAbsent(locale, l -> new HashMap<>());
+                final String previous = properties.getProperty(key);
+                if (!originals.containsKey(key)) {
+                    originals.put(key, previous);
+                }
+                final String text = PreparedMessage.of(value, locale).getText();
+                properties.setProperty(key, text);
+                final Witness witness = _witnesses.get(locale);
+                if (witness != null && witness._key.equals(key)) {
+                    _witnesses.put(locale, new Witness(locale, properties, key, text));
+                } else if (witness == null && !text.equals(originals.get(key))) {
+                    // a reload in place restores the original value of the witness
+                    _witnesses.put(locale, new Witness(locale, properties, key, text));
+                }
+            } else if (locale != null && isNotEmpty(value) && _unmerged.add(locale)) {
+                LOGGER.debug("Locale {} has no message bundle, its translations are looked up in the workspace.", locale);
+            }
+        });
+    }
+
+    /**
+     * Replaces witnesses of restored keys by other overrides that differ from the bundle value.
+     */
+    private void electWitnesses(Map<Locale, Properties> messages) {
+        _originals.forEach((locale, originals) -> {
+            final Properties properties = messages.get(locale);
+            if (properties != null && !_witnesses.containsKey(locale)) {
+                for (Map.Entry<String, String> original : originals.entrySet()) {
+                    final String text = properties.getProperty(original.getKey());
+                    if (text != null && !text.equals(original.getValue())) {
+                        _witnesses.put(locale, new Witness(locale, properties, original.getKey(), text));
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * One merged override per locale, whose value differs from the bundle value. It is checked to detect bundles
+     * reloaded by Magnolia.
+     */
+    private static final class Witness {
+        private final Locale _locale;
+        private final Properties _properties;
+        private final String _key;
+        private final String _text;
+
+        private Witness(Locale locale, Properties properties, String key, String text) {
+            _locale = locale;
+            _properties = properties;
+            _key = key;
+            _text = text;
+        }
+
+        private boolean isValid(Map<Locale, Properties> messages) {
+            return messages.get(_locale) == _properties && _text.equals(_properties.getProperty(_key));
+        }
+    }
+
+    static Locale toLocale(String propertyName) {
+        Locale locale = null;
+        try {
+            locale = LocaleUtils.toLocale(removeStart(propertyName, PREFIX_NAME));
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Ignore translation property {} without valid locale.", propertyName);
+        }
+        return locale;
+    }
+}
@@ -0,0 +1,133 @@
+package de.ibmix.magkit.tools.t9n;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.commons.lang3.Strings;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Pre-analysed translation message, cached by the {@link MagnoliaTranslationServiceImpl} per key and locale.
+ * <p><strong>Purpose:</strong></p>
+ * Avoids analysing and parsing the same workspace translation on every call. The placeholder check and the single
+ * quote escaping are done once, the {@link MessageFormat} is parsed once on the first formatting.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Placeholder detection with a precompiled pattern, matching every {@link MessageFormat} argument such as
+ * {@code {0}}, {@code {12}}, {@code {0,number,integer}} or {@code {0,choice,...}}</li>
+ * <li>Single quotes of placeholder messages are escaped for {@link MessageFormat} compatibility</li>
+ * <li>Lazily created {@link MessageFormat}, reused for all subsequent formatting</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This class is thread-safe. Formatting is synchronized on the shared {@link MessageFormat} instance,
+ * which is not thread-safe itself.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public final class PreparedMessage {
+    static final Pattern PLACEHOLDER = Pattern.compile("\\{[0-9]+[,}]");
+
+    private final String _source;
+    private final String _text;
+    private final boolean _placeholder;
+    private final Locale _locale;
+    private volatile MessageFormat _format;
+
+    private PreparedMessage(String source, Locale locale) {
+        _source = source;
+        _locale = locale;
+        _placeholder = PLACEHOLDER.matcher(source).find();
+        _text = escapeSingleQuotes(source, _placeholder);
+    }
+
+    /**
+     * Analyses the given workspace translation.
+     *
+     * @param source the translation as stored in the workspace
+     * @param locale the locale used for formatting
+     * @return the prepared message
+     */
+    public static PreparedMessage of(String source, Locale locale) {
+        return new PreparedMessage(Objects.requireNonNull(source), locale);
+    }
+
+    static String escapeSingleQuotes(String message, boolean placeholder) {
+        String escapedMessage = message;
+        if (placeholder && Strings.CS.contains(escapedMessage, "'") && !Strings.CS.contains(escapedMessage, "''")) {
+            escapedMessage = escapedMessage.replace("'", "''");
+        }
+        return escapedMessage;
+    }
+
+    /**
+     * Returns the translation, with escaped single quotes if it contains placeholders.
+     *
+     * @return the message text for {@link MessageFormat}
+     */
+    public String getText() {
+        return _text;
+    }
+
+    public boolean isPlaceholder() {
+        return _placeholder;
+    }
+
+    /**
+     * Checks whether this message has been prepared from the given workspace translation.
+     *
+     * @param source the current workspace translation
+     * @return true if the cached message is still valid for the translation
+     */
+    public boolean isPreparedFrom(String source) {
+        return _source.equals(source);
+    }
+
+    /**
+     * Formats the message with the given arguments. Messages without placeholders are returned unchanged.
+     *
+     * @param args the message arguments
+     * @return the formatted message
+     */
+    public String format(Object... args) {
+        String result = _text;
+        if (_placeholder) {
+            final MessageFormat format = getFormat();
+            synchronized (format) {
+                result = format.format(args);
+            }
+        }
+        return result;
+    }
+
+    private MessageFormat getFormat() {
+        MessageFormat format = _format;
+        if (format == null) {
+            // benign race: concurrent callers may parse the message twice, one of the formats wins
+            format = new MessageFormat(_text, _locale);
+            _format = format;
+        }
+        return format;
+    }
+}
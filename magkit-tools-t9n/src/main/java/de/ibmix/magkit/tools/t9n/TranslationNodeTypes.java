@@ -23,7 +23,11 @@ package de.ibmix.magkit.tools.t9n;
 import org.apache.commons.lang3.ArrayUtils;
 
 import javax.jcr.Node;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static info.magnolia.jcr.util.NodeTypes.MGNL_PREFIX;
@@ -71,30 +75,50 @@ public final class TranslationNodeTypes {
         public static final String NAME = MGNL_PREFIX + "translation";
         public static final String PREFIX_NAME = "translation_";
 
+        private static final Map<Locale, String[]> PROPERTY_NAMES = new ConcurrentHashMap<>();
+
         /**
          * Function that converts a locale to an array of translation property names with fallback order.
-         * For locales with country codes, returns both the country-specific and language-only property names.
-         * For language-only locales, returns just the language property name.
+         * For locales with variant or country codes, returns the variant-specific, the country-specific and the
+         * language-only property names. For language-only locales, returns just the language property name.
+         * The arrays are computed once per locale and shared, callers must not modify them.
          * <p>
          * Example: Locale.GERMANY returns ["translation_de_DE", "translation_de"]
          */
-        public static final Function<Locale, String[]> LOCALE_TO_PROPERTY_NAMES = locale -> {
-            final String[] i18nPropertyNames;
-            final String language = locale.getLanguage();
-            String i18nProperty = TranslationNodeTypes.Translation.PREFIX_NAME + language;
+        public static final Function<Locale, String[]> LOCALE_TO_PROPERTY_NAMES = locale -> PROPERTY_NAMES.computeIfAbsent(locale, l -> toPropertyNames(l, null));
 
-            final String country = locale.getCountry();
-            if (isNotEmpty(country)) {
-                i18nPropertyNames = new String[]{TranslationNodeTypes.Translation.PREFIX_NAME + language + "_" + country, i18nProperty};
-            } else {
-                i18nPropertyNames = new String[]{i18nProperty};
+        /**
+         * Creates the translation property names of a locale in fallback order:
+         * language_country_variant, language_country, language and the names of the default locale.
+         *
+         * @param locale the requested locale
+         * @param defaultLocale the locale to fall back to at last (may be null)
+         * @return the distinct property names in order of preference
+         */
+        public static String[] toPropertyNames(Locale locale, Locale defaultLocale) {
+            final Set<String> propertyNames = new LinkedHashSet<>();
+            addPropertyNames(locale, propertyNames);
+            if (defaultLocale != null) {
+                addPropertyNames(defaultLocale, propertyNames);
             }
-            return i18nPropertyNames;
-        };
+            return propertyNames.toArray(new String[0]);
+        }
+
+        private static void addPropertyNames(Locale locale, Set<String> propertyNames) {
+            final String languageProperty = PREFIX_NAME + locale.getLanguage();
+            final String countryProperty = languageProperty + '_' + locale.getCountry();
+            if (isNotEmpty(locale.getVariant())) {
+                propertyNames.add(countryProperty + '_' + locale.getVariant());
+            }
+            if (isNotEmpty(locale.getCountry())) {
+                propertyNames.add(countryProperty);
+            }
+            propertyNames.add(languageProperty);
+        }
 
         /**
          * Retrieves the translated value from a translation node using the specified property names with fallback.
-         * Tries the first property name, and if empty or missing, falls back to the second property name if available.
+         * Returns the value of the first property name with a non-empty value.
          *
          * @param node the translation node to read from (may be null)
          * @param propertyNames the property names to try in order of preference
@@ -103,9 +127,8 @@ public final class TranslationNodeTypes {
         public static String retrieveValue(Node node, String[] propertyNames) {
             String foundMsg = EMPTY;
             if (node != null && ArrayUtils.getLength(propertyNames) > 0) {
-                foundMsg = getString(node, propertyNames[0], EMPTY);
-                if (isEmpty(foundMsg) && propertyNames.length > 1) {
-                    foundMsg = getString(node, propertyNames[1], EMPTY);
+                for (int i = 0; i < propertyNames.length && isEmpty(foundMsg); i++) {
+                    foundMsg = getString(node, propertyNames[i], EMPTY);
                 }
             }
             return foundMsg;
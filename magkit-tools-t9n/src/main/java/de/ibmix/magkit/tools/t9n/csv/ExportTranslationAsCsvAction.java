@@ -38,14 +38,15 @@ import javax.jcr.RepositoryException;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
-import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
 import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
 import static info.magnolia.jcr.util.NodeUtil.asIterable;
 import static info.magnolia.jcr.util.NodeUtil.asList;
@@ -116,14 +117,18 @@ public class ExportTranslationAsCsvAction extends AbstractAction<ConfiguredActio
         }
     }
 
-    Map<String, Map<String, String>> getEntries(Collection<Locale> locales) {
+    protected Map<String, Map<String, String>> getEntries(Collection<Locale> locales) {
         Map<String, Map<String, String>> entries = new TreeMap<>();
 
+        // one column per language, resolved once instead of per node
+        final Set<String> propertyNames = new LinkedHashSet<>();
+        for (Locale locale : locales) {
+            propertyNames.add(Translation.LOCALE_TO_PROPERTY_NAMES.apply(new Locale(locale.getLanguage()))[0]);
+        }
         List<Node> t9nNodes = retrieveTranslationNodes();
         for (Node t9nNode : t9nNodes) {
             Map<String, String> translationProperties = new TreeMap<>();
-            for (Locale locale : locales) {
-                String propertyName = PREFIX_NAME + locale.getLanguage();
+            for (String propertyName : propertyNames) {
                 translationProperties.put(propertyName, getString(t9nNode, propertyName));
             }
             if (isNotBlank(getString(t9nNode, Translation.PN_KEY))) {
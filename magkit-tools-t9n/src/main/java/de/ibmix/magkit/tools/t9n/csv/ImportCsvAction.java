@@ -40,7 +40,6 @@ import info.magnolia.ui.editor.FormView;
 import info.magnolia.ui.observation.DatasourceObservation;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 
 import javax.jcr.Node;
 import javax.jcr.RepositoryException;
@@ -51,7 +50,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Collection;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -61,6 +59,7 @@ import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
 import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
 import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.lang3.StringUtils.defaultString;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 /**
@@ -75,19 +74,32 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
  * <li>Creates new translation nodes or updates existing ones</li>
  * <li>Supports custom base paths for organizing translations</li>
  * <li>Validates node names and ensures proper JCR naming</li>
- * <li>Updates last modified timestamps on all affected nodes</li>
+ * <li>Writes only values that differ from the existing ones and updates the last modified timestamp of changed
+ * nodes only, so that a following publication contains just the real delta</li>
+ * <li>Reads the file row by row and saves the session every {@code importBatchSize} rows of the module
+ * configuration, so that memory use does not grow with the file size</li>
+ * <li>Logs the number of created, updated and unchanged rows, the saves and the throughput</li>
  * </ul>
  * <p><strong>CSV Format:</strong></p>
  * The CSV file must have a header row with "Key" as the first column, followed by locale names.
  * Subsequent rows contain the translation key and values for each locale.
  * <p><strong>Error Handling:</strong></p>
- * Logs errors but does not throw exceptions, allowing partial imports to succeed.
+ * Logs errors but does not throw exceptions, allowing partial imports to succeed. Batches saved before an error
+ * remain imported.
  *
  * @author frank.sommer
  * @since 2023-01-05
  */
 @Slf4j
 public class ImportCsvAction extends CommitAction<Node> {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Outcome of the import of one csv row.
+     */
+    enum RowResult {
+        CREATED, UPDATED, UNCHANGED
+    }
 
     private final Collection<Locale> _locales;
     private final NodeNameHelper _nodeNameHelper;
@@ -125,12 +137,12 @@ public class ImportCsvAction extends CommitAction<Node> {
     }
 
     void doCsvImport(final String basePath, final File csvFile) {
-        try (InputStream inputStream = new FileInputStream(csvFile)) {
-            CSVReader csvReader = new CSVReader(new InputStreamReader(inputStream, getPropertyValue("encoding", UTF_8.name())), getPropertyValue("separator", ",").charAt(0));
-            List<String[]> lines = csvReader.readAll();
-            if (CollectionUtils.isNotEmpty(lines)) {
-                Map<Integer, String> indexedPropertyNames = detectColumns(lines.get(0));
-                persistTranslations(basePath, indexedPropertyNames, lines);
+        try (InputStream inputStream = new FileInputStream(csvFile);
+             CSVReader csvReader = new CSVReader(new InputStreamReader(inputStream, getPropertyValue("encoding", UTF_8.name())), getPropertyValue("separator", ",").charAt(0))) {
+            String[] headings = csvReader.readNext();
+            if (headings != null) {
+                Map<Integer, String> indexedPropertyNames = detectColumns(headings);
+                persistTranslations(basePath, indexedPropertyNames, csvReader);
             } else {
                 LOGGER.warn("No lines in csv file, skip ...");
             }
@@ -144,44 +156,117 @@ public class ImportCsvAction extends CommitAction<Node> {
         return propertyValue.isPresent() ? propertyValue.get().getValue() : defaultValue;
     }
 
-    void persistTranslations(final String basePath, final Map<Integer, String> indexedPropertyNames, final List<String[]> lines) {
+    /**
+     * Creates or updates a translation node for each remaining row of the reader. The session is saved every
+     * {@link #getBatchSize()} rows and after the last row, so files smaller than a batch are saved at once.
+     * If saving fails, the unsaved changes are discarded, so that they are not saved later with the session.
+     *
+     * @param basePath the path of the parent node of the translations (may be empty for the root node)
+     * @param indexedPropertyNames the property names by column index
+     * @param rows the reader positioned after the header row
+     * @return the number of rows saved to the workspace
+     * @throws IOException if the file could not be read
+     */
+    int persistTranslations(final String basePath, final Map<Integer, String> indexedPropertyNames, final CSVReader rows) throws IOException {
+        final long start = System.currentTimeMillis();
+        final int batchSize = getBatchSize();
+        final int[] results = new int[RowResult.values().length];
+        int count = 0;
+        int saved = 0;
+        int saves = 0;
+        Session jcrSession = null;
         try {
-            Session jcrSession = MgnlContext.getJCRSession(WS_TRANSLATION);
+            jcrSession = MgnlContext.getJCRSession(WS_TRANSLATION);
             Node baseNode;
             if (isEmpty(basePath)) {
                 baseNode = jcrSession.getRootNode();
             } else {
                 baseNode = jcrSession.getNode(basePath);
             }
-            createNodesForLines(baseNode, lines, indexedPropertyNames);
-            jcrSession.save();
+            String[] values;
+            while ((values = rows.readNext()) != null) {
+                results[createNode(baseNode, values, indexedPropertyNames).ordinal()]++;
+                count++;
+                if (count % batchSize == 0) {
+                    // flush the transient space, so that it does not grow with the file size
+                    jcrSession.save();
+                    saved = count;
+                    saves++;
+                }
+            }
+            if (saved != count || count == 0) {
+                jcrSession.save();
+                saved = count;
+                saves++;
+            }
         } catch (RepositoryException e) {
-            LOGGER.error("Error persisting CSV to JCR.", e);
+            LOGGER.error("Error persisting CSV to JCR after {} saved of {} read rows.", saved, count, e);
+            discardChanges(jcrSession);
         }
+        final long duration = Math.max(System.currentTimeMillis() - start, 1L);
+        LOGGER.info("Imported {} of {} csv rows ({} created, {} updated, {} unchanged) with {} saves in {} ms ({} rows/s).", saved, count,
+            results[RowResult.CREATED.ordinal()], results[RowResult.UPDATED.ordinal()], results[RowResult.UNCHANGED.ordinal()],
+            saves, duration, saved * 1000L / duration);
+        return saved;
     }
 
-    void createNodesForLines(final Node baseNode, final List<String[]> lines, final Map<Integer, String> indexedPropertyNames) throws RepositoryException {
-        for (int i = 1; i < lines.size(); i++) {
-            String[] values = lines.get(i);
-            String key = values[0];
-            String keyNodeName = _nodeNameHelper.getValidatedName(key);
-
-            Node t9nNode;
-            if (!baseNode.hasNode(keyNodeName)) {
-                t9nNode = baseNode.addNode(keyNodeName, TranslationNodeTypes.Translation.NAME);
-                PropertyUtil.setProperty(t9nNode, PN_KEY, key);
-            } else {
-                t9nNode = baseNode.getNode(keyNodeName);
+    private static void discardChanges(final Session jcrSession) {
+        if (jcrSession != null) {
+            try {
+                jcrSession.refresh(false);
+            } catch (RepositoryException e) {
+                LOGGER.warn("Could not discard the unsaved csv rows.", e);
             }
+        }
+    }
+
+    /**
+     * Creates or updates the translation node of one csv row. Only values that differ from the existing ones are
+     * written, and the last modified timestamp is updated only if the node was created or changed. A missing
+     * property is considered equal to an empty value, as the export writes missing translations as empty cells.
+     *
+     * @param baseNode the parent node of the translations
+     * @param values the values of the row, starting with the key
+     * @param indexedPropertyNames the property names by column index
+     * @return whether the node was created, updated or left unchanged
+     * @throws RepositoryException on errors reading or writing the node
+     */
+    RowResult createNode(final Node baseNode, final String[] values, final Map<Integer, String> indexedPropertyNames) throws RepositoryException {
+        String key = values[0];
+        String keyNodeName = _nodeNameHelper.getValidatedName(key);
 
-            for (Map.Entry<Integer, String> column : indexedPropertyNames.entrySet()) {
-                Integer keyIndex = column.getKey();
-                if (keyIndex > 0) {
-                    PropertyUtil.setProperty(t9nNode, column.getValue(), values[keyIndex]);
+        Node t9nNode;
+        RowResult result;
+        if (!baseNode.hasNode(keyNodeName)) {
+            t9nNode = baseNode.addNode(keyNodeName, TranslationNodeTypes.Translation.NAME);
+            PropertyUtil.setProperty(t9nNode, PN_KEY, key);
+            result = RowResult.CREATED;
+        } else {
+            t9nNode = baseNode.getNode(keyNodeName);
+            result = RowResult.UNCHANGED;
+        }
+
+        for (Map.Entry<Integer, String> column : indexedPropertyNames.entrySet()) {
+            Integer keyIndex = column.getKey();
+            if (keyIndex > 0 && keyIndex < values.length) {
+                String propertyName = column.getValue();
+                if (!defaultString(PropertyUtil.getString(t9nNode, propertyName)).equals(defaultString(values[keyIndex]))) {
+                    PropertyUtil.setProperty(t9nNode, propertyName, values[keyIndex]);
+                    if (result == RowResult.UNCHANGED) {
+                        result = RowResult.UPDATED;
+                    }
                 }
             }
+        }
+        if (result != RowResult.UNCHANGED) {
             NodeTypes.LastModified.update(t9nNode);
         }
+        return result;
+    }
+
+    int getBatchSize() {
+        final int batchSize = getTranslationModule().getImportBatchSize();
+        return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
     }
 
     Map<Integer, String> detectColumns(final String[] headings) {
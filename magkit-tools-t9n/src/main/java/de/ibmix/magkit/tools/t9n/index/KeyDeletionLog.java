@@ -0,0 +1,157 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Log of the translation keys removed from the translation workspace.
+ * <p><strong>Purpose:</strong></p>
+ * Added and modified translations can be found by their {@code mgnl:lastModified} date, removed ones cannot. This
+ * log remembers the removed keys with their removal time, so that clients can be told which keys to drop since
+ * the version they know.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Fed by the key change notifications of the {@link TranslationIndex}, a key is removed when it is no longer
+ * part of the index</li>
+ * <li>Bounded to {@value #MAX_ENTRIES} entries, older entries are dropped</li>
+ * <li>Horizon: the time since which the log is complete. It starts when the log is first used and the index is
+ * loaded, and moves forward when entries are dropped or the index is reloaded</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Singleton
+public class KeyDeletionLog {
+    static final int MAX_ENTRIES = 10_000;
+    static final long UNKNOWN = Long.MAX_VALUE;
+
+    private final TranslationIndex _index;
+    private final Consumer<Set<String>> _listener = this::onChange;
+    private final Deque<Deletion> _deletions = new ArrayDeque<>();
+    private long _horizon = UNKNOWN;
+    private boolean _listening;
+
+    /**
+     * Creates the deletion log.
+     *
+     * @param index the translation index reporting the changed keys
+     */
+    @Inject
+    public KeyDeletionLog(TranslationIndex index) {
+        _index = index;
+    }
+
+    /**
+     * Returns the keys removed after the given time.
+     *
+     * @param since the time in milliseconds
+     * @return the removed keys or null if the log does not reach back to the given time
+     */
+    public Set<String> getDeletedSince(long since) {
+        listen();
+        // outside of the lock, loading the index notifies the listener
+        final boolean loaded = _index.getSnapshot() != null;
+        synchronized (this) {
+            if (_horizon == UNKNOWN && loaded && _index.isLoaded()) {
+                _horizon = System.currentTimeMillis();
+            }
+            Set<String> deleted = null;
+            if (since >= _horizon) {
+                deleted = new LinkedHashSet<>();
+                for (Iterator<Deletion> it = _deletions.descendingIterator(); it.hasNext();) {
+                    Deletion deletion = it.next();
+                    if (deletion._time <= since) {
+                        break;
+                    }
+                    deleted.add(deletion._key);
+                }
+            }
+            return deleted;
+        }
+    }
+
+    /**
+     * Returns the time since which the log is complete.
+     *
+     * @return the horizon in milliseconds or {@link Long#MAX_VALUE} if the log is not complete yet
+     */
+    public synchronized long getHorizon() {
+        return _horizon;
+    }
+
+    private synchronized void listen() {
+        if (!_listening) {
+            _index.addChangeListener(_listener);
+            _listening = true;
+        }
+    }
+
+    synchronized void onChange(Set<String> keys) {
+        final long now = System.currentTimeMillis();
+        final TranslationSnapshot snapshot = _index.isLoaded() ? _index.getSnapshot() : null;
+        if (snapshot == null) {
+            // the index was discarded, removals until the next load are not seen
+            _deletions.clear();
+            _horizon = UNKNOWN;
+        } else {
+            for (String key : keys) {
+                if (!snapshot.containsKey(key)) {
+                    _deletions.addLast(new Deletion(key, now));
+                }
+            }
+            while (_deletions.size() > MAX_ENTRIES) {
+                final long dropped = _deletions.removeFirst()._time;
+                if (_horizon != UNKNOWN) {
+                    _horizon = Math.max(_horizon, dropped);
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return _deletions.size();
+    }
+
+    /**
+     * A removed key and its removal time.
+     */
+    private static final class Deletion {
+        private final String _key;
+        private final long _time;
+
+        private Deletion(String key, long time) {
+            _key = key;
+            _time = time;
+        }
+    }
+}
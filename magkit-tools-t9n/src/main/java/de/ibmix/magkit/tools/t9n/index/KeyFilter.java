@@ -0,0 +1,123 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over the translation keys of one {@link TranslationSnapshot}.
+ * <p><strong>Purpose:</strong></p>
+ * Answers "definitely not overridden" for keys that are not in the translation workspace, which is the most
+ * frequent case for the translation service, without probing the key map.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Sized from the number of keys for the given false positive probability</li>
+ * <li>Double hashing on top of {@link String#hashCode()}, which is cached by the string instances</li>
+ * <li>No false negatives: a key reported as absent is never part of the filter</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * Instances are immutable after creation and can be used concurrently.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public final class KeyFilter {
+    static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final long[] _bits;
+    private final int _bitCount;
+    private final int _hashCount;
+
+    private KeyFilter(int bitCount, int hashCount) {
+        _bitCount = bitCount;
+        _hashCount = hashCount;
+        _bits = new long[(bitCount + 63) >>> 6];
+    }
+
+    /**
+     * Creates a filter containing the given keys.
+     *
+     * @param keys                     the keys to add
+     * @param falsePositiveProbability the expected false positive probability, between 0 and 1 (exclusive)
+     * @return the filled filter
+     */
+    public static KeyFilter create(Collection<String> keys, double falsePositiveProbability) {
+        final int expected = Math.max(keys.size(), 1);
+        final double bits = -expected * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+        final int bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, Math.ceil(bits)));
+        final int hashCount = Math.max(1, (int) Math.round(bitCount / (double) expected * Math.log(2)));
+        KeyFilter filter = new KeyFilter(bitCount, hashCount);
+        keys.forEach(filter::add);
+        return filter;
+    }
+
+    /**
+     * Checks whether the key may be contained.
+     *
+     * @param key the key to check
+     * @return false if the key is definitely not contained, true if it may be contained
+     */
+    public boolean mightContain(String key) {
+        final int hash1 = key.hashCode();
+        final int hash2 = mix(hash1);
+        for (int i = 0; i < _hashCount; i++) {
+            int bit = index(hash1 + i * hash2);
+            if ((_bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getBitCount() {
+        return _bitCount;
+    }
+
+    public int getHashCount() {
+        return _hashCount;
+    }
+
+    private void add(String key) {
+        final int hash1 = key.hashCode();
+        final int hash2 = mix(hash1);
+        for (int i = 0; i < _hashCount; i++) {
+            int bit = index(hash1 + i * hash2);
+            _bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private int index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % _bitCount;
+    }
+
+    /**
+     * Derives an independent second hash (murmur3 finalizer), forced to be odd so the probe sequence does not collapse.
+     */
+    private static int mix(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
@@ -0,0 +1,263 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+
+/**
+ * Read-only translation snapshot served from a memory-mapped file.
+ * <p><strong>Purpose:</strong></p>
+ * Lets the {@link TranslationIndex} answer lookups right after a restart from the state persisted before, while
+ * the repository-backed snapshot is loaded in the background. The data stays off-heap and is paged in on demand,
+ * so the startup cost does not depend on the size of the translation workspace.
+ * <p><strong>File Format:</strong></p>
+ * Big-endian, all strings are UTF-8 with an int length prefix:
+ * <ul>
+ * <li>Header: magic {@code T9NS}, format version, snapshot version, creation time and number of entries</li>
+ * <li>Offset table: one int file offset per entry, in unsigned byte order of the keys</li>
+ * <li>Entries: key, number of properties, followed by the property names and values</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * Instances are immutable and only use absolute reads of the mapped buffer, so they can be read concurrently.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+public final class MappedSnapshot {
+    static final int MAGIC = 0x54394E53;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+
+    private final MappedByteBuffer _buffer;
+    private final long _version;
+    private final long _created;
+    private final int _size;
+
+    private MappedSnapshot(MappedByteBuffer buffer, long version, long created, int size) {
+        _buffer = buffer;
+        _version = version;
+        _created = created;
+        _size = size;
+    }
+
+    /**
+     * Writes the snapshot to the file. The file is replaced atomically, so concurrent readers of a mapped
+     * previous version are not affected.
+     *
+     * @param snapshot the snapshot to persist
+     * @param file     the target file
+     * @throws IOException if the file could not be written
+     */
+    public static void write(TranslationSnapshot snapshot, File file) throws IOException {
+        final byte[][] keys = new byte[snapshot.size()][];
+        int index = 0;
+        for (String key : snapshot.getKeys()) {
+            keys[index++] = key.getBytes(UTF_8);
+        }
+        Arrays.sort(keys, Arrays::compareUnsigned);
+
+        final List<byte[]> entries = new ArrayList<>(keys.length);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (byte[] key : keys) {
+            bytes.reset();
+            DataOutputStream entry = new DataOutputStream(bytes);
+            writeBytes(entry, key);
+            Map<String, String> values = snapshot.getValues(new String(key, UTF_8));
+            entry.writeInt(values.size());
+            for (Map.Entry<String, String> value : values.entrySet()) {
+                writeBytes(entry, value.getKey().getBytes(UTF_8));
+                writeBytes(entry, value.getValue().getBytes(UTF_8));
+            }
+            entries.add(bytes.toByteArray());
+        }
+
+        final Path target = file.toPath();
+        final Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), file.getName(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(snapshot.getVersion());
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(entries.size());
+            int offset = HEADER_SIZE + 4 * entries.size();
+            for (byte[] entry : entries) {
+                out.writeInt(offset);
+                offset += entry.length;
+            }
+            for (byte[] entry : entries) {
+                out.write(entry);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    /**
+     * Maps a snapshot file written by {@link #write(TranslationSnapshot, File)}.
+     *
+     * @param file the snapshot file
+     * @return the mapped snapshot or null if the file does not exist or is not a valid snapshot
+     */
+    public static MappedSnapshot map(File file) {
+        MappedSnapshot snapshot = null;
+        if (file.isFile()) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                // the mapping stays valid after closing the channel
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.capacity() >= HEADER_SIZE && buffer.getInt(0) == MAGIC && buffer.getInt(4) == FORMAT_VERSION) {
+                    final int size = buffer.getInt(24);
+                    if (size >= 0 && HEADER_SIZE + 4L * size <= buffer.capacity()) {
+                        snapshot = new MappedSnapshot(buffer, buffer.getLong(8), buffer.getLong(16), size);
+                    }
+                }
+                if (snapshot == null) {
+                    LOGGER.warn("Ignoring invalid translation snapshot file {}.", file);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Error mapping translation snapshot file {}.", file, e);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the first non-empty value of the given translation properties for the key.
+     *
+     * @param key           the translation key
+     * @param propertyNames the translation property names in order of preference
+     * @return the translated value, an empty string if the key has no value or null if the key is unknown
+     */
+    String lookup(String key, String[] propertyNames) {
+        String value = null;
+        final int entry = find(key.getBytes(UTF_8));
+        if (entry >= 0) {
+            value = EMPTY;
+            final int properties = entry + 4 + _buffer.getInt(entry);
+            final int count = _buffer.getInt(properties);
+            for (String propertyName : propertyNames) {
+                final byte[] name = propertyName.getBytes(UTF_8);
+                int position = properties + 4;
+                for (int i = 0; i < count; i++) {
+                    final int valuePosition = position + 4 + _buffer.getInt(position);
+                    final int valueLength = _buffer.getInt(valuePosition);
+                    if (valueLength > 0 && compare(position, name) == 0) {
+                        byte[] candidate = new byte[valueLength];
+                        _buffer.get(valuePosition + 4, candidate);
+                        return new String(candidate, UTF_8);
+                    }
+                    position = valuePosition + 4 + valueLength;
+                }
+            }
+        }
+        return value;
+    }
+
+    public boolean containsKey(String key) {
+        return find(key.getBytes(UTF_8)) >= 0;
+    }
+
+    /**
+     * Binary search in the offset table.
+     *
+     * @return the file offset of the entry or -1 if the key is unknown
+     */
+    private int find(byte[] key) {
+        int low = 0;
+        int high = _size - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int entry = _buffer.getInt(HEADER_SIZE + 4 * middle);
+            final int comparison = compare(entry, key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the length-prefixed bytes at the position with the given bytes in unsigned byte order.
+     */
+    private int compare(int position, byte[] bytes) {
+        final int length = _buffer.getInt(position);
+        final int common = Math.min(length, bytes.length);
+        for (int i = 0; i < common; i++) {
+            final int comparison = Byte.compareUnsigned(_buffer.get(position + 4 + i), bytes[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return length - bytes.length;
+    }
+
+    /**
+     * Returns the version of the persisted snapshot.
+     *
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return _version;
+    }
+
+    /**
+     * Returns the time the snapshot file was written.
+     *
+     * @return the creation time in milliseconds
+     */
+    public long getCreated() {
+        return _created;
+    }
+
+    public int size() {
+        return _size;
+    }
+}
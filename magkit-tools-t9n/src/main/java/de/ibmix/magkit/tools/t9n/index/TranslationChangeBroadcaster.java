@@ -0,0 +1,385 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.TranslationNodeTypes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.apache.commons.lang3.StringUtils.removeStart;
+
+/**
+ * Fan-out of translation changes to the subscribers of the server-sent event stream of the i18n endpoint.
+ * <p><strong>Purpose:</strong></p>
+ * Pushes changed translations to frontends instead of letting them poll. One key change listener on the
+ * {@link TranslationIndex}, which is driven by the shared JCR observation of the translation workspace, serves
+ * all subscribers.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>{@value #EVENT_CHANGE} events with key, locale and value for every translation property of a changed key</li>
+ * <li>{@value #EVENT_DELETE} events with the key of a removed translation</li>
+ * <li>{@value #EVENT_RESET} events when changes cannot be reported one by one: the index was reloaded, a change batch
+ * exceeds the replay buffer, or a resuming client missed events. Clients read the whole bundle again</li>
+ * <li>Replay buffer of the last {@value #MAX_EVENTS} events, so that clients resume with their last event id after
+ * reconnecting</li>
+ * <li>Event ids increase monotonically and start with the start time, so that ids of a previous server run are
+ * detected as outdated</li>
+ * <li>Delivery on one daemon thread in event order, the observation thread never waits for clients. The thread is
+ * started on first use, so that the broadcaster works again after {@link #stop()}</li>
+ * <li>Heartbeat comment every {@value #HEARTBEAT_INTERVAL} ms, which keeps idle connections open through proxies
+ * and detects disconnected clients</li>
+ * <li>Subscribers are removed as soon as a send fails or their connection is found closed</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe. Subscriptions are added by the delivery thread and removed by it or by the
+ * completion of a failed send.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class TranslationChangeBroadcaster {
+    static final int MAX_EVENTS = 1000;
+    static final long HEARTBEAT_INTERVAL = 20_000L;
+    public static final String EVENT_CHANGE = "change";
+    public static final String EVENT_DELETE = "delete";
+    public static final String EVENT_RESET = "reset";
+
+    private final TranslationIndex _index;
+    private final Supplier<Executor> _deliveryFactory;
+    private Executor _delivery;
+    private final Consumer<Set<String>> _listener = this::onChange;
+    private final Deque<ChangeEvent> _events = new ArrayDeque<>();
+    private final List<Subscription> _subscriptions = new CopyOnWriteArrayList<>();
+    private long _lastId = System.currentTimeMillis();
+    private boolean _listening;
+
+    /**
+     * Receiver of the events of one client connection.
+     */
+    public interface Subscriber {
+        /**
+         * Sends the event without waiting for the client.
+         *
+         * @param event the event to send
+         * @return the completion of the send, completed exceptionally if the client is gone
+         */
+        CompletionStage<?> send(ChangeEvent event);
+
+        /**
+         * Sends a comment without event, which clients ignore.
+         *
+         * @return the completion of the send, completed exceptionally if the client is gone
+         */
+        CompletionStage<?> sendHeartbeat();
+
+        boolean isClosed();
+    }
+
+    /**
+     * Creates the broadcaster.
+     *
+     * @param index the translation index reporting the changed keys
+     */
+    @Inject
+    public TranslationChangeBroadcaster(TranslationIndex index) {
+        this(index, () -> Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "magkit-t9n-change-events");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    TranslationChangeBroadcaster(TranslationIndex index, Supplier<Executor> deliveryFactory) {
+        _index = index;
+        _deliveryFactory = deliveryFactory;
+    }
+
+    /**
+     * Returns the delivery executor, created on first use and after {@link #stop()}. Scheduled executors also send
+     * the heartbeats.
+     */
+    private synchronized Executor getDelivery() {
+        if (_delivery == null) {
+            _delivery = _deliveryFactory.get();
+            if (_delivery instanceof ScheduledExecutorService) {
+                ((ScheduledExecutorService) _delivery).scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_INTERVAL, HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS);
+            }
+        }
+        return _delivery;
+    }
+
+    /**
+     * Subscribes a client. Resuming clients first get the buffered events after their last event id, or a
+     * {@value #EVENT_RESET} event if these are not buffered anymore.
+     *
+     * @param subscriber the receiver of the events
+     * @param lastEventId the id of the last event received before reconnecting (may be null)
+     * @param filter the events to send, reset events are always sent
+     */
+    public void subscribe(Subscriber subscriber, String lastEventId, Predicate<ChangeEvent> filter) {
+        listen();
+        getDelivery().execute(() -> {
+            final Subscription subscription = new Subscription(subscriber, filter, _subscriptions::remove);
+            final List<ChangeEvent> replay = new ArrayList<>();
+            synchronized (this) {
+                if (lastEventId == null) {
+                    subscription._lastId = _lastId;
+                } else if (isResumable(lastEventId)) {
+                    subscription._lastId = Long.parseLong(lastEventId);
+                    _events.stream().filter(event -> event.getId() > subscription._lastId).forEach(replay::add);
+                } else {
+                    replay.add(new ChangeEvent(_lastId, EVENT_RESET, null, null, null));
+                }
+            }
+            replay.forEach(subscription::send);
+            if (subscription.isActive()) {
+                _subscriptions.add(subscription);
+            }
+        });
+    }
+
+    /**
+     * Checks whether all events after the given id are still buffered.
+     */
+    private boolean isResumable(String lastEventId) {
+        boolean resumable = false;
+        try {
+            final long id = Long.parseLong(lastEventId);
+            final long firstId = _events.isEmpty() ? _lastId + 1 : _events.getFirst().getId();
+            resumable = id >= firstId - 1 && id <= _lastId;
+        } catch (NumberFormatException e) {
+            LOGGER.debug("Ignoring invalid last event id {}.", lastEventId);
+        }
+        return resumable;
+    }
+
+    private void listen() {
+        synchronized (this) {
+            if (!_listening) {
+                _index.addChangeListener(_listener);
+                _listening = true;
+            }
+        }
+        // changes are only reported for a loaded index, load it outside of the lock taken by the change listener
+        _index.getSnapshot();
+    }
+
+    void onChange(Set<String> keys) {
+        final TranslationSnapshot snapshot = _index.isLoaded() ? _index.getSnapshot() : null;
+        final List<String[]> changes = new ArrayList<>();
+        boolean reset = snapshot == null;
+        for (Iterator<String> it = keys.iterator(); !reset && it.hasNext();) {
+            final String key = it.next();
+            if (snapshot.containsKey(key)) {
+                for (Map.Entry<String, String> value : snapshot.getValues(key).entrySet()) {
+                    if (value.getKey().startsWith(TranslationNodeTypes.Translation.PREFIX_NAME)) {
+                        changes.add(new String[]{EVENT_CHANGE, key, removeStart(value.getKey(), TranslationNodeTypes.Translation.PREFIX_NAME), value.getValue()});
+                    }
+                }
+            } else {
+                changes.add(new String[]{EVENT_DELETE, key, null, null});
+            }
+            reset = changes.size() > MAX_EVENTS;
+        }
+        if (reset) {
+            changes.clear();
+            changes.add(new String[]{EVENT_RESET, null, null, null});
+        }
+        publish(changes);
+    }
+
+    private void publish(List<String[]> changes) {
+        final List<ChangeEvent> events = new ArrayList<>(changes.size());
+        synchronized (this) {
+            for (String[] change : changes) {
+                final ChangeEvent event = new ChangeEvent(++_lastId, change[0], change[1], change[2], change[3]);
+                _events.addLast(event);
+                events.add(event);
+            }
+            while (_events.size() > MAX_EVENTS) {
+                _events.removeFirst();
+            }
+        }
+        if (!events.isEmpty()) {
+            getDelivery().execute(() -> events.forEach(this::deliver));
+        }
+    }
+
+    private void deliver(ChangeEvent event) {
+        for (Subscription subscription : _subscriptions) {
+            subscription.send(event);
+        }
+        _subscriptions.removeIf(subscription -> !subscription.isActive());
+    }
+
+    /**
+     * Sends a heartbeat to all subscribers and removes the closed ones, called periodically on the delivery thread.
+     */
+    void heartbeat() {
+        for (Subscription subscription : _subscriptions) {
+            subscription.sendHeartbeat();
+        }
+        _subscriptions.removeIf(subscription -> !subscription.isActive());
+    }
+
+    /**
+     * Returns the number of subscribers, closed connections are removed with the next event or heartbeat.
+     *
+     * @return the number of subscribers
+     */
+    public int getSubscribers() {
+        return _subscriptions.size();
+    }
+
+    public synchronized long getLastEventId() {
+        return _lastId;
+    }
+
+    public synchronized int getBufferedEvents() {
+        return _events.size();
+    }
+
+    /**
+     * Stops listening to the index and the delivery. Connected clients do not receive further events. The next
+     * subscription listens and delivers again.
+     */
+    public void stop() {
+        final Executor delivery;
+        synchronized (this) {
+            if (_listening) {
+                _index.removeChangeListener(_listener);
+                _listening = false;
+            }
+            delivery = _delivery;
+            _delivery = null;
+        }
+        _subscriptions.clear();
+        if (delivery instanceof ExecutorService) {
+            ((ExecutorService) delivery).shutdownNow();
+        }
+    }
+
+    /**
+     * One client connection with the id of the last event sent to it.
+     */
+    private static final class Subscription {
+        private final Subscriber _subscriber;
+        private final Predicate<ChangeEvent> _filter;
+        private final Consumer<Subscription> _onFailure;
+        private long _lastId;
+        private volatile boolean _failed;
+
+        private Subscription(Subscriber subscriber, Predicate<ChangeEvent> filter, Consumer<Subscription> onFailure) {
+            _subscriber = subscriber;
+            _filter = filter;
+            _onFailure = onFailure;
+        }
+
+        private void send(ChangeEvent event) {
+            // events buffered while subscribing are part of the replay and delivered afterwards again
+            if (event.getId() > _lastId && isActive()) {
+                _lastId = event.getId();
+                if (EVENT_RESET.equals(event.getName()) || _filter.test(event)) {
+                    track(_subscriber.send(event));
+                }
+            }
+        }
+
+        private void sendHeartbeat() {
+            if (isActive()) {
+                track(_subscriber.sendHeartbeat());
+            }
+        }
+
+        private void track(CompletionStage<?> sending) {
+            sending.whenComplete((result, error) -> {
+                if (error != null) {
+                    _failed = true;
+                    _onFailure.accept(this);
+                }
+            });
+        }
+
+        private boolean isActive() {
+            return !_failed && !_subscriber.isClosed();
+        }
+    }
+
+    /**
+     * A translation change as sent to the clients. Delete events have no locale and value, reset events no key.
+     */
+    public static final class ChangeEvent {
+        private final long _id;
+        private final String _name;
+        private final String _key;
+        private final String _locale;
+        private final String _value;
+
+        public ChangeEvent(long id, String name, String key, String locale, String value) {
+            _id = id;
+            _name = name;
+            _key = key;
+            _locale = locale;
+            _value = value;
+        }
+
+        public long getId() {
+            return _id;
+        }
+
+        public String getName() {
+            return _name;
+        }
+
+        public String getKey() {
+            return _key;
+        }
+
+        public String getLocale() {
+            return _locale;
+        }
+
+        public String getValue() {
+            return _value;
+        }
+    }
+}
@@ -0,0 +1,592 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation;
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import info.magnolia.cms.core.FileSystemHelper;
+import info.magnolia.cms.util.QueryUtil;
+import info.magnolia.context.MgnlContext;
+import info.magnolia.jcr.predicate.NodeTypePredicate;
+import info.magnolia.jcr.util.NodeUtil;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static info.magnolia.jcr.util.PropertyUtil.getString;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * In-memory index of the translation workspace.
+ * <p><strong>Purpose:</strong></p>
+ * Replaces the per-key JCR query of the translation service by a map lookup. The whole workspace is read once
+ * and afterwards kept up to date from JCR observation events on the translation nodes.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Lazy initial load of all {@code mgnl:translation} nodes with a single query in the system context</li>
+ * <li>Lock-free lookups served from an immutable {@link TranslationSnapshot}</li>
+ * <li>Negative lookups answered by the {@link KeyFilter} of the snapshot, with hit and false positive counters</li>
+ * <li>Incremental copy-on-write refresh for the node paths reported by the {@link TranslationWorkspaceObserver},
+ * built outside of the lock</li>
+ * <li>Notification of listeners about added, changed and removed keys</li>
+ * <li>Retry of a failed load after a delay, callers fall back to querying the repository meanwhile</li>
+ * <li>Optional warm-up on a background thread, callers fall back to querying the repository until it finished</li>
+ * <li>Optional persistence as {@link MappedSnapshot} file ({@code persistSnapshot}), which serves the lookups after a
+ * restart while the repository is read in the background. The file is written by a background thread, at most
+ * once per {@value #PERSIST_DELAY} ms</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe. Loading and applying changes is serialized, readers never block. Key listeners are
+ * notified after the lock has been released.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class TranslationIndex {
+    static final String ALL_TRANSLATIONS_QUERY = "select * from [" + Translation.NAME + "]";
+    static final long RETRY_DELAY = 60_000L;
+    static final String SNAPSHOT_FILE_NAME = "magkit-t9n-snapshot.bin";
+    static final long PERSIST_DELAY = 5_000L;
+
+    private static final NodeTypePredicate TRANSLATION_NODES = new NodeTypePredicate(Translation.NAME);
+
+    private final TranslationWorkspaceObserver _observer;
+    private final Supplier<File> _snapshotFile;
+    private final Consumer<Set<String>> _changeListener = this::applyChanges;
+    private final List<Consumer<Set<String>>> _keyListeners = new CopyOnWriteArrayList<>();
+    private final Object _lock = new Object();
+    private final Object _mappingLock = new Object();
+    private final Object _updateLock = new Object();
+    private final AtomicReference<TranslationSnapshot> _pendingPersist = new AtomicReference<>();
+    private ScheduledExecutorService _persistence;
+    private volatile TranslationSnapshot _snapshot;
+    private boolean _observing;
+    private volatile long _nextLoadAttempt;
+    private final AtomicBoolean _warmingUp = new AtomicBoolean();
+    private volatile long _warmUpDuration = -1L;
+    private final AtomicInteger _loadedNodes = new AtomicInteger();
+    private volatile MappedSnapshot _mappedSnapshot;
+    private volatile boolean _mappingDone;
+
+    private final LongAdder _filterRejections = new LongAdder();
+    private final LongAdder _filterPasses = new LongAdder();
+    private final LongAdder _filterFalsePositives = new LongAdder();
+
+    /**
+     * Creates the translation index, persisted to {@value #SNAPSHOT_FILE_NAME} in the Magnolia working directory
+     * if enabled in the module configuration.
+     *
+     * @param observer         the shared observation of the translation workspace
+     * @param moduleProvider   provider for the translation module configuration
+     * @param fileSystemHelper helper for the Magnolia working directory
+     */
+    @Inject
+    public TranslationIndex(TranslationWorkspaceObserver observer, Provider<TranslationModule> moduleProvider, FileSystemHelper fileSystemHelper) {
+        this(observer, () -> {
+            final TranslationModule module = moduleProvider.get();
+            return module != null && module.isPersistSnapshot() ? new File(fileSystemHelper.getWorkingDirectory(), SNAPSHOT_FILE_NAME) : null;
+        });
+    }
+
+    /**
+     * Creates the translation index without persistence.
+     *
+     * @param observer the shared observation of the translation workspace
+     */
+    public TranslationIndex(TranslationWorkspaceObserver observer) {
+        this(observer, () -> null);
+    }
+
+    TranslationIndex(TranslationWorkspaceObserver observer, Supplier<File> snapshotFile) {
+        _observer = observer;
+        _snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Returns the first non-empty value of the given translation properties for the key.
+     *
+     * @param key           the translation key
+     * @param propertyNames the translation property names in order of preference
+     * @return the translated value, an empty string if the key has no value or null if the index is not available
+     */
+    public String getValue(String key, String[] propertyNames) {
+        if (_snapshot == null) {
+            final MappedSnapshot mappedSnapshot = getMappedSnapshot();
+            if (mappedSnapshot != null) {
+                final String value = mappedSnapshot.lookup(key, propertyNames);
+                return value != null ? value : EMPTY;
+            }
+        }
+        TranslationSnapshot snapshot = getSnapshot();
+        String value = null;
+        if (snapshot != null) {
+            if (snapshot.getKeyFilter().mightContain(key)) {
+                _filterPasses.increment();
+                value = snapshot.lookup(key, propertyNames);
+                if (value == null) {
+                    _filterFalsePositives.increment();
+                    value = EMPTY;
+                }
+            } else {
+                _filterRejections.increment();
+                value = EMPTY;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of lookups the key filter answered as "not overridden" without probing the index.
+     *
+     * @return the number of filter rejections
+     */
+    public long getFilterRejections() {
+        return _filterRejections.sum();
+    }
+
+    /**
+     * Returns the number of lookups that passed the key filter.
+     *
+     * @return the number of filter passes
+     */
+    public long getFilterPasses() {
+        return _filterPasses.sum();
+    }
+
+    /**
+     * Returns the number of lookups that passed the key filter although the key is not in the workspace.
+     *
+     * @return the number of false positives
+     */
+    public long getFilterFalsePositives() {
+        return _filterFalsePositives.sum();
+    }
+
+    /**
+     * Returns the observed false positive rate of the key filter among the lookups of unknown keys.
+     *
+     * @return the false positive rate between 0 and 1
+     */
+    public double getFilterFalsePositiveRate() {
+        final long falsePositives = getFilterFalsePositives();
+        final long negatives = falsePositives + getFilterRejections();
+        return negatives == 0 ? 0.0 : (double) falsePositives / negatives;
+    }
+
+    /**
+     * Returns the current snapshot and loads it on first access. While a warm-up is running, callers do not wait for it.
+     * After a failed load, callers neither take the load lock nor read the workspace: the retry runs as warm-up
+     * once the retry delay has passed.
+     *
+     * @return the current snapshot or null if the workspace could not be read or is still warming up
+     */
+    public TranslationSnapshot getSnapshot() {
+        TranslationSnapshot snapshot = _snapshot;
+        if (snapshot == null && !_warmingUp.get()) {
+            final long nextLoadAttempt = _nextLoadAttempt;
+            if (nextLoadAttempt == 0L) {
+                snapshot = load();
+            } else if (System.currentTimeMillis() >= nextLoadAttempt && _warmingUp.compareAndSet(false, true)) {
+                launchWarmUp();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Starts loading the translation workspace on a daemon thread, so that the first requests do not pay for it.
+     *
+     * @return the started warm-up thread
+     */
+    public Thread startWarmUp() {
+        // set before the thread runs, so that early lookups already fall back instead of waiting for the load
+        _warmingUp.set(true);
+        return launchWarmUp();
+    }
+
+    private Thread launchWarmUp() {
+        Thread thread = new Thread(this::warmUp, "magkit-t9n-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    void warmUp() {
+        _warmingUp.set(true);
+        final long start = System.currentTimeMillis();
+        try {
+            load();
+        } catch (RuntimeException e) {
+            LOGGER.error("Error warming up translation index.", e);
+        } finally {
+            _warmUpDuration = System.currentTimeMillis() - start;
+            _warmingUp.set(false);
+        }
+    }
+
+    /**
+     * Returns the estimated heap footprint of the loaded snapshot, see
+     * {@link TranslationSnapshot#getEstimatedFootprint()}.
+     *
+     * @return the estimated footprint in bytes or 0 if the index is not loaded
+     */
+    public long getEstimatedFootprint() {
+        final TranslationSnapshot snapshot = _snapshot;
+        return snapshot != null ? snapshot.getEstimatedFootprint() : 0L;
+    }
+
+    public boolean isWarmingUp() {
+        return _warmingUp.get();
+    }
+
+    /**
+     * Returns the number of translation nodes read by the current or last load, the progress of a running warm-up.
+     *
+     * @return the number of read translation nodes
+     */
+    public int getLoadedNodes() {
+        return _loadedNodes.get();
+    }
+
+    /**
+     * Returns the duration of the last warm-up.
+     *
+     * @return the duration in milliseconds or -1 if no warm-up has finished yet
+     */
+    public long getWarmUpDuration() {
+        return _warmUpDuration;
+    }
+
+    /**
+     * Adds a listener for keys that were added, changed or removed after the initial load.
+     * A reload reports all keys of the discarded state.
+     *
+     * @param listener consumer of the changed keys
+     */
+    public void addChangeListener(Consumer<Set<String>> listener) {
+        _keyListeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<Set<String>> listener) {
+        _keyListeners.remove(listener);
+    }
+
+    public boolean isLoaded() {
+        return _snapshot != null;
+    }
+
+    /**
+     * Checks whether lookups can be answered without querying the repository, from the loaded or the persisted snapshot.
+     *
+     * @return true if {@link #getValue(String, String[])} returns non-null values
+     */
+    public boolean isAvailable() {
+        return _snapshot != null || getMappedSnapshot() != null || getSnapshot() != null;
+    }
+
+    /**
+     * Returns the persisted snapshot, as long as the workspace has not been loaded, and starts loading it in the
+     * background.
+     * Never waits for a running load, the file is mapped under its own lock.
+     *
+     * @return the mapped snapshot or null if the workspace is loaded or no snapshot file is available
+     */
+    MappedSnapshot getMappedSnapshot() {
+        if (!_mappingDone) {
+            synchronized (_mappingLock) {
+                if (!_mappingDone) {
+                    final File file = _snapshotFile.get();
+                    if (file != null && _snapshot == null) {
+                        _mappedSnapshot = MappedSnapshot.map(file);
+                        if (_mappedSnapshot != null) {
+                            LOGGER.info("Serving {} translations from snapshot file {} until the index is loaded.", _mappedSnapshot.size(), file);
+                        }
+                    }
+                    _mappingDone = true;
+                }
+            }
+        }
+        final MappedSnapshot mappedSnapshot = _snapshot == null ? _mappedSnapshot : null;
+        // after a failed load the retry delay applies, meanwhile the persisted snapshot is served
+        if (mappedSnapshot != null && System.currentTimeMillis() >= _nextLoadAttempt && _warmingUp.compareAndSet(false, true)) {
+            launchWarmUp();
+        }
+        return mappedSnapshot;
+    }
+
+    /**
+     * Discards the current state and reads the whole translation workspace again.
+     */
+    public void reload() {
+        final Set<String> discardedKeys;
+        synchronized (_lock) {
+            discardedKeys = discard();
+            _nextLoadAttempt = 0L;
+        }
+        fireKeyChanges(discardedKeys);
+        load();
+    }
+
+    /**
+     * Drops the current snapshot, must be called with the lock held.
+     *
+     * @return the keys of the dropped snapshot, to be reported after releasing the lock
+     */
+    private Set<String> discard() {
+        final TranslationSnapshot discarded = _snapshot;
+        _snapshot = null;
+        return discarded != null ? new HashSet<>(discarded.getKeys()) : Collections.emptySet();
+    }
+
+    /**
+     * Notifies the key listeners. Never called with the lock held, as listeners take their own locks and may
+     * access the index.
+     */
+    private void fireKeyChanges(Set<String> keys) {
+        if (!keys.isEmpty()) {
+            for (Consumer<Set<String>> listener : _keyListeners) {
+                try {
+                    listener.accept(keys);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Error notifying translation key listener.", e);
+                }
+            }
+        }
+    }
+
+    long getRetryDelay() {
+        return RETRY_DELAY;
+    }
+
+    TranslationSnapshot load() {
+        synchronized (_lock) {
+            if (_snapshot == null && System.currentTimeMillis() >= _nextLoadAttempt) {
+                if (!_observing) {
+                    // register before reading, so changes during the load are applied afterwards
+                    _observer.addListener(_changeListener);
+                    _observing = true;
+                }
+                try {
+                    final long start = System.currentTimeMillis();
+                    _snapshot = readAll();
+                    // the loaded state supersedes the persisted one, the mapping is released by the garbage collector
+                    _mappedSnapshot = null;
+                    LOGGER.info("Loaded {} translations with {} distinct values into index in {} ms, estimated footprint {} KB.",
+                        _snapshot.size(), _snapshot.getDistinctValues(), System.currentTimeMillis() - start, _snapshot.getEstimatedFootprint() / 1024);
+                    schedulePersist(_snapshot);
+                } catch (RepositoryException e) {
+                    _nextLoadAttempt = System.currentTimeMillis() + getRetryDelay();
+                    LOGGER.error("Error loading translation index, retry in {} ms.", getRetryDelay(), e);
+                }
+            }
+            return _snapshot;
+        }
+    }
+
+    /**
+     * Writes the snapshot file on a background thread after {@value #PERSIST_DELAY} ms. Snapshots published
+     * meanwhile replace the pending one, so a burst of changes is written once.
+     *
+     * @param snapshot the snapshot to persist
+     */
+    void schedulePersist(TranslationSnapshot snapshot) {
+        if (_snapshotFile.get() != null && _pendingPersist.getAndSet(snapshot) == null) {
+            synchronized (_pendingPersist) {
+                if (_persistence == null) {
+                    _persistence = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "magkit-t9n-snapshot-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                }
+                _persistence.schedule(this::flushSnapshot, PERSIST_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending snapshot file, if any.
+     */
+    void flushSnapshot() {
+        synchronized (_pendingPersist) {
+            final TranslationSnapshot snapshot = _pendingPersist.getAndSet(null);
+            if (snapshot != null) {
+                persist(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Writes a pending snapshot file and stops the background writer. Later changes schedule a new writer.
+     */
+    public void stop() {
+        flushSnapshot();
+        synchronized (_pendingPersist) {
+            if (_persistence != null) {
+                _persistence.shutdownNow();
+                _persistence = null;
+            }
+        }
+    }
+
+    void persist(TranslationSnapshot snapshot) {
+        final File file = _snapshotFile.get();
+        if (file != null) {
+            try {
+                MappedSnapshot.write(snapshot, file);
+            } catch (IOException e) {
+                LOGGER.warn("Error writing translation snapshot file {}.", file, e);
+            }
+        }
+    }
+
+    TranslationSnapshot readAll() throws RepositoryException {
+        return MgnlContext.doInSystemContext(() -> {
+            TranslationSnapshot.Builder builder = TranslationSnapshot.builder();
+            NodeIterator nodes = QueryUtil.search(WS_TRANSLATION, ALL_TRANSLATIONS_QUERY);
+            _loadedNodes.set(0);
+            while (nodes.hasNext()) {
+                addNode(builder, nodes.nextNode());
+                _loadedNodes.incrementAndGet();
+            }
+            return builder.build();
+        });
+    }
+
+    /**
+     * Applies the changed node paths to a copy of the current snapshot. The copy is built without holding the lock,
+     * so that lookups and loads do not wait for it, and published only if the snapshot was not replaced meanwhile.
+     * Otherwise it is built again on top of the new snapshot. The snapshot file is written in the background.
+     *
+     * @param paths the changed node paths
+     */
+    void applyChanges(Set<String> paths) {
+        Set<String> changedKeys = Collections.emptySet();
+        synchronized (_updateLock) {
+            boolean published = false;
+            TranslationSnapshot current;
+            while (!published && (current = _snapshot) != null) {
+                try {
+                    final TranslationSnapshot.Builder builder = current.toBuilder();
+                    MgnlContext.doInSystemContext(() -> {
+                        Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+                        for (String path : paths) {
+                            builder.removeTree(path);
+                            if (session.nodeExists(path)) {
+                                addTree(builder, session.getNode(path));
+                            }
+                        }
+                        // restore removed keys that are defined by other nodes as well
+                        for (Set<String> orphaned = builder.takeOrphanedPaths(); !orphaned.isEmpty(); orphaned = builder.takeOrphanedPaths()) {
+                            for (String path : orphaned) {
+                                if (session.nodeExists(path)) {
+                                    addNode(builder, session.getNode(path));
+                                }
+                            }
+                        }
+                        return null;
+                    });
+                    final TranslationSnapshot next = builder.build();
+                    synchronized (_lock) {
+                        published = _snapshot == current;
+                        if (published) {
+                            _snapshot = next;
+                        }
+                    }
+                    if (published) {
+                        changedKeys = builder.getChangedKeys();
+                        schedulePersist(next);
+                    }
+                } catch (RepositoryException e) {
+                    // drop the stale state, the next access reads the whole workspace
+                    LOGGER.error("Error updating translation index for {}.", paths, e);
+                    synchronized (_lock) {
+                        if (_snapshot == current) {
+                            changedKeys = discard();
+                        }
+                    }
+                    published = true;
+                }
+            }
+        }
+        fireKeyChanges(changedKeys);
+    }
+
+    private void addTree(TranslationSnapshot.Builder builder, Node node) throws RepositoryException {
+        if (TRANSLATION_NODES.evaluate(node)) {
+            addNode(builder, node);
+        }
+        for (Node child : NodeUtil.collectAllChildren(node, TRANSLATION_NODES)) {
+            addNode(builder, child);
+        }
+    }
+
+    private void addNode(TranslationSnapshot.Builder builder, Node node) throws RepositoryException {
+        final String key = getString(node, PN_KEY);
+        if (isNotEmpty(key)) {
+            builder.put(node.getPath(), key, readValues(node));
+        }
+    }
+
+    static Map<String, String> readValues(Node node) throws RepositoryException {
+        Map<String, String> values = new HashMap<>();
+        PropertyIterator properties = node.getProperties();
+        while (properties.hasNext()) {
+            Property property = properties.nextProperty();
+            if (property.getName().startsWith(PREFIX_NAME) && !property.isMultiple()) {
+                values.put(property.getName(), property.getString());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,489 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Immutable state of the translation workspace held by the {@link TranslationIndex}.
+ * <p><strong>Purpose:</strong></p>
+ * Maps every translation key to its translation property values and remembers the node path each key was read from,
+ * so that changes reported by JCR observation can be applied incrementally. If several nodes define the same key,
+ * the node read last wins and the paths of the others are kept, so that one of them takes over if the winning node
+ * is removed.
+ * <p><strong>Storage Layout:</strong></p>
+ * Keeps the whole workspace in a compact column layout instead of one map per key:
+ * <ul>
+ * <li>Every key has an ordinal, resolved by an open addressing hash table of ints</li>
+ * <li>One value array per translation property, indexed by the key ordinal</li>
+ * <li>Equal values are stored as one string instance, e.g. brand names copied to all languages</li>
+ * <li>The estimated heap footprint is reported by {@link #getEstimatedFootprint()}</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * Instances are immutable and can be read concurrently without locking. Changes are applied to a {@link Builder}
+ * and published as a new snapshot.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public final class TranslationSnapshot {
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    static final TranslationSnapshot EMPTY_SNAPSHOT = new Layout(0).build(new TreeMap<>(), new TreeMap<>(), 0L);
+
+    private final String[] _keys;
+    private final int[] _slots;
+    private final Map<String, String[]> _columns;
+    private final NavigableMap<String, String> _pathToKey;
+    private final NavigableMap<String, String> _shadowedPaths;
+    private final long _version;
+    private final int _distinctValues;
+    private volatile KeyFilter _keyFilter;
+
+    private TranslationSnapshot(Layout layout, NavigableMap<String, String> pathToKey, NavigableMap<String, String> shadowedPaths, long version) {
+        _keys = layout._keys;
+        _slots = layout._slots;
+        _columns = layout._columns;
+        _distinctValues = layout._values.size();
+        _pathToKey = pathToKey;
+        _shadowedPaths = shadowedPaths;
+        _version = version;
+    }
+
+    /**
+     * Returns the first non-empty value of the given translation properties for the key.
+     *
+     * @param key           the translation key
+     * @param propertyNames the translation property names in order of preference
+     * @return the translated value or an empty string if the key is unknown or has no value for the properties
+     */
+    public String getValue(String key, String[] propertyNames) {
+        String value = lookup(key, propertyNames);
+        return value == null ? EMPTY : value;
+    }
+
+    /**
+     * Same as {@link #getValue(String, String[])}, but distinguishes unknown keys.
+     *
+     * @param key           the translation key
+     * @param propertyNames the translation property names in order of preference
+     * @return the translated value, an empty string if the key has no value or null if the key is unknown
+     */
+    String lookup(String key, String[] propertyNames) {
+        String value = null;
+        final int ordinal = ordinal(key);
+        if (ordinal >= 0) {
+            value = EMPTY;
+            for (String propertyName : propertyNames) {
+                String[] column = _columns.get(propertyName);
+                String candidate = column != null ? column[ordinal] : null;
+                if (isNotEmpty(candidate)) {
+                    value = candidate;
+                    break;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Resolves the ordinal of a key by linear probing.
+     *
+     * @param key the translation key
+     * @return the ordinal or -1 if the key is unknown
+     */
+    int ordinal(Object key) {
+        if (key != null && _keys.length > 0) {
+            final int mask = _slots.length - 1;
+            for (int slot = spread(key.hashCode()) & mask; _slots[slot] != 0; slot = (slot + 1) & mask) {
+                final int ordinal = _slots[slot] - 1;
+                if (_keys[ordinal].equals(key)) {
+                    return ordinal;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the Bloom filter over the keys of this snapshot, created on first access.
+     *
+     * @return the key filter
+     */
+    public KeyFilter getKeyFilter() {
+        KeyFilter keyFilter = _keyFilter;
+        if (keyFilter == null) {
+            // benign race: concurrent callers may create equal filters, one of them wins
+            keyFilter = KeyFilter.create(Arrays.asList(_keys), KeyFilter.DEFAULT_FALSE_POSITIVE_PROBABILITY);
+            _keyFilter = keyFilter;
+        }
+        return keyFilter;
+    }
+
+    /**
+     * Returns all translation property values of a key.
+     *
+     * @param key the translation key
+     * @return unmodifiable map of property name to value, empty if the key is unknown
+     */
+    public Map<String, String> getValues(String key) {
+        final Map<String, String> values = getValuesOrNull(key);
+        return values != null ? values : Collections.emptyMap();
+    }
+
+    private Map<String, String> getValuesOrNull(String key) {
+        Map<String, String> values = null;
+        final int ordinal = ordinal(key);
+        if (ordinal >= 0) {
+            values = new LinkedHashMap<>();
+            for (Map.Entry<String, String[]> column : _columns.entrySet()) {
+                if (column.getValue()[ordinal] != null) {
+                    values.put(column.getKey(), column.getValue()[ordinal]);
+                }
+            }
+            values = Collections.unmodifiableMap(values);
+        }
+        return values;
+    }
+
+    public boolean containsKey(String key) {
+        return ordinal(key) >= 0;
+    }
+
+    public Set<String> getKeys() {
+        return new KeySet();
+    }
+
+    public int size() {
+        return _keys.length;
+    }
+
+    /**
+     * Returns the number of distinct values stored for all keys and properties.
+     *
+     * @return the number of distinct value strings
+     */
+    public int getDistinctValues() {
+        return _distinctValues;
+    }
+
+    /**
+     * Estimates the heap footprint of this snapshot including keys, values and node paths, assuming compressed
+     * references and compact strings. The key filter is not included. The estimate walks the whole snapshot.
+     *
+     * @return the estimated footprint in bytes
+     */
+    public long getEstimatedFootprint() {
+        long footprint = array(_keys.length) + align(OBJECT_HEADER + 4L * _slots.length);
+        for (String key : _keys) {
+            footprint += string(key);
+        }
+        final Set<String> values = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<String, String[]> column : _columns.entrySet()) {
+            // hash map node, property name and value array
+            footprint += 32 + string(column.getKey()) + array(column.getValue().length);
+            for (String value : column.getValue()) {
+                if (value != null && values.add(value)) {
+                    footprint += string(value);
+                }
+            }
+        }
+        for (String path : _pathToKey.keySet()) {
+            // tree map entry, the key strings are shared with the key array
+            footprint += 40 + string(path);
+        }
+        for (String path : _shadowedPaths.keySet()) {
+            footprint += 40 + string(path);
+        }
+        return footprint;
+    }
+
+    private static long array(int length) {
+        return align(OBJECT_HEADER + (long) REFERENCE * length);
+    }
+
+    private static long string(String value) {
+        // string object and its byte array, one byte per character for latin-1 strings
+        final int bytesPerChar = value.chars().allMatch(c -> c < 256) ? 1 : 2;
+        return 24 + align(OBJECT_HEADER + (long) bytesPerChar * value.length());
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Returns the version of this snapshot, incremented with every applied change.
+     *
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return _version;
+    }
+
+    Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    static Builder builder() {
+        return new Builder(EMPTY_SNAPSHOT);
+    }
+
+    /**
+     * Unmodifiable set view of the keys, in ordinal order.
+     */
+    private final class KeySet extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            return Collections.unmodifiableList(Arrays.asList(_keys)).iterator();
+        }
+
+        @Override
+        public int size() {
+            return _keys.length;
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return ordinal(key) >= 0;
+        }
+    }
+
+    /**
+     * Collects keys and values into the column layout of a new snapshot.
+     */
+    private static final class Layout {
+        private final String[] _keys;
+        private final int[] _slots;
+        private final Map<String, String[]> _columns = new HashMap<>();
+        private final Map<String, String> _values = new HashMap<>();
+        private int _size;
+
+        private Layout(int capacity) {
+            _keys = new String[capacity];
+            // load factor of at most 0.5 keeps the probe sequences short
+            _slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1)];
+        }
+
+        private int add(String key) {
+            final int ordinal = _size++;
+            _keys[ordinal] = key;
+            final int mask = _slots.length - 1;
+            int slot = spread(key.hashCode()) & mask;
+            while (_slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            _slots[slot] = ordinal + 1;
+            return ordinal;
+        }
+
+        private void put(int ordinal, String propertyName, String value) {
+            if (value != null) {
+                String[] column = _columns.computeIfAbsent(propertyName, name -> new String[_keys.length]);
+                String shared = _values.putIfAbsent(value, value);
+                column[ordinal] = shared != null ? shared : value;
+            }
+        }
+
+        private TranslationSnapshot build(NavigableMap<String, String> pathToKey, NavigableMap<String, String> shadowedPaths, long version) {
+            return new TranslationSnapshot(this, pathToKey, shadowedPaths, version);
+        }
+    }
+
+    /**
+     * Change set on top of a snapshot, used for the initial load and for applying observed changes.
+     */
+    static final class Builder {
+        private final TranslationSnapshot _original;
+        private final Map<String, Map<String, String>> _changes = new HashMap<>();
+        private final NavigableMap<String, String> _pathToKey;
+        private final Map<String, String> _keyToPath = new HashMap<>();
+        private final NavigableMap<String, String> _shadowedPaths;
+        private final NavigableMap<String, String> _orphanedPaths = new TreeMap<>();
+        private final long _version;
+
+        private Builder(TranslationSnapshot snapshot) {
+            _original = snapshot;
+            _pathToKey = new TreeMap<>(snapshot._pathToKey);
+            _pathToKey.forEach((path, key) -> _keyToPath.put(key, path));
+            _shadowedPaths = new TreeMap<>(snapshot._shadowedPaths);
+            _version = snapshot._version + 1;
+        }
+
+        /**
+         * Adds or replaces the entry read from the node at the given path.
+         *
+         * @param path   the node path
+         * @param key    the translation key of the node
+         * @param values the translation property values of the node
+         * @return this builder
+         */
+        Builder put(String path, String key, Map<String, String> values) {
+            _shadowedPaths.remove(path);
+            _orphanedPaths.remove(path);
+            String previousPath = _keyToPath.put(key, path);
+            if (previousPath != null && !previousPath.equals(path)) {
+                // the node read before still defines the key and takes over if this node is removed
+                _pathToKey.remove(previousPath);
+                _shadowedPaths.put(previousPath, key);
+            }
+            String previousKey = _pathToKey.put(path, key);
+            if (previousKey != null && !previousKey.equals(key) && path.equals(_keyToPath.get(previousKey))) {
+                removeKey(previousKey);
+            }
+            _changes.put(key, Collections.unmodifiableMap(values));
+            return this;
+        }
+
+        /**
+         * Removes all entries read from the node at the given path or from its descendants.
+         *
+         * @param path the node path
+         * @return this builder
+         */
+        Builder removeTree(String path) {
+            final String prefix = "/".equals(path) ? path : path + '/';
+            remove(path);
+            for (String descendant : _pathToKey.subMap(prefix, true, prefix + Character.MAX_VALUE, true).keySet().toArray(new String[0])) {
+                remove(descendant);
+            }
+            _shadowedPaths.subMap(prefix, true, prefix + Character.MAX_VALUE, true).clear();
+            _orphanedPaths.subMap(prefix, true, prefix + Character.MAX_VALUE, true).clear();
+            return this;
+        }
+
+        private void remove(String path) {
+            _shadowedPaths.remove(path);
+            _orphanedPaths.remove(path);
+            String key = _pathToKey.remove(path);
+            if (key != null && path.equals(_keyToPath.get(key))) {
+                removeKey(key);
+            }
+        }
+
+        /**
+         * Removes the key and marks one of the other nodes defining it, if any, to be read again.
+         */
+        private void removeKey(String key) {
+            _keyToPath.remove(key);
+            _changes.put(key, null);
+            for (Map.Entry<String, String> shadowed : _shadowedPaths.entrySet()) {
+                if (key.equals(shadowed.getValue())) {
+                    _shadowedPaths.remove(shadowed.getKey());
+                    _orphanedPaths.put(shadowed.getKey(), key);
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Returns the paths of nodes that define a removed key as well and have to be read again with
+         * {@link #put(String, String, Map)} to restore it. Paths of keys that were put again meanwhile stay shadowed.
+         *
+         * @return the paths to read again, empty if there are none
+         */
+        Set<String> takeOrphanedPaths() {
+            final Set<String> paths = new LinkedHashSet<>();
+            _orphanedPaths.forEach((path, key) -> {
+                if (_keyToPath.containsKey(key)) {
+                    _shadowedPaths.put(path, key);
+                } else {
+                    paths.add(path);
+                }
+            });
+            _orphanedPaths.clear();
+            return paths;
+        }
+
+        /**
+         * Returns the keys that were added, removed or got different values compared to the originating snapshot.
+         *
+         * @return the changed keys
+         */
+        Set<String> getChangedKeys() {
+            Set<String> changedKeys = new HashSet<>();
+            _changes.forEach((key, values) -> {
+                if (!Objects.equals(_original.getValuesOrNull(key), values)) {
+                    changedKeys.add(key);
+                }
+            });
+            return changedKeys;
+        }
+
+        TranslationSnapshot build() {
+            final List<String> added = new ArrayList<>();
+            int size = 0;
+            for (String key : _original._keys) {
+                if (!_changes.containsKey(key)) {
+                    size++;
+                }
+            }
+            for (Map.Entry<String, Map<String, String>> change : _changes.entrySet()) {
+                if (change.getValue() != null) {
+                    added.add(change.getKey());
+                }
+            }
+
+            final Layout layout = new Layout(size + added.size());
+            final int[] ordinals = new int[_original._keys.length];
+            for (int ordinal = 0; ordinal < _original._keys.length; ordinal++) {
+                final String key = _original._keys[ordinal];
+                ordinals[ordinal] = _changes.containsKey(key) ? -1 : layout.add(key);
+            }
+            for (Map.Entry<String, String[]> column : _original._columns.entrySet()) {
+                final String[] values = column.getValue();
+                for (int ordinal = 0; ordinal < values.length; ordinal++) {
+                    if (ordinals[ordinal] >= 0) {
+                        layout.put(ordinals[ordinal], column.getKey(), values[ordinal]);
+                    }
+                }
+            }
+            for (String key : added) {
+                final int ordinal = layout.add(key);
+                _changes.get(key).forEach((propertyName, value) -> layout.put(ordinal, propertyName, value));
+            }
+            return layout.build(_pathToKey, _shadowedPaths, _version);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import info.magnolia.observation.WorkspaceEventListenerRegistration;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.jcr.RepositoryException;
+import javax.jcr.observation.Event;
+import javax.jcr.observation.EventIterator;
+import javax.jcr.observation.EventListener;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static org.apache.commons.lang3.StringUtils.defaultIfEmpty;
+import static org.apache.commons.lang3.StringUtils.substringBeforeLast;
+
+/**
+ * Shared JCR observation of the translation workspace.
+ * <p><strong>Purpose:</strong></p>
+ * Registers one deferred event listener on the translation workspace and fans out the paths of the changed
+ * nodes to all interested in-memory structures, so that each of them does not need its own JCR listener.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Lazy registration on the first added listener</li>
+ * <li>Events are collected for a short delay and delivered as one batch of node paths</li>
+ * <li>Property events are reported with the path of their parent node</li>
+ * <li>Monotonically increasing workspace version, incremented for every delivered batch</li>
+ * <li>Registered again when the module is restarted, reporting a change of the whole workspace to the listeners</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe. Listeners are called on the observation thread and must not block.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class TranslationWorkspaceObserver implements EventListener {
+    static final long DELAY = 250L;
+    static final long MAX_DELAY = 1000L;
+
+    private static final String SOURCE_PATH = "srcAbsPath";
+
+    private final List<Consumer<Set<String>>> _listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong _version = new AtomicLong();
+    private volatile WorkspaceEventListenerRegistration.Handle _registration;
+    private boolean _suspended;
+
+    /**
+     * Adds a listener for changed node paths and registers the JCR observation if not done yet.
+     *
+     * @param listener consumer of the changed node paths of one event batch
+     */
+    public void addListener(Consumer<Set<String>> listener) {
+        _listeners.add(listener);
+        register();
+    }
+
+    /**
+     * Removes a previously added listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(Consumer<Set<String>> listener) {
+        _listeners.remove(listener);
+    }
+
+    /**
+     * Returns the workspace version, which is incremented for every observed change batch.
+     *
+     * @return the current workspace version
+     */
+    public long getVersion() {
+        return _version.get();
+    }
+
+    synchronized void register() {
+        if (_registration == null) {
+            try {
+                _registration = WorkspaceEventListenerRegistration.observe(WS_TRANSLATION, "/", this).withSubNodes(true).withDelay(DELAY, MAX_DELAY).register();
+            } catch (RepositoryException e) {
+                LOGGER.error("Error registering observation for workspace {}.", WS_TRANSLATION, e);
+            }
+        }
+    }
+
+    /**
+     * Unregisters the JCR observation, e.g. when the module stops. The listeners are kept, {@link #resume()} or a
+     * later added listener registers the observation again.
+     */
+    public synchronized void unregister() {
+        _suspended = true;
+        if (_registration != null) {
+            try {
+                _registration.unregister();
+            } catch (RepositoryException e) {
+                LOGGER.warn("Error unregistering observation for workspace {}.", WS_TRANSLATION, e);
+            }
+            _registration = null;
+        }
+    }
+
+    /**
+     * Registers the JCR observation again after {@link #unregister()}, e.g. when the module is restarted. Changes
+     * made meanwhile were not observed, so the listeners are notified of a change of the root path, which makes
+     * them read the whole workspace again. Does nothing if the observation was never unregistered.
+     */
+    public void resume() {
+        final boolean resumed;
+        synchronized (this) {
+            resumed = _suspended && !_listeners.isEmpty();
+            _suspended = false;
+            if (resumed) {
+                register();
+            }
+        }
+        if (resumed) {
+            _version.incrementAndGet();
+            fireChanges(Collections.singleton("/"));
+        }
+    }
+
+    @Override
+    public void onEvent(EventIterator events) {
+        Set<String> paths = new LinkedHashSet<>();
+        while (events.hasNext()) {
+            collectNodePaths(events.nextEvent(), paths);
+        }
+        if (!paths.isEmpty()) {
+            _version.incrementAndGet();
+            fireChanges(Collections.unmodifiableSet(paths));
+        }
+    }
+
+    void fireChanges(Set<String> paths) {
+        for (Consumer<Set<String>> listener : _listeners) {
+            try {
+                listener.accept(paths);
+            } catch (RuntimeException e) {
+                LOGGER.error("Error notifying translation change listener.", e);
+            }
+        }
+    }
+
+    void collectNodePaths(Event event, Set<String> paths) {
+        try {
+            final String path = event.getPath();
+            if (path == null) {
+                return;
+            }
+            switch (event.getType()) {
+                case Event.PROPERTY_ADDED:
+                case Event.PROPERTY_CHANGED:
+                case Event.PROPERTY_REMOVED:
+                    paths.add(defaultIfEmpty(substringBeforeLast(path, "/"), "/"));
+                    break;
+                case Event.NODE_MOVED:
+                    Object sourcePath = event.getInfo().get(SOURCE_PATH);
+                    if (sourcePath != null) {
+                        paths.add(sourcePath.toString());
+                    }
+                    paths.add(path);
+                    break;
+                default:
+                    paths.add(path);
+            }
+        } catch (RepositoryException e) {
+            LOGGER.warn("Error reading translation observation event.", e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package de.ibmix.magkit.tools.t9n.metrics;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power of two buckets.
+ * <p><strong>Purpose:</strong></p>
+ * Records durations in nanoseconds with a single striped counter increment, so that recording on hot paths
+ * does not contend. Percentiles are estimated with the upper bound of the bucket.
+ * <p><strong>Thread Safety:</strong></p>
+ * This class is thread-safe. Reads are not atomic across buckets and may miss concurrent recordings.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public final class LatencyHistogram {
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] _buckets = new LongAdder[BUCKETS];
+    private final LongAdder _total = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            _buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        _buckets[bucket(nanos)].increment();
+        _total.add(Math.max(0L, nanos));
+    }
+
+    static int bucket(long nanos) {
+        return nanos <= 0L ? 0 : Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Returns the number of recordings per bucket. Bucket i counts durations below 2^i nanoseconds.
+     *
+     * @return the bucket counts
+     */
+    public long[] getCounts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = _buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public long getCount() {
+        long count = 0L;
+        for (LongAdder bucket : _buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the mean duration.
+     *
+     * @return the mean in nanoseconds, zero without recordings
+     */
+    public long getMean() {
+        final long count = getCount();
+        return count == 0L ? 0L : _total.sum() / count;
+    }
+
+    /**
+     * Estimates the percentile as the upper bound of the bucket containing it.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the estimated duration in nanoseconds, zero without recordings
+     */
+    public long getPercentile(double percentile) {
+        final long[] counts = getCounts();
+        long count = 0L;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        long result = 0L;
+        if (count > 0L) {
+            final long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    result = (1L << i) - 1L;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : _buckets) {
+            bucket.reset();
+        }
+        _total.reset();
+    }
+}
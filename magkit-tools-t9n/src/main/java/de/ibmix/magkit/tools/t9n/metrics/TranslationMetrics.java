@@ -0,0 +1,323 @@
+package de.ibmix.magkit.tools.t9n.metrics;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lookup metrics of the translation service, published as MBean {@value #OBJECT_NAME}.
+ * <p><strong>Purpose:</strong></p>
+ * Makes the cost of translations visible in production and load tests.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Total lookups, workspace override hits, message bundle fallbacks, merged bundle lookups and query errors</li>
+ * <li>Lookups and override hits per locale, for at most {@value #MAX_LOCALES} locales, so that requests of arbitrary
+ * locales cannot exhaust the heap. Further locales are counted as {@code other}</li>
+ * <li>Lookup latency histogram with mean, median and 99th percentile</li>
+ * <li>Key filter rejections, false positives and their rates, as counted by the {@link TranslationIndex}</li>
+ * <li>Load state and warm-up progress of the {@link TranslationIndex}</li>
+ * <li>Striped {@link LongAdder} counters, recording does not contend between request threads</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class TranslationMetrics implements TranslationMetricsMXBean {
+    public static final String OBJECT_NAME = "de.ibmix.magkit.tools.t9n:type=TranslationMetrics";
+    static final int MAX_LOCALES = 100;
+    static final Locale OTHER_LOCALES = new Locale("other");
+
+    private final LongAdder _lookups = new LongAdder();
+    private final LongAdder _overrideHits = new LongAdder();
+    private final LongAdder _bundleFallbacks = new LongAdder();
+    private final LongAdder _mergedBundleLookups = new LongAdder();
+    private final LongAdder _queryErrors = new LongAdder();
+    private final Map<Locale, LongAdder> _lookupsByLocale = new ConcurrentHashMap<>();
+    private final Map<Locale, LongAdder> _overrideHitsByLocale = new ConcurrentHashMap<>();
+    private final LatencyHistogram _latency = new LatencyHistogram();
+    private final Provider<TranslationIndex> _indexProvider;
+
+    /**
+     * Creates the metrics without translation index and registers them at the platform MBean server.
+     */
+    public TranslationMetrics() {
+        this(null);
+    }
+
+    /**
+     * Creates the metrics and registers them at the platform MBean server.
+     *
+     * @param indexProvider provider for the translation index, whose key filter and warm-up are reported (may be null)
+     */
+    @Inject
+    public TranslationMetrics(Provider<TranslationIndex> indexProvider) {
+        _indexProvider = indexProvider;
+        register();
+    }
+
+    /**
+     * Registers the MBean at the platform MBean server, replacing a registered one, e.g. when the module starts again.
+     */
+    public void register() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                // left over from a previous deployment in the same JVM
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            LOGGER.warn("Could not register translation metrics MBean {}.", OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Unregisters the MBean from the platform MBean server.
+     */
+    public void unregister() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            LOGGER.warn("Could not unregister translation metrics MBean {}.", OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Records a translation served from the workspace.
+     *
+     * @param locale the requested locale
+     * @param nanos the lookup duration
+     */
+    public void recordOverrideHit(Locale locale, long nanos) {
+        record(locale, nanos);
+        _overrideHits.increment();
+        counter(_overrideHitsByLocale, locale).increment();
+    }
+
+    /**
+     * Records a translation served from the message bundles after a workspace lookup without result.
+     *
+     * @param locale the requested locale
+     * @param nanos the lookup duration
+     */
+    public void recordBundleFallback(Locale locale, long nanos) {
+        record(locale, nanos);
+        _bundleFallbacks.increment();
+    }
+
+    /**
+     * Records a translation served from the message bundles containing the merged workspace translations.
+     *
+     * @param locale the requested locale
+     * @param nanos the lookup duration
+     */
+    public void recordMergedBundleLookup(Locale locale, long nanos) {
+        record(locale, nanos);
+        _mergedBundleLookups.increment();
+    }
+
+    public void recordQueryError() {
+        _queryErrors.increment();
+    }
+
+    private void record(Locale locale, long nanos) {
+        _lookups.increment();
+        counter(_lookupsByLocale, locale).increment();
+        _latency.record(nanos);
+    }
+
+    private static LongAdder counter(Map<Locale, LongAdder> counters, Locale locale) {
+        final Locale key = locale != null ? locale : Locale.ROOT;
+        LongAdder counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(counters.size() < MAX_LOCALES ? key : OTHER_LOCALES, l -> new LongAdder());
+        }
+        return counter;
+    }
+
+    @Override
+    public long getLookups() {
+        return _lookups.sum();
+    }
+
+    @Override
+    public long getOverrideHits() {
+        return _overrideHits.sum();
+    }
+
+    @Override
+    public long getBundleFallbacks() {
+        return _bundleFallbacks.sum();
+    }
+
+    @Override
+    public long getMergedBundleLookups() {
+        return _mergedBundleLookups.sum();
+    }
+
+    @Override
+    public long getQueryErrors() {
+        return _queryErrors.sum();
+    }
+
+    @Override
+    public Map<String, Long> getLookupsByLocale() {
+        return toMap(_lookupsByLocale);
+    }
+
+    @Override
+    public Map<String, Long> getOverrideHitsByLocale() {
+        return toMap(_overrideHitsByLocale);
+    }
+
+    private static Map<String, Long> toMap(Map<Locale, LongAdder> counters) {
+        final Map<String, Long> result = new TreeMap<>();
+        counters.forEach((locale, counter) -> result.put(locale.toString(), counter.sum()));
+        return result;
+    }
+
+    @Override
+    public long getLatencyMeanNanos() {
+        return _latency.getMean();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return _latency.getPercentile(50.0);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return _latency.getPercentile(99.0);
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        return _latency.getCounts();
+    }
+
+    @Override
+    public long getFilterRejections() {
+        final TranslationIndex index = getIndex();
+        return index != null ? index.getFilterRejections() : 0L;
+    }
+
+    @Override
+    public long getFilterFalsePositives() {
+        final TranslationIndex index = getIndex();
+        return index != null ? index.getFilterFalsePositives() : 0L;
+    }
+
+    /**
+     * Returns the share of index lookups the key filter answered without probing the index.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    @Override
+    public double getFilterHitRate() {
+        final TranslationIndex index = getIndex();
+        final long rejections = index != null ? index.getFilterRejections() : 0L;
+        final long lookups = rejections + (index != null ? index.getFilterPasses() : 0L);
+        return lookups == 0 ? 0.0 : (double) rejections / lookups;
+    }
+
+    @Override
+    public double getFilterFalsePositiveRate() {
+        final TranslationIndex index = getIndex();
+        return index != null ? index.getFilterFalsePositiveRate() : 0.0;
+    }
+
+    @Override
+    public boolean isIndexLoaded() {
+        final TranslationIndex index = getIndex();
+        return index != null && index.isLoaded();
+    }
+
+    @Override
+    public boolean isIndexWarmingUp() {
+        final TranslationIndex index = getIndex();
+        return index != null && index.isWarmingUp();
+    }
+
+    /**
+     * Returns the number of translation nodes read by the current or last index load, the warm-up progress.
+     *
+     * @return the number of read translation nodes
+     */
+    @Override
+    public int getIndexLoadedNodes() {
+        final TranslationIndex index = getIndex();
+        return index != null ? index.getLoadedNodes() : 0;
+    }
+
+    /**
+     * Returns the duration of the last index warm-up.
+     *
+     * @return the duration in milliseconds or -1 if no warm-up has finished yet
+     */
+    @Override
+    public long getIndexWarmUpDuration() {
+        final TranslationIndex index = getIndex();
+        return index != null ? index.getWarmUpDuration() : -1L;
+    }
+
+    private TranslationIndex getIndex() {
+        return _indexProvider != null ? _indexProvider.get() : null;
+    }
+
+    /**
+     * Resets the lookup counters and latencies. The key filter counters belong to the index and are kept.
+     */
+    @Override
+    public void reset() {
+        _lookups.reset();
+        _overrideHits.reset();
+        _bundleFallbacks.reset();
+        _mergedBundleLookups.reset();
+        _queryErrors.reset();
+        _lookupsByLocale.clear();
+        _overrideHitsByLocale.clear();
+        _latency.reset();
+    }
+}
@@ -0,0 +1,72 @@
+package de.ibmix.magkit.tools.t9n.metrics;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Map;
+
+/**
+ * JMX management interface of the {@link TranslationMetrics}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public interface TranslationMetricsMXBean {
+
+    long getLookups();
+
+    long getOverrideHits();
+
+    long getBundleFallbacks();
+
+    long getMergedBundleLookups();
+
+    long getQueryErrors();
+
+    Map<String, Long> getLookupsByLocale();
+
+    Map<String, Long> getOverrideHitsByLocale();
+
+    long getLatencyMeanNanos();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long[] getLatencyHistogram();
+
+    long getFilterRejections();
+
+    long getFilterFalsePositives();
+
+    double getFilterHitRate();
+
+    double getFilterFalsePositiveRate();
+
+    boolean isIndexLoaded();
+
+    boolean isIndexWarmingUp();
+
+    int getIndexLoadedNodes();
+
+    long getIndexWarmUpDuration();
+
+    void reset();
+}
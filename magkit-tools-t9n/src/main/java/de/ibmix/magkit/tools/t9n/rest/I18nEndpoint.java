@@ -20,7 +20,14 @@ package de.ibmix.magkit.tools.t9n.rest;
  * #L%
  */
 
+import de.ibmix.magkit.tools.t9n.LocaleFallbackChains;
 import de.ibmix.magkit.tools.t9n.TranslationNodeTypes;
+import de.ibmix.magkit.tools.t9n.index.KeyDeletionLog;
+import de.ibmix.magkit.tools.t9n.index.TranslationChangeBroadcaster;
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import de.ibmix.magkit.tools.t9n.usage.KeyUsageTracker;
+import info.magnolia.cms.i18n.I18nContentSupport;
+import info.magnolia.cms.util.QueryUtil;
 import info.magnolia.context.MgnlContext;
 import info.magnolia.jcr.predicate.NodeTypePredicate;
 import info.magnolia.jcr.util.NodeUtil;
@@ -30,21 +37,53 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
 import javax.jcr.RepositoryException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
 import static info.magnolia.jcr.util.PropertyUtil.getString;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.commons.lang3.StringUtils.substringAfter;
 import static org.apache.commons.lang3.StringUtils.substringBefore;
 
@@ -60,14 +99,36 @@ import static org.apache.commons.lang3.StringUtils.substringBefore;
  * <li>Returns translations as JSON key-value pairs</li>
  * <li>Falls back to language-only translations when country-specific ones are not available</li>
  * <li>Executes queries in system context for consistent access</li>
+ * <li>Serves the bundles from the {@link TranslationBundleCache} until the translation workspace changes</li>
+ * <li>Content hash of the bundle as ETag, conditional requests with a matching If-None-Match get 304 Not Modified</li>
+ * <li>Precompressed gzip payload for clients accepting gzip encoding</li>
+ * <li>Optional streaming mode ({@code streamBundles}), which writes the translations sorted by key while iterating a
+ * query result, with constant memory per request</li>
+ * <li>Optional, repeatable {@code prefix} parameter restricting the response to key namespaces</li>
+ * <li>Optional output format {@code format=ast} with pre-parsed placeholder messages, see {@link MessageAst}</li>
+ * <li>Batch resource /i18n/v1/batch?locale={locale}&amp;locale=... with the translations of several locales keyed by
+ * locale, the locales missing in the cache are read in one traversal of the workspace</li>
+ * <li>Content-hashed, immutable bundle resource /i18n/v1/bundle/{locale}.{hash}.json for long CDN and browser cache
+ * lifetimes, with the current hash per locale published by the manifest resource /i18n/v1/manifest</li>
+ * <li>Server-sent event stream /i18n/v1/changes/stream pushing the changed translations, see
+ * {@link TranslationChangeBroadcaster}</li>
+ * <li>Delta resource /i18n/v1/{locale}/changes?since={version} with the translations changed and the keys removed
+ * since a version, or all translations if the version is older than the {@link KeyDeletionLog}</li>
  * </ul>
  * <p><strong>Usage Example:</strong></p>
  * <pre>
  * GET /rest/i18n/v1/de
  * GET /rest/i18n/v1/en_US
+ * GET /rest/i18n/v1/de?prefix=checkout.&amp;prefix=cart.
+ * GET /rest/i18n/v1/de?format=ast
+ * GET /rest/i18n/v1/batch?locale=en&amp;locale=de&amp;locale=fr
+ * GET /rest/i18n/v1/manifest
+ * GET /rest/i18n/v1/bundle/de.0123456789abcdef0123456789abcdef.json
+ * GET /rest/i18n/v1/de/changes?since=1792303200000
+ * GET /rest/i18n/v1/changes/stream?locale=de
  * </pre>
  * <p><strong>Thread Safety:</strong></p>
- * This endpoint is thread-safe as each request operates within its own context.
+ * This endpoint is thread-safe as each request operates within its own context and the bundle cache is thread-safe.
  *
  * @author frank.sommer
  * @since 2022-07-13
@@ -79,46 +140,608 @@ import static org.apache.commons.lang3.StringUtils.substringBefore;
 @Slf4j
 public class I18nEndpoint extends AbstractEndpoint<ConfiguredEndpointDefinition> {
 
+    static final String GZIP = "gzip";
+    static final String FORMAT_JSON = "json";
+    static final String FORMAT_AST = "ast";
+    static final String AST_ETAG_SUFFIX = "-ast";
+    static final String GZIP_ETAG_SUFFIX = "-gzip";
+    static final String HEARTBEAT_COMMENT = "heartbeat";
+    static final String SORTED_TRANSLATIONS_QUERY = "select * from [" + TranslationNodeTypes.Translation.NAME + "] as t where ischildnode(t, '/')%s order by t.["
+        + TranslationNodeTypes.Translation.PN_KEY + "]";
+
+    static final String CHANGED_TRANSLATIONS_QUERY = "select * from [" + TranslationNodeTypes.Translation.NAME + "] as t where ischildnode(t, '/')"
+        + " and (t.[mgnl:lastModified] > cast('%1$s' as date) or t.[mgnl:lastActivated] > cast('%1$s' as date))";
+    static final long VERSION_OVERLAP = TimeUnit.SECONDS.toMillis(10);
+    static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String CACHE_REVALIDATE = "no-cache";
+    static final String CACHE_NONE = "no-store";
+
+    private static final DateTimeFormatter JCR_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").withZone(ZoneOffset.UTC);
+    private static final Pattern LOCALE = Pattern.compile("[a-z]{2}(_[A-Z]{2})?");
+    private static final Pattern QUALITY_ZERO = Pattern.compile(";\\s*q\\s*=\\s*0(\\.0{0,3})?\\s*$");
+
+    private final LocaleFallbackChains _fallbackChains;
+    private final KeyUsageTracker _keyUsageTracker;
+    private final TranslationBundleCache _bundleCache;
+    private final Provider<TranslationModule> _moduleProvider;
+    private final KeyDeletionLog _deletionLog;
+    private final I18nContentSupport _i18nContentSupport;
+    private final TranslationChangeBroadcaster _changeBroadcaster;
+
     /**
      * Creates a new I18N endpoint with the given configuration.
      *
      * @param endpointDefinition the endpoint configuration definition
      */
-    @Inject
     protected I18nEndpoint(ConfiguredEndpointDefinition endpointDefinition) {
+        this(endpointDefinition, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a new I18N endpoint with the given configuration and the shared translation components.
+     *
+     * @param endpointDefinition the endpoint configuration definition
+     * @param fallbackChains shared translation property fallback chains (may be null)
+     * @param keyUsageTracker recorder of the requested bundles (may be null)
+     * @param bundleCache cache of the translation bundles per locale (may be null)
+     * @param moduleProvider provider for the translation module configuration (may be null)
+     * @param deletionLog log of the removed translation keys, without it changes are always answered with all
+     *                    translations (may be null)
+     * @param i18nContentSupport source of the site locales listed by the manifest by default (may be null)
+     * @param changeBroadcaster fan-out of the translation changes to the event stream subscribers (may be null)
+     */
+    @Inject
+    protected I18nEndpoint(ConfiguredEndpointDefinition endpointDefinition, LocaleFallbackChains fallbackChains, KeyUsageTracker keyUsageTracker, TranslationBundleCache bundleCache,
+                           Provider<TranslationModule> moduleProvider, KeyDeletionLog deletionLog, I18nContentSupport i18nContentSupport,
+                           TranslationChangeBroadcaster changeBroadcaster) {
         super(endpointDefinition);
+        _fallbackChains = fallbackChains;
+        _keyUsageTracker = keyUsageTracker;
+        _bundleCache = bundleCache;
+        _moduleProvider = moduleProvider;
+        _deletionLog = deletionLog;
+        _i18nContentSupport = i18nContentSupport;
+        _changeBroadcaster = changeBroadcaster;
     }
 
     /**
      * Retrieves all available translations for the specified locale.
      * Returns a JSON object containing key-value pairs where keys are translation identifiers
      * and values are the localized text. Supports fallback from country-specific to language-only translations.
+     * The response carries the content hash as ETag. If the client sends a matching If-None-Match header,
+     * 304 Not Modified is returned without body. Clients accepting gzip get the precompressed payload of the bundle
+     * with the ETag suffix {@value #GZIP_ETAG_SUFFIX}.
+     * With prefixes, only the translations of keys starting with one of them are returned. In the {@value #FORMAT_AST}
+     * format, placeholder messages are returned as pre-parsed token arrays, which are cached with the bundle.
      *
      * @param locale the locale string in ISO format (e.g., "de" or "de_DE")
-     * @return a Response containing the translation key-value pairs as JSON
+     * @param ifNoneMatch the entity tags of the client copy (may be null)
+     * @param acceptEncoding the content encodings accepted by the client (may be null)
+     * @param prefixes the key prefixes to restrict the translations to (may be null)
+     * @param format the output format, {@value #FORMAT_JSON} (default) or {@value #FORMAT_AST} (may be null)
+     * @return a Response containing the translation key-value pairs as JSON, 400 Bad Request for unknown formats
      */
     @Path("/{locale:[a-z]{2}(_[A-Z]{2})?}")
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Get available translations for a locale.")
-    public Response translate(@Parameter(description = "A locale containing the ISO-639 language code and optional an ISO-3166 country code. Possible values are 'de' or 'de_DE'.", example = "en", required = true) @PathParam("locale") String locale) {
+    public Response translate(@Parameter(description = "A locale containing the ISO-639 language code and optional an ISO-3166 country code. Possible values are 'de' or 'de_DE'.", example = "en", required = true) @PathParam("locale") String locale,
+                              @Parameter(description = "ETag of a previously received response.") @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                              @Parameter(hidden = true) @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+                              @Parameter(description = "Key prefixes to restrict the translations to, e.g. 'checkout.'.") @QueryParam("prefix") List<String> prefixes,
+                              @Parameter(description = "The output format, 'json' or 'ast' for pre-parsed placeholder messages.", example = "json") @QueryParam("format") String format) {
 
-        Map<String, String> labels = MgnlContext.doInSystemContext(() -> {
-            Map<String, String> keyValues = new TreeMap<>();
-            try {
-                final var jcrSession = MgnlContext.getJCRSession(WS_TRANSLATION);
-                final var rootNode = jcrSession.getRootNode();
-                final var nodes = NodeUtil.asList(NodeUtil.getNodes(rootNode, new NodeTypePredicate(TranslationNodeTypes.Translation.NAME)));
-                final Locale asLocale = new Locale(substringBefore(locale, "_"), substringAfter(locale, "_"));
-                final String[] propertyNames = TranslationNodeTypes.Translation.LOCALE_TO_PROPERTY_NAMES.apply(asLocale);
+        final boolean ast = FORMAT_AST.equals(format);
+        if (!ast && format != null && !format.isEmpty() && !FORMAT_JSON.equals(format)) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        final KeyPrefixes keyPrefixes = KeyPrefixes.of(prefixes);
+        Response response;
+        if (ast) {
+            // always from the cached bundle, the tokens are only computed once per bundle
+            response = respondWithAst(locale, keyPrefixes, ifNoneMatch, acceptEncoding);
+        } else if (isStreaming()) {
+            // neither cached nor hashed, so no ETag: the content is only known after it has been written
+            response = Response.ok(streamLabels(locale, keyPrefixes), MediaType.APPLICATION_JSON_TYPE.withCharset(UTF_8.name())).build();
+        } else {
+            response = respondWithBundle(locale, keyPrefixes, ifNoneMatch, acceptEncoding);
+        }
+
+        if (_keyUsageTracker != null) {
+            _keyUsageTracker.recordBundleRequest();
+        }
+        return response;
+    }
+
+    /**
+     * Retrieves the translations of several locales as JSON object keyed by locale, e.g. for multilingual shells.
+     * Cached bundles are reused, the locales missing in the cache are read in one traversal of the translation
+     * workspace. The response carries a hash over the bundle versions as ETag and is answered with 304 Not Modified
+     * for a matching If-None-Match header. The batch is always served from the cache, also in streaming mode.
+     *
+     * @param locales the locale strings in ISO format (e.g., "de" or "de_DE")
+     * @param ifNoneMatch the entity tags of the client copy (may be null)
+     * @param prefixes the key prefixes to restrict the translations to (may be null)
+     * @return a Response containing the translations by locale as JSON, 400 Bad Request for missing or invalid locales
+     */
+    @Path("/batch")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get available translations for several locales.")
+    public Response translateAll(@Parameter(description = "Locales containing the ISO-639 language code and optional an ISO-3166 country code. Possible values are 'de' or 'de_DE'.", example = "en", required = true) @QueryParam("locale") List<String> locales,
+                                 @Parameter(description = "ETag of a previously received response.") @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                                 @Parameter(description = "Key prefixes to restrict the translations to, e.g. 'checkout.'.") @QueryParam("prefix") List<String> prefixes) {
+        if (!isValid(locales)) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        final Set<String> requested = new LinkedHashSet<>(locales);
+        Response response;
+        try {
+            final Map<String, TranslationBundle> bundles = getBundles(requested, KeyPrefixes.of(prefixes));
+            final Map<String, Map<String, String>> labels = new LinkedHashMap<>();
+            bundles.forEach((locale, bundle) -> labels.put(locale, bundle.getLabels()));
+            final String etag = getEtag(bundles);
+            if (TranslationBundle.matches(ifNoneMatch, etag)) {
+                response = Response.notModified(new EntityTag(etag)).build();
+            } else {
+                response = Response.ok().entity(labels).tag(new EntityTag(etag)).build();
+            }
+        } catch (RepositoryException e) {
+            LOGGER.error("Error getting translation labels of locales {}.", requested, e);
+            response = Response.serverError().build();
+        }
+
+        if (_keyUsageTracker != null) {
+            _keyUsageTracker.recordBundleRequest();
+        }
+        return response;
+    }
+
+    /**
+     * Retrieves the content hashes of the current translation bundles as JSON object keyed by locale. Without
+     * locales, the locales of the site configuration are listed. The hash of a locale addresses its immutable bundle
+     * resource /i18n/v1/bundle/{locale}.{hash}.json. The manifest itself must be revalidated on every use, which is
+     * cheap with its ETag.
+     *
+     * @param locales the locale strings in ISO format (e.g., "de" or "de_DE", may be null)
+     * @param ifNoneMatch the entity tags of the client copy (may be null)
+     * @return a Response containing the bundle hashes by locale as JSON, 400 Bad Request for malformed or no locales
+     */
+    @Path("/manifest")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the content hashes of the current translation bundles.")
+    public Response manifest(@Parameter(description = "Locales containing the ISO-639 language code and optional an ISO-3166 country code, the site locales by default.", example = "en") @QueryParam("locale") List<String> locales,
+                             @Parameter(description = "ETag of a previously received response.") @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        final Set<String> requested = new LinkedHashSet<>();
+        if (locales != null && !locales.isEmpty()) {
+            requested.addAll(locales);
+        } else if (_i18nContentSupport != null) {
+            _i18nContentSupport.getLocales().stream().map(Locale::toString).filter(locale -> LOCALE.matcher(locale).matches()).forEach(requested::add);
+        }
+        if (!isValid(requested)) {
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+
+        Response response;
+        try {
+            final Map<String, TranslationBundle> bundles = getBundles(requested, KeyPrefixes.NONE);
+            final Map<String, String> hashes = new LinkedHashMap<>();
+            bundles.forEach((locale, bundle) -> hashes.put(locale, bundle.getEtag()));
+            final String etag = getEtag(bundles);
+            if (TranslationBundle.matches(ifNoneMatch, etag)) {
+                response = Response.notModified(new EntityTag(etag)).header(HttpHeaders.CACHE_CONTROL, CACHE_REVALIDATE).build();
+            } else {
+                response = Response.ok().entity(hashes).tag(new EntityTag(etag)).header(HttpHeaders.CACHE_CONTROL, CACHE_REVALIDATE).build();
+            }
+        } catch (RepositoryException e) {
+            LOGGER.error("Error getting translation bundle manifest of locales {}.", requested, e);
+            response = Response.serverError().build();
+        }
+        return response;
+    }
+
+    /**
+     * Retrieves the translation bundle of the locale addressed by its content hash. The payload never changes for
+     * a hash, so it is served from the precomputed bytes of the bundle with a far-future immutable cache lifetime.
+     * Hashes of outdated bundles are answered with 404 Not Found, clients have to read the manifest again.
+     *
+     * @param locale the locale string in ISO format (e.g., "de" or "de_DE")
+     * @param hash the content hash from the manifest
+     * @param acceptEncoding the content encodings accepted by the client (may be null)
+     * @return a Response containing the translation key-value pairs as JSON
+     */
+    @Path("/bundle/{locale:[a-z]{2}(_[A-Z]{2})?}.{hash:[0-9a-f]{32}}.json")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the immutable translation bundle of a locale by content hash.")
+    public Response bundle(@Parameter(description = "A locale containing the ISO-639 language code and optional an ISO-3166 country code. Possible values are 'de' or 'de_DE'.", example = "en", required = true) @PathParam("locale") String locale,
+                           @Parameter(description = "The content hash of the bundle from the manifest.", required = true) @PathParam("hash") String hash,
+                           @Parameter(hidden = true) @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        Response response;
+        try {
+            final TranslationBundle bundle = _bundleCache != null ? _bundleCache.get(locale, this::readLabels) : new TranslationBundle(readLabels(locale));
+            if (!bundle.getEtag().equals(hash)) {
+                response = Response.status(Response.Status.NOT_FOUND).header(HttpHeaders.CACHE_CONTROL, CACHE_NONE).build();
+            } else {
+                response = respondWithPayload(hash, null, acceptEncoding, bundle::getJson, bundle::getGzip).header(HttpHeaders.CACHE_CONTROL, CACHE_IMMUTABLE).build();
+            }
+        } catch (RepositoryException e) {
+            LOGGER.error("Error getting translation labels.", e);
+            response = Response.serverError().header(HttpHeaders.CACHE_CONTROL, CACHE_NONE).build();
+        }
+
+        if (_keyUsageTracker != null) {
+            _keyUsageTracker.recordBundleRequest();
+        }
+        return response;
+    }
+
+    /**
+     * Opens a server-sent event stream of translation changes. Each {@code change} event carries the key, locale and
+     * value of a changed translation as JSON, {@code delete} events the key of a removed translation. On a
+     * {@code reset} event clients read the whole bundle again. Reconnecting clients get the events missed since the
+     * Last-Event-ID from the replay buffer. With locales, only the changes of the translation properties used for
+     * these locales including their fallbacks are sent.
+     *
+     * @param locales the locale strings in ISO format to send the changes for, all locales if empty (may be null)
+     * @param prefixes the key prefixes to send the changes for (may be null)
+     * @param lastEventId the id of the last event received before reconnecting (may be null)
+     * @param sink the event stream of the client
+     * @param sse the factory for the events
+     */
+    @Path("/changes/stream")
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(summary = "Stream the translation changes as server-sent events.")
+    public void streamChanges(@Parameter(description = "Locales containing the ISO-639 language code and optional an ISO-3166 country code, all locales by default.", example = "en") @QueryParam("locale") List<String> locales,
+                              @Parameter(description = "Key prefixes to restrict the changes to, e.g. 'checkout.'.") @QueryParam("prefix") List<String> prefixes,
+                              @Parameter(hidden = true) @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventId,
+                              @Context SseEventSink sink, @Context Sse sse) {
+        if (_changeBroadcaster == null || locales != null && !locales.isEmpty() && !isValid(locales)) {
+            sink.close();
+            return;
+        }
+        final Set<String> eventLocales = new LinkedHashSet<>();
+        if (locales != null) {
+            locales.forEach(locale -> {
+                for (String propertyName : getPropertyNames(locale)) {
+                    eventLocales.add(substringAfter(propertyName, TranslationNodeTypes.Translation.PREFIX_NAME));
+                }
+            });
+        }
+        final KeyPrefixes keyPrefixes = KeyPrefixes.of(prefixes);
+        final Predicate<TranslationChangeBroadcaster.ChangeEvent> filter = event -> keyPrefixes.matches(event.getKey())
+            && (eventLocales.isEmpty() || event.getLocale() == null || eventLocales.contains(event.getLocale()));
+        _changeBroadcaster.subscribe(new TranslationChangeBroadcaster.Subscriber() {
+            @Override
+            public CompletionStage<?> send(TranslationChangeBroadcaster.ChangeEvent event) {
+                return sink.send(sse.newEventBuilder().id(String.valueOf(event.getId())).name(event.getName())
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE).data(toJson(event)).build());
+            }
+
+            @Override
+            public CompletionStage<?> sendHeartbeat() {
+                return sink.send(sse.newEventBuilder().comment(HEARTBEAT_COMMENT).build());
+            }
+
+            @Override
+            public boolean isClosed() {
+                return sink.isClosed();
+            }
+        }, lastEventId, filter);
+    }
+
+    /**
+     * Creates the data of a change event, a JSON object with key, locale and value as far as present.
+     *
+     * @param event the change event
+     * @return the JSON object
+     */
+    static String toJson(TranslationChangeBroadcaster.ChangeEvent event) {
+        final StringWriter data = new StringWriter();
+        try {
+            final JsonBundleWriter json = new JsonBundleWriter(data);
+            if (event.getKey() != null) {
+                json.entry("key", event.getKey());
+            }
+            if (event.getLocale() != null) {
+                json.entry("locale", event.getLocale());
+                json.entry("value", event.getValue());
+            }
+            json.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return data.toString();
+    }
+
+    /**
+     * Retrieves the translations of the locale changed since the given version. The response is a JSON object with
+     * the new {@code version} to send next time, the {@code changed} translations as key-value pairs and the
+     * {@code deleted} keys. If the version is missing or older than the deletion log, {@code full} is true and
+     * {@code changed} contains all translations.
+     * The version is a timestamp. It is set back by {@link #VERSION_OVERLAP} to cover saves in progress, so
+     * translations may be reported as changed more than once.
+     *
+     * @param locale the locale string in ISO format (e.g., "de" or "de_DE")
+     * @param since the version returned by the previous call (may be null)
+     * @return a Response containing the changes as JSON
+     */
+    @Path("/{locale:[a-z]{2}(_[A-Z]{2})?}/changes")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the translations of a locale changed since a version.")
+    public Response translateChanges(@Parameter(description = "A locale containing the ISO-639 language code and optional an ISO-3166 country code. Possible values are 'de' or 'de_DE'.", example = "en", required = true) @PathParam("locale") String locale,
+                                     @Parameter(description = "The version of a previous response.") @QueryParam("since") Long since,
+                                     @Parameter(description = "Key prefixes to restrict the translations to, e.g. 'checkout.'.") @QueryParam("prefix") List<String> prefixes) {
+        final KeyPrefixes keyPrefixes = KeyPrefixes.of(prefixes);
+        final long version = System.currentTimeMillis() - VERSION_OVERLAP;
+        final Set<String> deleted = since != null && _deletionLog != null ? _deletionLog.getDeletedSince(since) : null;
+        final Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("version", version);
+        try {
+            if (deleted == null) {
+                changes.put("full", true);
+                changes.put("changed", keyPrefixes.filter(_bundleCache != null ? _bundleCache.get(locale, this::readLabels).getLabels() : readLabels(locale)));
+                changes.put("deleted", Set.of());
+            } else {
+                final Map<String, String> changed = keyPrefixes.filter(readChangedLabels(locale, since));
+                deleted.removeAll(changed.keySet());
+                deleted.removeIf(key -> !keyPrefixes.matches(key));
+                changes.put("full", false);
+                changes.put("changed", changed);
+                changes.put("deleted", deleted);
+            }
+        } catch (RepositoryException e) {
+            LOGGER.error("Error getting changed translation labels.", e);
+            return Response.serverError().build();
+        }
+
+        if (_keyUsageTracker != null) {
+            _keyUsageTracker.recordBundleRequest();
+        }
+        return Response.ok().entity(changes).build();
+    }
+
+    /**
+     * Reads the translations of the nodes modified or published after the given time.
+     *
+     * @param locale the locale string in ISO format (e.g., "de" or "de_DE")
+     * @param since the time in milliseconds
+     * @return the changed translations sorted by key
+     * @throws RepositoryException if the translation workspace could not be queried
+     */
+    Map<String, String> readChangedLabels(String locale, long since) throws RepositoryException {
+        final String statement = String.format(CHANGED_TRANSLATIONS_QUERY, JCR_DATE.format(Instant.ofEpochMilli(since)));
+        return MgnlContext.doInSystemContext(() -> {
+            final Map<String, String> keyValues = new TreeMap<>();
+            final String[] propertyNames = getPropertyNames(locale);
+            final NodeIterator nodes = QueryUtil.search(WS_TRANSLATION, statement);
+            while (nodes.hasNext()) {
+                final Node node = nodes.nextNode();
+                final String key = getString(node, TranslationNodeTypes.Translation.PN_KEY);
+                if (key != null) {
+                    keyValues.put(key, TranslationNodeTypes.Translation.retrieveValue(node, propertyNames));
+                }
+            }
+            return keyValues;
+        });
+    }
+
+    private static boolean isValid(Collection<String> locales) {
+        return locales != null && !locales.isEmpty() && locales.stream().allMatch(locale -> locale != null && LOCALE.matcher(locale).matches());
+    }
+
+    /**
+     * Returns the bundles of the locales, reading the locales missing in the cache in one traversal.
+     */
+    private Map<String, TranslationBundle> getBundles(Set<String> locales, KeyPrefixes prefixes) throws RepositoryException {
+        final Map<String, TranslationBundle> bundles = new LinkedHashMap<>();
+        if (_bundleCache != null) {
+            _bundleCache.getAll(locales, this::readLabels).forEach((locale, bundle) -> bundles.put(locale, bundle.filter(prefixes)));
+        } else {
+            readLabels(locales).forEach((locale, labels) -> bundles.put(locale, new TranslationBundle(labels).filter(prefixes)));
+        }
+        return bundles;
+    }
+
+    /**
+     * Combines the entity tags of several bundles, independent of the order of the locales.
+     */
+    private static String getEtag(Map<String, TranslationBundle> bundles) {
+        final SortedMap<String, String> versions = new TreeMap<>();
+        bundles.forEach((locale, bundle) -> versions.put(locale, bundle.getEtag()));
+        return TranslationBundle.hash(versions);
+    }
+
+    /**
+     * Returns the query of the streaming mode, which reads the translation nodes ordered by key.
+     *
+     * @param prefixes the key prefixes to restrict the translations to
+     * @return the JCR-SQL2 statement
+     */
+    public static String getSortedTranslationsQuery(KeyPrefixes prefixes) {
+        return String.format(SORTED_TRANSLATIONS_QUERY, prefixes.isEmpty() ? "" : " and " + prefixes.toCondition("t.[" + TranslationNodeTypes.Translation.PN_KEY + "]"));
+    }
+
+    private String[] getPropertyNames(String locale) {
+        final Locale asLocale = new Locale(substringBefore(locale, "_"), substringAfter(locale, "_"));
+        return _fallbackChains != null ? _fallbackChains.getPropertyNames(asLocale) : TranslationNodeTypes.Translation.LOCALE_TO_PROPERTY_NAMES.apply(asLocale);
+    }
+
+    private Response respondWithBundle(String locale, KeyPrefixes prefixes, String ifNoneMatch, String acceptEncoding) {
+        Response response;
+        try {
+            final TranslationBundle bundle = (_bundleCache != null ? _bundleCache.get(locale, this::readLabels) : new TranslationBundle(readLabels(locale))).filter(prefixes);
+            response = respondWithPayload(bundle.getEtag(), ifNoneMatch, acceptEncoding, bundle::getJson, bundle::getGzip).build();
+        } catch (RepositoryException e) {
+            LOGGER.error("Error getting translation labels.", e);
+            response = Response.ok().entity(new TreeMap<>()).build();
+        }
+        return response;
+    }
+
+    private Response respondWithAst(String locale, KeyPrefixes prefixes, String ifNoneMatch, String acceptEncoding) {
+        Response response;
+        try {
+            final TranslationBundle bundle = (_bundleCache != null ? _bundleCache.get(locale, this::readLabels) : new TranslationBundle(readLabels(locale))).filter(prefixes);
+            // a different representation of the same content needs its own entity tag
+            response = respondWithPayload(bundle.getEtag() + AST_ETAG_SUFFIX, ifNoneMatch, acceptEncoding, bundle::getAst, bundle::getAstGzip).build();
+        } catch (RepositoryException e) {
+            LOGGER.error("Error getting translation labels.", e);
+            response = Response.serverError().build();
+        }
+        return response;
+    }
 
-                nodes.forEach(n -> keyValues.put(getString(n, TranslationNodeTypes.Translation.PN_KEY), TranslationNodeTypes.Translation.retrieveValue(n, propertyNames)));
+    /**
+     * Selects the gzip or identity encoding of a precomputed payload and answers matching conditional requests with
+     * 304 Not Modified. The encodings are different byte sequences, so each one has its own strong entity tag.
+     *
+     * @param etag the entity tag of the identity encoding, without quotes
+     * @param ifNoneMatch the entity tags of the client copy (may be null)
+     * @param acceptEncoding the content encodings accepted by the client (may be null)
+     * @param identity the uncompressed payload
+     * @param gzip the gzip compressed payload
+     * @return the response builder, varying by Accept-Encoding
+     */
+    private static Response.ResponseBuilder respondWithPayload(String etag, String ifNoneMatch, String acceptEncoding, Supplier<byte[]> identity, Supplier<byte[]> gzip) {
+        final boolean compressed = acceptsGzip(acceptEncoding);
+        final EntityTag entityTag = new EntityTag(compressed ? etag + GZIP_ETAG_SUFFIX : etag);
+        final Response.ResponseBuilder builder;
+        if (TranslationBundle.matches(ifNoneMatch, entityTag.getValue())) {
+            builder = Response.notModified(entityTag);
+        } else if (compressed) {
+            builder = Response.ok(gzip.get(), MediaType.APPLICATION_JSON_TYPE.withCharset(UTF_8.name())).encoding(GZIP).tag(entityTag);
+        } else {
+            builder = Response.ok(identity.get(), MediaType.APPLICATION_JSON_TYPE.withCharset(UTF_8.name())).tag(entityTag);
+        }
+        return builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private boolean isStreaming() {
+        final TranslationModule module = _moduleProvider != null ? _moduleProvider.get() : null;
+        return module != null && module.isStreamBundles();
+    }
+
+    /**
+     * Creates the streaming response body, which writes the translations of the locale while iterating the
+     * translation nodes ordered by key. Duplicate keys are written once, with the value of the last node as in the
+     * cached bundle. The order by key is served by the ordered Lucene key index of
+     * {@link de.ibmix.magkit.tools.t9n.setup.InstallTranslationKeyIndexTask}, which is asynchronous, so that nodes
+     * saved a few seconds ago may be missing.
+     *
+     * @param locale the locale string in ISO format (e.g., "de" or "de_DE")
+     * @param prefixes the key prefixes to restrict the translations to
+     * @return the response body
+     */
+    StreamingOutput streamLabels(String locale, KeyPrefixes prefixes) {
+        return out -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+            try {
+                MgnlContext.doInSystemContext(() -> {
+                    writeLabels(locale, prefixes, writer);
+                    return null;
+                });
             } catch (RepositoryException e) {
-                LOGGER.error("Error getting translation labels.", e);
+                // the response is already committed, abort it
+                throw new IOException("Error streaming translation labels.", e);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private void writeLabels(String locale, KeyPrefixes prefixes, Writer writer) throws RepositoryException {
+        final String[] propertyNames = getPropertyNames(locale);
+        try {
+            final JsonBundleWriter json = new JsonBundleWriter(writer);
+            final NodeIterator nodes = QueryUtil.search(WS_TRANSLATION, getSortedTranslationsQuery(prefixes));
+            String pendingKey = null;
+            String pendingValue = null;
+            while (nodes.hasNext()) {
+                final Node node = nodes.nextNode();
+                final String key = getString(node, TranslationNodeTypes.Translation.PN_KEY);
+                if (key != null) {
+                    // like the cached bundle, the last node of a duplicate key wins
+                    if (pendingKey != null && !key.equals(pendingKey)) {
+                        json.entry(pendingKey, pendingValue);
+                    }
+                    pendingKey = key;
+                    pendingValue = TranslationNodeTypes.Translation.retrieveValue(node, propertyNames);
+                }
+            }
+            if (pendingKey != null) {
+                json.entry(pendingKey, pendingValue);
+            }
+            json.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the translations of all translation nodes for the locale.
+     *
+     * @param locale the locale string in ISO format (e.g., "de" or "de_DE")
+     * @return the translations sorted by key
+     * @throws RepositoryException if the translation workspace could not be read
+     */
+    Map<String, String> readLabels(String locale) throws RepositoryException {
+        return readLabels(List.of(locale)).get(locale);
+    }
+
+    /**
+     * Reads the translations of several locales in one traversal of the translation nodes.
+     *
+     * @param locales the locale strings in ISO format (e.g., "de" or "de_DE")
+     * @return the translations sorted by key, by locale in the order of the given locales
+     * @throws RepositoryException if the translation workspace could not be read
+     */
+    Map<String, Map<String, String>> readLabels(Collection<String> locales) throws RepositoryException {
+        return MgnlContext.doInSystemContext(() -> {
+            final Map<String, String[]> propertyNames = new LinkedHashMap<>();
+            final Map<String, Map<String, String>> keyValues = new LinkedHashMap<>();
+            for (String locale : locales) {
+                propertyNames.put(locale, getPropertyNames(locale));
+                keyValues.put(locale, new TreeMap<>());
             }
+            final var jcrSession = MgnlContext.getJCRSession(WS_TRANSLATION);
+            final var rootNode = jcrSession.getRootNode();
+            final var nodes = NodeUtil.asList(NodeUtil.getNodes(rootNode, new NodeTypePredicate(TranslationNodeTypes.Translation.NAME)));
+
+            nodes.forEach(n -> {
+                final String key = getString(n, TranslationNodeTypes.Translation.PN_KEY);
+                propertyNames.forEach((locale, names) -> keyValues.get(locale).put(key, TranslationNodeTypes.Translation.retrieveValue(n, names)));
+            });
             return keyValues;
         });
+    }
 
-        return Response.ok().entity(labels).build();
+    /**
+     * Checks whether the Accept-Encoding header allows gzip, i.e. names gzip or "*" without a quality of zero.
+     *
+     * @param acceptEncoding the header value (may be null)
+     * @return true if the response may be gzip encoded
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        Boolean gzip = null;
+        Boolean wildcard = null;
+        if (acceptEncoding != null) {
+            for (String coding : acceptEncoding.split(",")) {
+                final String name = substringBefore(coding, ";").trim();
+                final boolean accepted = !QUALITY_ZERO.matcher(coding).find();
+                if (GZIP.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                    gzip = accepted;
+                } else if ("*".equals(name)) {
+                    wildcard = accepted;
+                }
+            }
+        }
+        // an explicitly named gzip coding takes precedence over the wildcard
+        return gzip != null ? gzip : Boolean.TRUE.equals(wildcard);
     }
 }
@@ -0,0 +1,143 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Minimal JSON serialization of translation bundles.
+ * <p><strong>Purpose:</strong></p>
+ * Writes the flat key-value object returned by the {@link I18nEndpoint} without an object mapper, so that bundles
+ * can be serialized once and served as bytes, or streamed entry by entry to the response.
+ * <p><strong>Thread Safety:</strong></p>
+ * The static methods are thread-safe. Instances write one object to one writer and must not be shared.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public final class JsonBundleWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer _out;
+    private boolean _empty = true;
+
+    /**
+     * Starts a JSON object on the writer.
+     *
+     * @param out the target writer
+     * @throws IOException if writing failed
+     */
+    public JsonBundleWriter(Writer out) throws IOException {
+        _out = out;
+        _out.write('{');
+    }
+
+    /**
+     * Writes one member of the object.
+     *
+     * @param key   the translation key
+     * @param value the translation, null is written as JSON null
+     * @throws IOException if writing failed
+     */
+    public void entry(String key, String value) throws IOException {
+        if (!_empty) {
+            _out.write(',');
+        }
+        writeString(key, _out);
+        _out.write(':');
+        writeString(value, _out);
+        _empty = false;
+    }
+
+    /**
+     * Ends the object. The writer is neither flushed nor closed.
+     *
+     * @throws IOException if writing failed
+     */
+    public void end() throws IOException {
+        _out.write('}');
+    }
+
+    /**
+     * Writes the labels as one JSON object in iteration order of the map.
+     *
+     * @param labels the translations by key, null values are written as JSON null
+     * @param out    the target writer
+     * @throws IOException if writing failed
+     */
+    public static void write(Map<String, String> labels, Writer out) throws IOException {
+        final JsonBundleWriter writer = new JsonBundleWriter(out);
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            writer.entry(label.getKey(), label.getValue());
+        }
+        writer.end();
+    }
+
+    /**
+     * Writes a JSON string literal, escaping quotes, backslashes and control characters.
+     *
+     * @param value the string value, null is written as JSON null
+     * @param out   the target writer
+     * @throws IOException if writing failed
+     */
+    public static void writeString(String value, Writer out) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+                        // line separators are valid JSON, but break JavaScript parsers of older clients
+                        out.write("\\u");
+                        out.write(HEX[c >> 12 & 0xF]);
+                        out.write(HEX[c >> 8 & 0xF]);
+                        out.write(HEX[c >> 4 & 0xF]);
+                        out.write(HEX[c & 0xF]);
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
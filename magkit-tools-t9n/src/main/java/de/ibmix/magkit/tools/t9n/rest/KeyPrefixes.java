@@ -0,0 +1,163 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Normalized set of translation key prefixes requested from the {@link I18nEndpoint}.
+ * <p><strong>Purpose:</strong></p>
+ * Restricts bundles to the namespaces of a client, e.g. {@code checkout.}, by range scans on the sorted keys
+ * instead of testing every key.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Sorted, without duplicates and without prefixes covered by a shorter one, so that equal requests are equal
+ * keys of the filtered bundle cache</li>
+ * <li>One sub map view per prefix of a navigable map</li>
+ * <li>JCR-SQL2 like conditions for queries</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * Instances are immutable.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public final class KeyPrefixes {
+    public static final KeyPrefixes NONE = new KeyPrefixes(Collections.emptyList());
+
+    private final List<String> _prefixes;
+
+    private KeyPrefixes(List<String> prefixes) {
+        _prefixes = prefixes;
+    }
+
+    /**
+     * Normalizes the given prefixes. Empty prefixes match all keys.
+     *
+     * @param prefixes the requested prefixes (may be null)
+     * @return the prefixes, {@link #NONE} if all keys match
+     */
+    public static KeyPrefixes of(Collection<String> prefixes) {
+        KeyPrefixes result = NONE;
+        if (prefixes != null && !prefixes.isEmpty() && prefixes.stream().allMatch(StringUtils::isNotEmpty)) {
+            final List<String> normalized = new ArrayList<>();
+            for (String prefix : new TreeSet<>(prefixes)) {
+                // sorted order puts a prefix right before the prefixes it covers
+                if (normalized.isEmpty() || !prefix.startsWith(normalized.get(normalized.size() - 1))) {
+                    normalized.add(prefix);
+                }
+            }
+            result = new KeyPrefixes(Collections.unmodifiableList(normalized));
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return _prefixes.isEmpty();
+    }
+
+    public List<String> getPrefixes() {
+        return _prefixes;
+    }
+
+    /**
+     * Checks whether the key starts with one of the prefixes.
+     *
+     * @param key the translation key
+     * @return true if the key matches or no prefixes are given
+     */
+    public boolean matches(String key) {
+        boolean matches = isEmpty();
+        for (int i = 0; !matches && i < _prefixes.size(); i++) {
+            matches = key.startsWith(_prefixes.get(i));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the entries of the map with matching keys, collected by one range scan per prefix.
+     *
+     * @param labels the translations sorted by key
+     * @return the matching translations sorted by key
+     */
+    public NavigableMap<String, String> filter(NavigableMap<String, String> labels) {
+        NavigableMap<String, String> filtered = labels;
+        if (!isEmpty()) {
+            filtered = new TreeMap<>();
+            for (String prefix : _prefixes) {
+                filtered.putAll(labels.subMap(prefix, true, prefix + Character.MAX_VALUE, true));
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Returns the entries of the map with matching keys.
+     *
+     * @param labels the translations
+     * @return the matching translations sorted by key
+     */
+    public NavigableMap<String, String> filter(Map<String, String> labels) {
+        return filter(labels instanceof NavigableMap ? (NavigableMap<String, String>) labels : new TreeMap<>(labels));
+    }
+
+    /**
+     * Returns a JCR-SQL2 condition matching the keys with one of the prefixes.
+     *
+     * @param property the selector qualified property, e.g. {@code t.[key]}
+     * @return the condition in brackets, or an empty string if all keys match
+     */
+    public String toCondition(String property) {
+        final StringBuilder condition = new StringBuilder();
+        for (String prefix : _prefixes) {
+            condition.append(condition.length() == 0 ? "(" : " or ").append(property).append(" like '").append(escapeLike(prefix)).append("%'");
+        }
+        return condition.length() == 0 ? "" : condition.append(')').toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_").replace("'", "''");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof KeyPrefixes && _prefixes.equals(((KeyPrefixes) other)._prefixes);
+    }
+
+    @Override
+    public int hashCode() {
+        return _prefixes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return _prefixes.toString();
+    }
+}
@@ -0,0 +1,263 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.PreparedMessage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.ChoiceFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pre-parsed token structure of translation messages, the AST output format of the {@link I18nEndpoint}.
+ * <p><strong>Purpose:</strong></p>
+ * Moves the parsing of placeholder messages from the browser to the server, where it is done once per cached
+ * bundle. Clients only concatenate literal segments and formatted arguments.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Plain messages are passed through unchanged as string</li>
+ * <li>Placeholder messages, as detected by {@link PreparedMessage}, are parsed with the quoting rules of
+ * {@link java.text.MessageFormat} into an array of literal strings and argument objects. This includes messages whose
+ * only arguments are typed, choice or multi-digit arguments</li>
+ * <li>Argument objects carry the argument index and optionally the format type and style, e.g.
+ * {@code {"arg":0,"type":"number","style":"integer"}}</li>
+ * <li>Choice arguments carry their options as limit and message, where messages with arguments are parsed
+ * recursively. Infinite limits are written as the strings {@code "Infinity"} and {@code "-Infinity"}</li>
+ * <li>Invalid patterns are passed through unchanged</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This class is stateless and thread-safe.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public final class MessageAst {
+    static final String CHOICE = "choice";
+
+    private static final List<String> TYPES = List.of("number", "date", "time", CHOICE);
+    private static final List<String> STYLES = List.of("currency", "percent", "integer", "short", "medium", "long", "full");
+
+    private MessageAst() {
+    }
+
+    /**
+     * Returns the tokens of a translation.
+     *
+     * @param value the translation as stored in the workspace
+     * @return the unchanged value for plain messages, otherwise the list of literal strings and argument maps
+     */
+    public static Object toTokens(String value) {
+        Object tokens = value;
+        if (value != null) {
+            final PreparedMessage message = PreparedMessage.of(value, Locale.ROOT);
+            if (message.isPlaceholder()) {
+                try {
+                    tokens = parse(message.getText());
+                } catch (IllegalArgumentException e) {
+                    // not formattable on the server either, keep the text
+                    tokens = value;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Parses a {@link java.text.MessageFormat} pattern.
+     *
+     * @param pattern the message pattern
+     * @return the literal strings and argument maps in order
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static List<Object> parse(String pattern) {
+        final List<Object> tokens = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        boolean inQuote = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            final char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append(ch);
+                    i++;
+                } else {
+                    inQuote = !inQuote;
+                }
+                i++;
+            } else if (ch == '{' && !inQuote) {
+                if (literal.length() > 0) {
+                    tokens.add(literal.toString());
+                    literal.setLength(0);
+                }
+                final String[] segments = new String[3];
+                i = readArgument(pattern, i + 1, segments);
+                tokens.add(toArgument(segments));
+            } else {
+                literal.append(ch);
+                i++;
+            }
+        }
+        if (literal.length() > 0) {
+            tokens.add(literal.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Reads the index, type and style of an argument, copying quotes and nested braces of the style.
+     *
+     * @return the position after the closing brace
+     */
+    private static int readArgument(String pattern, int start, String[] segments) {
+        final StringBuilder segment = new StringBuilder();
+        int part = 0;
+        int braces = 0;
+        boolean inQuote = false;
+        for (int i = start; i < pattern.length(); i++) {
+            final char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                inQuote = !inQuote;
+                segment.append(ch);
+            } else if (inQuote) {
+                segment.append(ch);
+            } else if (ch == ',' && part < 2) {
+                segments[part++] = segment.toString();
+                segment.setLength(0);
+            } else if (ch == '{') {
+                braces++;
+                segment.append(ch);
+            } else if (ch == '}' && braces > 0) {
+                braces--;
+                segment.append(ch);
+            } else if (ch == '}') {
+                segments[part] = segment.toString();
+                return i + 1;
+            } else {
+                segment.append(ch);
+            }
+        }
+        throw new IllegalArgumentException("Unmatched braces in the pattern.");
+    }
+
+    private static Map<String, Object> toArgument(String[] segments) {
+        final Map<String, Object> argument = new LinkedHashMap<>();
+        try {
+            final int index = Integer.parseInt(segments[0]);
+            if (index < 0) {
+                throw new IllegalArgumentException("Negative argument index " + index + '.');
+            }
+            argument.put("arg", index);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid argument index " + segments[0] + '.', e);
+        }
+        final String type = segments[1] != null ? segments[1].trim().toLowerCase(Locale.ROOT) : "";
+        final String style = segments[2] != null ? segments[2] : "";
+        if (!type.isEmpty()) {
+            if (!TYPES.contains(type)) {
+                throw new IllegalArgumentException("Unknown format type " + type + '.');
+            }
+            argument.put("type", type);
+            if (CHOICE.equals(type)) {
+                argument.put("options", toOptions(new ChoiceFormat(style)));
+            } else if (!style.trim().isEmpty()) {
+                // keywords as MessageFormat matches them, anything else is a number or date pattern
+                final String keyword = style.trim().toLowerCase(Locale.ROOT);
+                argument.put("style", STYLES.contains(keyword) ? keyword : style);
+            }
+        }
+        return argument;
+    }
+
+    private static List<Object> toOptions(ChoiceFormat choice) {
+        final double[] limits = choice.getLimits();
+        final Object[] messages = choice.getFormats();
+        final List<Object> options = new ArrayList<>(limits.length);
+        for (int i = 0; i < limits.length; i++) {
+            final Map<String, Object> option = new LinkedHashMap<>();
+            option.put("limit", Double.isInfinite(limits[i]) ? Double.toString(limits[i]) : limits[i]);
+            final String message = String.valueOf(messages[i]);
+            // like MessageFormat, results of a choice are formatted again only if they contain an argument
+            option.put("message", message.indexOf('{') >= 0 ? parse(message) : message);
+            options.add(option);
+        }
+        return Collections.unmodifiableList(options);
+    }
+
+    /**
+     * Writes the translations as JSON object, with the tokens of placeholder messages as arrays.
+     *
+     * @param labels the translations by key
+     * @param out the target, neither flushed nor closed
+     * @throws IOException if writing failed
+     */
+    public static void write(Map<String, String> labels, Writer out) throws IOException {
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            JsonBundleWriter.writeString(label.getKey(), out);
+            out.write(':');
+            writeValue(toTokens(label.getValue()), out);
+            first = false;
+        }
+        out.write('}');
+    }
+
+    private static void writeValue(Object value, Writer out) throws IOException {
+        if (value instanceof Map) {
+            out.write('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> member : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    out.write(',');
+                }
+                JsonBundleWriter.writeString(member.getKey().toString(), out);
+                out.write(':');
+                writeValue(member.getValue(), out);
+                first = false;
+            }
+            out.write('}');
+        } else if (value instanceof List) {
+            out.write('[');
+            boolean first = true;
+            for (Object element : (List<?>) value) {
+                if (!first) {
+                    out.write(',');
+                }
+                writeValue(element, out);
+                first = false;
+            }
+            out.write(']');
+        } else if (value instanceof Number) {
+            out.write(value.toString());
+        } else {
+            JsonBundleWriter.writeString((String) value, out);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * All translations of one locale as served by the {@link I18nEndpoint}.
+ * <p><strong>Purpose:</strong></p>
+ * Value held by the {@link TranslationBundleCache}, so that the translation tree is read once per locale and
+ * workspace change instead of once per request. The content hash of the translations is used as entity tag, so that
+ * clients can revalidate their copy with a conditional request. The JSON payload is encoded once on first request
+ * and its bytes are gzip compressed once, so that responses only copy bytes and both encodings carry the same
+ * content. The same holds for the pre-parsed {@link MessageAst} format. Bundles restricted to key prefixes are
+ * derived from the full bundle by range scans and cached with it.
+ * <p><strong>Thread Safety:</strong></p>
+ * Instances are immutable. Each payload is encoded at most once, concurrent first requests wait for it.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public final class TranslationBundle {
+    static final int MAX_FILTERED_BUNDLES = 64;
+
+    private final NavigableMap<String, String> _labels;
+    private final long _created;
+    private final String _etag;
+    private final Payload _json = new Payload(() -> encode(JsonBundleWriter::write));
+    private final Payload _gzip = new Payload(() -> compress(getJson()));
+    private final Payload _ast = new Payload(() -> encode(MessageAst::write));
+    private final Payload _astGzip = new Payload(() -> compress(getAst()));
+    private final Map<KeyPrefixes, TranslationBundle> _filtered = new ConcurrentHashMap<>();
+
+    /**
+     * Writes the translations in one of the output formats.
+     */
+    @FunctionalInterface
+    private interface Encoder {
+        void write(Map<String, String> labels, Writer out) throws IOException;
+    }
+
+    /**
+     * Payload encoded once on first access. Concurrent first callers wait for the encoding instead of repeating it.
+     */
+    private static final class Payload {
+        private final Supplier<byte[]> _encoder;
+        private volatile byte[] _bytes;
+
+        Payload(Supplier<byte[]> encoder) {
+            _encoder = encoder;
+        }
+
+        byte[] get() {
+            byte[] bytes = _bytes;
+            if (bytes == null) {
+                synchronized (this) {
+                    bytes = _bytes;
+                    if (bytes == null) {
+                        bytes = _encoder.get();
+                        _bytes = bytes;
+                    }
+                }
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Creates a bundle of the given labels.
+     *
+     * @param labels the translations by key
+     */
+    public TranslationBundle(Map<String, String> labels) {
+        _labels = Collections.unmodifiableNavigableMap(new TreeMap<>(labels));
+        _created = System.currentTimeMillis();
+        _etag = hash(_labels);
+    }
+
+    /**
+     * Computes a SHA-256 hash over the sorted keys and values, equal on all instances serving the same translations.
+     */
+    static String hash(SortedMap<String, String> labels) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, String> label : labels.entrySet()) {
+                update(digest, label.getKey());
+                update(digest, label.getValue());
+            }
+            // 128 bits are plenty to distinguish bundle versions
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(UTF_8));
+        }
+        // separator, so that shifted key and value boundaries produce different hashes
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Returns the translations sorted by key.
+     *
+     * @return unmodifiable map of translation key to value
+     */
+    public NavigableMap<String, String> getLabels() {
+        return _labels;
+    }
+
+    /**
+     * Returns the bundle restricted to the keys with the given prefixes. Up to {@value #MAX_FILTERED_BUNDLES} prefix
+     * combinations are kept with this bundle, further combinations are created per call.
+     *
+     * @param prefixes the requested key prefixes
+     * @return this bundle if no prefixes are given, otherwise the filtered bundle with its own entity tag
+     */
+    public TranslationBundle filter(KeyPrefixes prefixes) {
+        TranslationBundle filtered = this;
+        if (!prefixes.isEmpty()) {
+            filtered = _filtered.get(prefixes);
+            if (filtered == null) {
+                filtered = new TranslationBundle(prefixes.filter(_labels));
+                if (_filtered.size() < MAX_FILTERED_BUNDLES) {
+                    _filtered.putIfAbsent(prefixes, filtered);
+                }
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Returns the entity tag of the bundle, without quotes.
+     *
+     * @return the hex encoded content hash
+     */
+    public String getEtag() {
+        return _etag;
+    }
+
+    /**
+     * Checks whether the value of an If-None-Match header matches this bundle.
+     *
+     * @param ifNoneMatch the header value, a list of strong or weak entity tags or "*" (may be null)
+     * @return true if the client copy is up to date
+     */
+    public boolean matches(String ifNoneMatch) {
+        return matches(ifNoneMatch, _etag);
+    }
+
+    /**
+     * Checks whether the value of an If-None-Match header matches the entity tag.
+     *
+     * @param ifNoneMatch the header value, a list of strong or weak entity tags or "*" (may be null)
+     * @param etag the current entity tag, without quotes
+     * @return true if the client copy is up to date
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        boolean matches = false;
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if ("*".equals(candidate) || ('"' + etag + '"').equals(candidate)) {
+                    matches = true;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the UTF-8 encoded JSON object of the translations, created on first access.
+     *
+     * @return the payload, must not be modified
+     */
+    public byte[] getJson() {
+        return _json.get();
+    }
+
+    /**
+     * Returns the gzip compressed JSON object of the translations, created on first access from the bytes of
+     * {@link #getJson()}.
+     *
+     * @return the compressed payload, must not be modified
+     */
+    public byte[] getGzip() {
+        return _gzip.get();
+    }
+
+    /**
+     * Returns the UTF-8 encoded JSON object of the translations in the {@link MessageAst} format, created on first
+     * access.
+     *
+     * @return the payload, must not be modified
+     */
+    public byte[] getAst() {
+        return _ast.get();
+    }
+
+    /**
+     * Returns the gzip compressed JSON object of the translations in the {@link MessageAst} format, created on first
+     * access from the bytes of {@link #getAst()}.
+     *
+     * @return the compressed payload, must not be modified
+     */
+    public byte[] getAstGzip() {
+        return _astGzip.get();
+    }
+
+    private byte[] encode(Encoder encoder) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(bytes, UTF_8)) {
+            encoder.write(_labels, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] compress(byte[] payload) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the time the bundle was read from the workspace.
+     *
+     * @return the creation time in milliseconds
+     */
+    public long getCreated() {
+        return _created;
+    }
+}
@@ -0,0 +1,227 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.index.TranslationWorkspaceObserver;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.jcr.RepositoryException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Per-locale cache of the translation bundles served by the {@link I18nEndpoint}.
+ * <p><strong>Purpose:</strong></p>
+ * Protects the repository from concurrent identical bundle requests, e.g. after a CDN cache expired. Each bundle
+ * is read once and served from memory until the translation workspace changes.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Single-flight loading: concurrent misses for the same locale wait for one read of the workspace</li>
+ * <li>Batch loading: the misses of several locales requested together are read in one pass</li>
+ * <li>Failed reads are not cached, the next request reads again</li>
+ * <li>All bundles are dropped on any change of the translation workspace reported by the
+ * {@link TranslationWorkspaceObserver}, including bundles being read at that time</li>
+ * <li>Hit and miss counters</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class TranslationBundleCache {
+
+    private final TranslationWorkspaceObserver _observer;
+    private final Map<String, CompletableFuture<TranslationBundle>> _bundles = new ConcurrentHashMap<>();
+    private final Consumer<Set<String>> _invalidation = paths -> invalidate();
+    private final LongAdder _hits = new LongAdder();
+    private final LongAdder _misses = new LongAdder();
+    private volatile boolean _observing;
+
+    /**
+     * Reads the translations of a locale from the workspace.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Map<String, String> load(String locale) throws RepositoryException;
+    }
+
+    /**
+     * Reads the translations of several locales from the workspace in one pass.
+     */
+    @FunctionalInterface
+    public interface BatchLoader {
+        Map<String, Map<String, String>> load(Collection<String> locales) throws RepositoryException;
+    }
+
+    /**
+     * Creates the bundle cache.
+     *
+     * @param observer the shared observation of the translation workspace
+     */
+    @Inject
+    public TranslationBundleCache(TranslationWorkspaceObserver observer) {
+        _observer = observer;
+    }
+
+    /**
+     * Returns the cached bundle of the locale or loads it. Concurrent callers for the same locale share one load.
+     *
+     * @param locale the requested locale
+     * @param loader reader of the translations, called by the first caller of a miss
+     * @return the translation bundle
+     * @throws RepositoryException if the shared load failed
+     */
+    public TranslationBundle get(String locale, Loader loader) throws RepositoryException {
+        observe();
+        CompletableFuture<TranslationBundle> bundle = _bundles.get(locale);
+        if (bundle == null) {
+            final CompletableFuture<TranslationBundle> created = new CompletableFuture<>();
+            bundle = _bundles.putIfAbsent(locale, created);
+            if (bundle == null) {
+                _misses.increment();
+                load(locale, loader, created);
+                bundle = created;
+            } else {
+                _hits.increment();
+            }
+        } else {
+            _hits.increment();
+        }
+        return await(bundle);
+    }
+
+    /**
+     * Returns the cached bundles of the locales and loads the missing ones with a single call of the loader.
+     * Locales being loaded by concurrent callers are awaited instead of loaded again.
+     *
+     * @param locales the requested locales
+     * @param loader reader of the translations of the locales missing in the cache
+     * @return the translation bundles by locale, in the order of the requested locales
+     * @throws RepositoryException if a load failed
+     */
+    public Map<String, TranslationBundle> getAll(Collection<String> locales, BatchLoader loader) throws RepositoryException {
+        observe();
+        final Map<String, CompletableFuture<TranslationBundle>> bundles = new LinkedHashMap<>();
+        final Map<String, CompletableFuture<TranslationBundle>> created = new LinkedHashMap<>();
+        for (String locale : locales) {
+            if (!bundles.containsKey(locale)) {
+                CompletableFuture<TranslationBundle> bundle = _bundles.get(locale);
+                if (bundle == null) {
+                    final CompletableFuture<TranslationBundle> pending = new CompletableFuture<>();
+                    bundle = _bundles.putIfAbsent(locale, pending);
+                    if (bundle == null) {
+                        created.put(locale, pending);
+                        bundle = pending;
+                    }
+                }
+                bundles.put(locale, bundle);
+            }
+        }
+        _misses.add(created.size());
+        _hits.add(bundles.size() - created.size());
+        if (!created.isEmpty()) {
+            loadAll(created, loader);
+        }
+
+        final Map<String, TranslationBundle> result = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<TranslationBundle>> bundle : bundles.entrySet()) {
+            result.put(bundle.getKey(), await(bundle.getValue()));
+        }
+        return result;
+    }
+
+    private void loadAll(Map<String, CompletableFuture<TranslationBundle>> bundles, BatchLoader loader) {
+        try {
+            final Map<String, Map<String, String>> labels = loader.load(bundles.keySet());
+            bundles.forEach((locale, bundle) -> bundle.complete(new TranslationBundle(labels.getOrDefault(locale, Map.of()))));
+        } catch (RepositoryException | RuntimeException e) {
+            bundles.forEach((locale, bundle) -> {
+                _bundles.remove(locale, bundle);
+                bundle.completeExceptionally(e);
+            });
+        }
+    }
+
+    private void load(String locale, Loader loader, CompletableFuture<TranslationBundle> bundle) {
+        try {
+            bundle.complete(new TranslationBundle(loader.load(locale)));
+        } catch (RepositoryException | RuntimeException e) {
+            _bundles.remove(locale, bundle);
+            bundle.completeExceptionally(e);
+        }
+    }
+
+    private static TranslationBundle await(CompletableFuture<TranslationBundle> bundle) throws RepositoryException {
+        try {
+            return bundle.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RepositoryException) {
+                throw (RepositoryException) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private void observe() {
+        if (!_observing) {
+            synchronized (this) {
+                if (!_observing) {
+                    _observer.addListener(_invalidation);
+                    _observing = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops all cached bundles.
+     */
+    public void invalidate() {
+        if (!_bundles.isEmpty()) {
+            LOGGER.debug("Translation workspace changed, dropping {} cached bundles.", _bundles.size());
+            _bundles.clear();
+        }
+    }
+
+    public long getHits() {
+        return _hits.sum();
+    }
+
+    public long getMisses() {
+        return _misses.sum();
+    }
+
+    public int size() {
+        return _bundles.size();
+    }
+}
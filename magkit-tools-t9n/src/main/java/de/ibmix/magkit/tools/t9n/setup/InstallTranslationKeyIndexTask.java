@@ -0,0 +1,106 @@
+package de.ibmix.magkit.tools.t9n.setup;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import info.magnolia.module.InstallContext;
+import info.magnolia.module.delta.AbstractRepositoryTask;
+
+import javax.jcr.Node;
+import javax.jcr.PropertyType;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+
+/**
+ * Install task that adds the indexes for the translation key to the translation workspace.
+ * <p><strong>Purpose:</strong></p>
+ * The translation service and {@link de.ibmix.magkit.tools.t9n.AddTranslationEntryTask} look up translation nodes
+ * by their key property, and the streaming translations endpoint reads the nodes ordered by key. This task makes sure
+ * these queries neither traverse the workspace nor sort the result in memory. Oak property indexes only answer
+ * restrictions, so the ordering needs a Lucene index with an ordered key property.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Creates a synchronous Oak property index on {@code key}, restricted to {@code mgnl:translation} nodes, so that
+ * lookups find nodes right after they were saved</li>
+ * <li>Creates an asynchronous Lucene index with an ordered {@code key} property for the queries ordered by key</li>
+ * <li>Leaves existing index definitions untouched</li>
+ * <li>Skips repositories without index definitions (Jackrabbit), where the search index covers all properties</li>
+ * </ul>
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class InstallTranslationKeyIndexTask extends AbstractRepositoryTask {
+    static final String INDEX_ROOT = "oak:index";
+    static final String INDEX_NAME = "mgnlTranslationKey";
+    static final String ORDER_INDEX_NAME = "mgnlTranslationKeyOrder";
+    static final String INDEX_NODE_TYPE = "oak:QueryIndexDefinition";
+    static final String RULES_NODE_TYPE = "nt:unstructured";
+
+    public InstallTranslationKeyIndexTask() {
+        super("Install translation key index", "Adds a property index and an ordered Lucene index for the key of " + NAME + " nodes.");
+    }
+
+    @Override
+    protected void doExecute(InstallContext installContext) throws RepositoryException {
+        final Session session = installContext.getJCRSession(WS_TRANSLATION);
+        final Node rootNode = session.getRootNode();
+        if (!rootNode.hasNode(INDEX_ROOT)) {
+            installContext.info("No " + INDEX_ROOT + " in workspace " + WS_TRANSLATION + ", the key property is covered by the search index.");
+        } else {
+            final Node indexRoot = rootNode.getNode(INDEX_ROOT);
+            if (indexRoot.hasNode(INDEX_NAME)) {
+                installContext.info("Index definition " + INDEX_NAME + " already exists, skip ...");
+            } else {
+                addPropertyIndex(indexRoot);
+            }
+            if (indexRoot.hasNode(ORDER_INDEX_NAME)) {
+                installContext.info("Index definition " + ORDER_INDEX_NAME + " already exists, skip ...");
+            } else {
+                addOrderIndex(indexRoot);
+            }
+        }
+    }
+
+    private void addPropertyIndex(Node indexRoot) throws RepositoryException {
+        final Node indexNode = indexRoot.addNode(INDEX_NAME, INDEX_NODE_TYPE);
+        indexNode.setProperty("type", "property");
+        indexNode.setProperty("propertyNames", new String[]{PN_KEY}, PropertyType.NAME);
+        indexNode.setProperty("declaringNodeTypes", new String[]{NAME}, PropertyType.NAME);
+        indexNode.setProperty("reindex", true);
+    }
+
+    private void addOrderIndex(Node indexRoot) throws RepositoryException {
+        final Node indexNode = indexRoot.addNode(ORDER_INDEX_NAME, INDEX_NODE_TYPE);
+        indexNode.setProperty("type", "lucene");
+        indexNode.setProperty("async", "async");
+        indexNode.setProperty("compatVersion", 2L);
+        indexNode.setProperty("evaluatePathRestrictions", true);
+        final Node keyNode = indexNode.addNode("indexRules", RULES_NODE_TYPE).addNode(NAME, RULES_NODE_TYPE)
+            .addNode("properties", RULES_NODE_TYPE).addNode(PN_KEY, RULES_NODE_TYPE);
+        keyNode.setProperty("name", PN_KEY);
+        keyNode.setProperty("propertyIndex", true);
+        keyNode.setProperty("ordered", true);
+    }
+}
@@ -20,12 +20,22 @@ package de.ibmix.magkit.tools.t9n.setup;
  * #L%
  */
 
+import de.ibmix.magkit.tools.t9n.csv.ImportCsvAction;
+import de.ibmix.magkit.tools.t9n.index.TranslationChangeBroadcaster;
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import de.ibmix.magkit.tools.t9n.index.TranslationWorkspaceObserver;
+import de.ibmix.magkit.tools.t9n.metrics.TranslationMetrics;
+import de.ibmix.magkit.tools.t9n.usage.KeyUsageTracker;
+import de.ibmix.magkit.tools.t9n.usage.MissingKeyCollector;
 import info.magnolia.module.ModuleLifecycle;
 import info.magnolia.module.ModuleLifecycleContext;
+import info.magnolia.objectfactory.Components;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.function.Consumer;
+
 /**
  * Module configuration and lifecycle management for the translation tools.
  * <p><strong>Purpose:</strong></p>
@@ -35,7 +45,17 @@ import lombok.extern.slf4j.Slf4j;
  * <p><strong>Key Features:</strong></p>
  * <ul>
  * <li>Configurable base path for translation organization</li>
- * <li>Module lifecycle management (start/stop hooks)</li>
+ * <li>Optional default locale used as last translation fallback (e.g. "en")</li>
+ * <li>Optional merge of the workspace translations into the message bundles ({@code mergeMessageBundles})</li>
+ * <li>Optional tracking of the requested translation keys ({@code trackKeyUsage})</li>
+ * <li>Optional creation of placeholder translations for missing keys ({@code captureMissingKeys})</li>
+ * <li>Optional background warm-up of the translation index on module start ({@code warmUpOnStart})</li>
+ * <li>Optional persistence of the translation index for fast restarts ({@code persistSnapshot})</li>
+ * <li>Optional streaming of the i18n REST responses instead of cached bundles ({@code streamBundles})</li>
+ * <li>Number of rows saved together by the CSV import ({@code importBatchSize}, default 1000)</li>
+ * <li>Module lifecycle management (start/stop hooks). Stopping the module flushes the key usage and the snapshot
+ * file, stops the background threads, unregisters the JCR observation and the metrics MBean. Starting the module
+ * again, e.g. after a configuration change, registers the observation and the MBean again</li>
  * <li>Integration with Magnolia's module system</li>
  * </ul>
  * <p><strong>Configuration:</strong></p>
@@ -51,25 +71,55 @@ import lombok.extern.slf4j.Slf4j;
 public class TranslationModule implements ModuleLifecycle {
 
     private String _basePath;
+    private String _defaultLocale;
+    private boolean _mergeMessageBundles;
+    private boolean _trackKeyUsage;
+    private boolean _captureMissingKeys;
+    private boolean _warmUpOnStart;
+    private boolean _persistSnapshot;
+    private boolean _streamBundles;
+    private int _importBatchSize = ImportCsvAction.DEFAULT_BATCH_SIZE;
 
     /**
-     * Called when the module is started during Magnolia initialization.
+     * Called when the module is started during Magnolia initialization or restarted after a configuration change.
      *
      * @param moduleLifecycleContext the lifecycle context
      */
     @Override
     public void start(ModuleLifecycleContext moduleLifecycleContext) {
         LOGGER.info("Start translation module ...");
+        apply(TranslationWorkspaceObserver.class, TranslationWorkspaceObserver::resume, "starting");
+        apply(TranslationMetrics.class, TranslationMetrics::register, "starting");
+        if (_warmUpOnStart) {
+            Components.getComponent(TranslationIndex.class).startWarmUp();
+        }
     }
 
     /**
-     * Called when the module is stopped during Magnolia shutdown.
+     * Called when the module is stopped during Magnolia shutdown or before a restart.
      *
      * @param moduleLifecycleContext the lifecycle context
      */
     @Override
     public void stop(ModuleLifecycleContext moduleLifecycleContext) {
         LOGGER.info("Stop translation module ...");
+        apply(TranslationChangeBroadcaster.class, TranslationChangeBroadcaster::stop, "stopping");
+        apply(MissingKeyCollector.class, MissingKeyCollector::stop, "stopping");
+        apply(KeyUsageTracker.class, KeyUsageTracker::stop, "stopping");
+        apply(TranslationIndex.class, TranslationIndex::stop, "stopping");
+        apply(TranslationWorkspaceObserver.class, TranslationWorkspaceObserver::unregister, "stopping");
+        apply(TranslationMetrics.class, TranslationMetrics::unregister, "stopping");
+    }
+
+    /**
+     * Starts or stops one component, errors are logged so that the remaining components are handled as well.
+     */
+    private static <T> void apply(Class<T> type, Consumer<T> action, String activity) {
+        try {
+            action.accept(Components.getComponent(type));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Error {} {}.", activity, type.getSimpleName(), e);
+        }
     }
 
 }
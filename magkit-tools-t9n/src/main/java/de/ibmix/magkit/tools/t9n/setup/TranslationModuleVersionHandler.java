@@ -0,0 +1,61 @@
+package de.ibmix.magkit.tools.t9n.setup;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import info.magnolia.module.DefaultModuleVersionHandler;
+import info.magnolia.module.InstallContext;
+import info.magnolia.module.delta.DeltaBuilder;
+import info.magnolia.module.delta.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Module version handler for the translation module.
+ * <p>
+ * Installs the property index for translation keys on install and on update to 1.2.1,
+ * and verifies on every startup that the key lookup uses it.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationModuleVersionHandler extends DefaultModuleVersionHandler {
+
+    public TranslationModuleVersionHandler() {
+        final DeltaBuilder update121 = DeltaBuilder.update("1.2.1", "Update tasks for Version 1.2.1");
+        update121.addTask(new InstallTranslationKeyIndexTask());
+        register(update121);
+    }
+
+    @Override
+    protected List<Task> getExtraInstallTasks(InstallContext installContext) {
+        final List<Task> tasks = new ArrayList<>(super.getExtraInstallTasks(installContext));
+        tasks.add(new InstallTranslationKeyIndexTask());
+        return tasks;
+    }
+
+    @Override
+    protected List<Task> getStartupTasks(InstallContext installContext) {
+        final List<Task> tasks = new ArrayList<>(super.getStartupTasks(installContext));
+        tasks.add(new VerifyTranslationKeyIndexTask());
+        return tasks;
+    }
+}
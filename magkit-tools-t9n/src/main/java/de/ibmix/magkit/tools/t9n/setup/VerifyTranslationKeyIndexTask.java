@@ -0,0 +1,95 @@
+package de.ibmix.magkit.tools.t9n.setup;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.rest.I18nEndpoint;
+import de.ibmix.magkit.tools.t9n.rest.KeyPrefixes;
+import info.magnolia.module.InstallContext;
+import info.magnolia.module.delta.AbstractRepositoryTask;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Strings;
+
+import javax.jcr.Repository;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.query.Query;
+import javax.jcr.query.RowIterator;
+
+import static de.ibmix.magkit.tools.t9n.MagnoliaTranslationServiceImpl.BASE_QUERY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static de.ibmix.magkit.tools.t9n.setup.InstallTranslationKeyIndexTask.INDEX_NAME;
+import static de.ibmix.magkit.tools.t9n.setup.InstallTranslationKeyIndexTask.ORDER_INDEX_NAME;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+
+/**
+ * Startup task that checks whether the translation key queries use the key indexes.
+ * <p><strong>Purpose:</strong></p>
+ * Explains the lookup query of the translation service and the query ordered by key of the streaming translations
+ * endpoint. Logs a warning with the query plan, if the lookup does not use the property index or the ordered query
+ * is not sorted by the Lucene index installed by {@link InstallTranslationKeyIndexTask}.
+ * Repositories without query plans (Jackrabbit) are not checked.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+public class VerifyTranslationKeyIndexTask extends AbstractRepositoryTask {
+    static final String EXPLAIN = "explain ";
+    static final String PLAN_COLUMN = "plan";
+    static final String ORDERING = "ordering:";
+    static final String LOOKUP_STATEMENT = BASE_QUERY + "'index.check'";
+    static final String ORDERED_STATEMENT = I18nEndpoint.getSortedTranslationsQuery(KeyPrefixes.NONE);
+
+    public VerifyTranslationKeyIndexTask() {
+        super("Verify translation key index", "Checks that translation key queries use the " + INDEX_NAME + " and " + ORDER_INDEX_NAME + " indexes.");
+    }
+
+    @Override
+    protected void doExecute(InstallContext installContext) throws RepositoryException {
+        final Session session = installContext.getJCRSession(WS_TRANSLATION);
+        if (isOak(session)) {
+            final String lookupPlan = explain(session, LOOKUP_STATEMENT);
+            if (Strings.CS.contains(lookupPlan, INDEX_NAME)) {
+                LOGGER.debug("Translation key lookup uses index {}.", INDEX_NAME);
+            } else {
+                LOGGER.warn("Translation key lookup does not use index {}. Query plan: {}", INDEX_NAME, lookupPlan);
+            }
+            final String orderedPlan = explain(session, ORDERED_STATEMENT);
+            if (Strings.CS.contains(orderedPlan, ORDER_INDEX_NAME) && Strings.CS.contains(orderedPlan, ORDERING)) {
+                LOGGER.debug("Translations ordered by key are sorted by index {}.", ORDER_INDEX_NAME);
+            } else {
+                LOGGER.warn("Translations ordered by key are not sorted by index {} but in memory. Query plan: {}", ORDER_INDEX_NAME, orderedPlan);
+            }
+        } else {
+            LOGGER.debug("Repository does not provide query plans, skip translation key index check.");
+        }
+    }
+
+    boolean isOak(Session session) {
+        return Strings.CI.contains(session.getRepository().getDescriptor(Repository.REP_NAME_DESC), "oak");
+    }
+
+    String explain(Session session, String statement) throws RepositoryException {
+        final Query query = session.getWorkspace().getQueryManager().createQuery(EXPLAIN + statement, Query.JCR_SQL2);
+        final RowIterator rows = query.execute().getRows();
+        return rows.hasNext() ? rows.nextRow().getValue(PLAN_COLUMN).getString() : EMPTY;
+    }
+}
@@ -0,0 +1,88 @@
+package de.ibmix.magkit.tools.t9n.usage;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.csv.ExportTranslationAsCsvAction;
+import info.magnolia.cms.core.FileSystemHelper;
+import info.magnolia.cms.i18n.I18nContentSupport;
+import info.magnolia.ui.ValueContext;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.jcr.Node;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the translations whose keys were not requested for a number of days as CSV.
+ * <p><strong>Purpose:</strong></p>
+ * Gives editors a report of dead translation entries, based on the usage recorded by the {@link KeyUsageTracker}.
+ * The export has the format of the translation CSV export, so the entries can be reviewed before they are removed.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Exports the selected or all translations not requested for {@code unusedDays} days (default 90)</li>
+ * <li>Warns if the usage tracking is disabled or younger than the configured days</li>
+ * <li>Warns if complete bundles were requested by the i18n REST endpoint, whose keys may be used by frontends</li>
+ * </ul>
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+public class ExportUnusedKeysAction extends ExportTranslationAsCsvAction {
+
+    private final ExportUnusedKeysActionDefinition _definition;
+    private final KeyUsageTracker _keyUsageTracker;
+
+    /**
+     * Creates a new unused keys export action with all required dependencies.
+     *
+     * @param definition the action definition configuration
+     * @param valueContext the context providing access to selected nodes
+     * @param i18nContentSupport the i18n support providing configured locales
+     * @param fileSystemHelper the helper for accessing temporary file storage
+     * @param keyUsageTracker the recorded key usage
+     */
+    @Inject
+    public ExportUnusedKeysAction(ExportUnusedKeysActionDefinition definition, ValueContext<Node> valueContext, I18nContentSupport i18nContentSupport, FileSystemHelper fileSystemHelper, KeyUsageTracker keyUsageTracker) {
+        super(definition, valueContext, i18nContentSupport, fileSystemHelper);
+        _definition = definition;
+        _keyUsageTracker = keyUsageTracker;
+    }
+
+    @Override
+    protected Map<String, Map<String, String>> getEntries(Collection<Locale> locales) {
+        final long threshold = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(_definition.getUnusedDays());
+        if (!_keyUsageTracker.isEnabled()) {
+            LOGGER.warn("Key usage tracking is disabled, exported keys may be in use.");
+        } else if (_keyUsageTracker.getSince() > threshold) {
+            LOGGER.warn("Key usage is tracked for less than {} days, exported keys may be in use.", _definition.getUnusedDays());
+        }
+        if (_keyUsageTracker.getLastBundleRequest() >= threshold) {
+            LOGGER.warn("Translation bundles were requested by the REST endpoint, exported keys may be used by frontends.");
+        }
+        Map<String, Map<String, String>> entries = super.getEntries(locales);
+        entries.keySet().removeIf(key -> !_keyUsageTracker.isUnusedSince(key, threshold));
+        return entries;
+    }
+}
@@ -0,0 +1,43 @@
+package de.ibmix.magkit.tools.t9n.usage;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import info.magnolia.ui.api.action.ConfiguredActionDefinition;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Action definition for the export of translation keys not requested for a number of days.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+public class ExportUnusedKeysActionDefinition extends ConfiguredActionDefinition {
+    public static final int DEFAULT_UNUSED_DAYS = 90;
+
+    private int _unusedDays = DEFAULT_UNUSED_DAYS;
+
+    public ExportUnusedKeysActionDefinition() {
+        setImplementationClass(ExportUnusedKeysAction.class);
+    }
+}
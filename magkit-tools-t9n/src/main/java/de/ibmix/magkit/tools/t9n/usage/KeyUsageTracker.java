@@ -0,0 +1,321 @@
+package de.ibmix.magkit.tools.t9n.usage;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import info.magnolia.cms.core.FileSystemHelper;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.commons.lang3.StringUtils.substringAfter;
+import static org.apache.commons.lang3.StringUtils.substringBefore;
+import static org.apache.commons.lang3.math.NumberUtils.toLong;
+
+/**
+ * Records how often and when translation keys are requested, to find dead entries of the translation workspace.
+ * <p><strong>Purpose:</strong></p>
+ * The translation workspace only grows, because every bundle key is added on installation. The recorded usage
+ * allows editors to export the keys that were not requested for a number of days and prune them.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Enabled with the module option {@code trackKeyUsage}</li>
+ * <li>Striped access counters and a last access time with minute resolution per key</li>
+ * <li>At most {@value #MAX_KEYS} distinct keys, so that requests of arbitrary keys cannot exhaust the heap</li>
+ * <li>Periodic flush to {@value #FILE_NAME} in the Magnolia working directory, loaded again after restarts</li>
+ * <li>Last request of complete bundles by the i18n REST endpoint, whose keys are used by frontends</li>
+ * </ul>
+ * <p><strong>Limitations:</strong></p>
+ * Usage is recorded per instance. Keys requested on public instances only are not seen on the author instance.
+ * The usage is flushed when the module stops, accesses after the last flush are lost if the JVM terminates without it.
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe. Recording does not lock.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class KeyUsageTracker {
+    static final String FILE_NAME = "magkit-t9n-key-usage.properties";
+    static final String PN_SINCE = "@since";
+    static final String PN_BUNDLE_REQUEST = "@lastBundleRequest";
+    static final long FLUSH_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+    static final long ACCESS_RESOLUTION = TimeUnit.MINUTES.toMillis(1);
+    static final int MAX_KEYS = 100_000;
+
+    private final Provider<TranslationModule> _moduleProvider;
+    private final File _file;
+    private final Map<String, KeyUsage> _usages = new ConcurrentHashMap<>();
+    private final Object _lock = new Object();
+    private volatile boolean _started;
+    private long _since;
+    private volatile long _lastBundleRequest;
+    private final AtomicBoolean _limitReached = new AtomicBoolean();
+    private volatile ScheduledExecutorService _flusher;
+
+    /**
+     * Creates the tracker. Persisted usage is loaded on first recording.
+     *
+     * @param moduleProvider provider for the translation module configuration
+     * @param fileSystemHelper helper for the Magnolia working directory
+     */
+    @Inject
+    public KeyUsageTracker(Provider<TranslationModule> moduleProvider, FileSystemHelper fileSystemHelper) {
+        this(moduleProvider, new File(fileSystemHelper.getWorkingDirectory(), FILE_NAME));
+    }
+
+    KeyUsageTracker(Provider<TranslationModule> moduleProvider, File file) {
+        _moduleProvider = moduleProvider;
+        _file = file;
+    }
+
+    public boolean isEnabled() {
+        final TranslationModule module = _moduleProvider.get();
+        return module != null && module.isTrackKeyUsage();
+    }
+
+    /**
+     * Records a request of the given translation keys.
+     *
+     * @param keys the requested keys
+     */
+    public void record(String... keys) {
+        if (keys != null && isEnabled()) {
+            start();
+            scheduleFlush();
+            final long now = System.currentTimeMillis();
+            for (String key : keys) {
+                if (key != null) {
+                    KeyUsage usage = _usages.get(key);
+                    if (usage == null && isBelowLimit()) {
+                        usage = _usages.computeIfAbsent(key, k -> new KeyUsage());
+                    }
+                    if (usage != null) {
+                        usage.record(now);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether another key may be tracked. Keys are requested by arbitrary callers, so that the number of
+     * distinct keys is not bounded by the translation workspace.
+     */
+    private boolean isBelowLimit() {
+        final boolean below = _usages.size() < MAX_KEYS;
+        if (!below && _limitReached.compareAndSet(false, true)) {
+            LOGGER.warn("Tracking the usage of {} translation keys, further keys are not recorded.", MAX_KEYS);
+        }
+        return below;
+    }
+
+    /**
+     * Records a request of a complete translation bundle.
+     */
+    public void recordBundleRequest() {
+        if (isEnabled()) {
+            start();
+            scheduleFlush();
+            _lastBundleRequest = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Checks whether a key was not requested since the given time.
+     *
+     * @param key the translation key
+     * @param threshold the time in milliseconds
+     * @return true if the key was never requested or its last request is before the threshold
+     */
+    public boolean isUnusedSince(String key, long threshold) {
+        start();
+        final KeyUsage usage = _usages.get(key);
+        return usage == null || usage.getLastAccess() < threshold;
+    }
+
+    public long getCount(String key) {
+        start();
+        final KeyUsage usage = _usages.get(key);
+        return usage == null ? 0L : usage.getCount();
+    }
+
+    public long getLastAccess(String key) {
+        start();
+        final KeyUsage usage = _usages.get(key);
+        return usage == null ? 0L : usage.getLastAccess();
+    }
+
+    /**
+     * Returns the time the tracking started, the first recording ever.
+     *
+     * @return the time in milliseconds or 0 if nothing was recorded yet
+     */
+    public long getSince() {
+        start();
+        synchronized (_lock) {
+            return _since;
+        }
+    }
+
+    public long getLastBundleRequest() {
+        start();
+        return _lastBundleRequest;
+    }
+
+    private void start() {
+        if (!_started) {
+            synchronized (_lock) {
+                if (!_started) {
+                    load();
+                    _started = true;
+                }
+            }
+        }
+    }
+
+    private void scheduleFlush() {
+        if (_flusher == null) {
+            synchronized (_lock) {
+                if (_flusher == null) {
+                    ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "magkit-t9n-key-usage-flush");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+                    _flusher = flusher;
+                }
+            }
+        }
+    }
+
+    void load() {
+        if (_file.isFile()) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(_file.toPath())) {
+                properties.load(in);
+            } catch (IOException e) {
+                LOGGER.warn("Could not read key usage from {}.", _file, e);
+            }
+            properties.forEach((name, value) -> {
+                final String key = name.toString();
+                if (PN_SINCE.equals(key)) {
+                    _since = toLong(value.toString());
+                } else if (PN_BUNDLE_REQUEST.equals(key)) {
+                    _lastBundleRequest = toLong(value.toString());
+                } else if (isBelowLimit()) {
+                    _usages.put(key, new KeyUsage(toLong(substringBefore(value.toString(), ",")), toLong(substringAfter(value.toString(), ","))));
+                }
+            });
+        }
+        if (_since == 0L) {
+            _since = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Writes the recorded usage to the usage file, replacing it atomically.
+     */
+    public void flush() {
+        if (_started) {
+            Properties properties = new Properties();
+            synchronized (_lock) {
+                properties.setProperty(PN_SINCE, String.valueOf(_since));
+            }
+            properties.setProperty(PN_BUNDLE_REQUEST, String.valueOf(_lastBundleRequest));
+            _usages.forEach((key, usage) -> properties.setProperty(key, usage.getCount() + "," + usage.getLastAccess()));
+            try {
+                final Path target = _file.toPath();
+                final Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), FILE_NAME, ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "Translation key usage: count,lastAccess");
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                LOGGER.warn("Could not write key usage to {}.", _file, e);
+            }
+        }
+    }
+
+    /**
+     * Flushes the recorded usage and stops the periodic flush.
+     */
+    public void stop() {
+        synchronized (_lock) {
+            if (_flusher != null) {
+                _flusher.shutdownNow();
+                _flusher = null;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Usage counters of one key.
+     */
+    static final class KeyUsage {
+        private final LongAdder _count = new LongAdder();
+        private volatile long _lastAccess;
+
+        KeyUsage() {
+        }
+
+        KeyUsage(long count, long lastAccess) {
+            _count.add(count);
+            _lastAccess = lastAccess;
+        }
+
+        void record(long now) {
+            _count.increment();
+            // avoid writing the shared field on every access
+            if (now - _lastAccess >= ACCESS_RESOLUTION) {
+                _lastAccess = now;
+            }
+        }
+
+        long getCount() {
+            return _count.sum();
+        }
+
+        long getLastAccess() {
+            return _lastAccess;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package de.ibmix.magkit.tools.t9n.usage;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.MagnoliaTranslationServiceImpl;
+import de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation;
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import info.magnolia.cms.util.QueryUtil;
+import info.magnolia.context.MgnlContext;
+import info.magnolia.jcr.util.NodeNameHelper;
+import info.magnolia.jcr.util.NodeTypes;
+import info.magnolia.jcr.util.PropertyUtil;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.Strings;
+
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static info.magnolia.jcr.util.PropertyUtil.getString;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+/**
+ * Captures translation keys without any translation and creates placeholder nodes for them in the background.
+ * <p><strong>Purpose:</strong></p>
+ * Editors see missing translations in the translation app instead of discovering them on the site.
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ * <li>Enabled with the module option {@code captureMissingKeys}</li>
+ * <li>Request threads only append to a bounded lock-free queue, keys beyond {@value #MAX_QUEUE_SIZE} are dropped</li>
+ * <li>Keys are captured once per instance lifetime, at most {@value #MAX_CAPTURED_KEYS} keys</li>
+ * <li>A background worker creates {@code mgnl:translation} nodes under the module base path,
+ * with one session save per batch of {@value #BATCH_SIZE} keys</li>
+ * <li>Keys existing in the workspace meanwhile are skipped</li>
+ * </ul>
+ * <p><strong>Thread Safety:</strong></p>
+ * This component is thread-safe. Only the worker thread writes to the repository.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+@Slf4j
+@Singleton
+public class MissingKeyCollector {
+    static final int MAX_QUEUE_SIZE = 10_000;
+    static final int MAX_CAPTURED_KEYS = 50_000;
+    static final int BATCH_SIZE = 100;
+    static final long WORKER_DELAY = TimeUnit.SECONDS.toMillis(5);
+
+    private final Provider<TranslationModule> _moduleProvider;
+    private final TranslationIndex _translationIndex;
+    private final Provider<NodeNameHelper> _nodeNameHelperProvider;
+    private final Queue<String> _queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger _queueSize = new AtomicInteger();
+    private final Set<String> _captured = ConcurrentHashMap.newKeySet();
+    private final Object _lock = new Object();
+    private volatile ScheduledExecutorService _worker;
+
+    /**
+     * Creates the collector.
+     *
+     * @param moduleProvider provider for the translation module configuration
+     * @param translationIndex in-memory index of the translation workspace (may be null)
+     * @param nodeNameHelperProvider provider for the node name helper
+     */
+    @Inject
+    public MissingKeyCollector(Provider<TranslationModule> moduleProvider, TranslationIndex translationIndex, Provider<NodeNameHelper> nodeNameHelperProvider) {
+        _moduleProvider = moduleProvider;
+        _translationIndex = translationIndex;
+        _nodeNameHelperProvider = nodeNameHelperProvider;
+    }
+
+    public boolean isEnabled() {
+        final TranslationModule module = _moduleProvider.get();
+        return module != null && module.isCaptureMissingKeys();
+    }
+
+    /**
+     * Enqueues a key without translation. Never blocks.
+     *
+     * @param key the missing translation key
+     * @return true if the key has been enqueued
+     */
+    public boolean capture(String key) {
+        boolean captured = false;
+        if (!isBlank(key) && !Strings.CS.contains(key, "'") && !_captured.contains(key) && isEnabled()
+            && _captured.size() < MAX_CAPTURED_KEYS && _captured.add(key)) {
+            if (_queueSize.incrementAndGet() <= MAX_QUEUE_SIZE) {
+                _queue.offer(key);
+                captured = true;
+                startWorker();
+            } else {
+                // queue full, allow capturing the key again later
+                _queueSize.decrementAndGet();
+                _captured.remove(key);
+            }
+        }
+        return captured;
+    }
+
+    public int getQueueSize() {
+        return _queueSize.get();
+    }
+
+    private void startWorker() {
+        if (_worker == null) {
+            synchronized (_lock) {
+                if (_worker == null) {
+                    ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "magkit-t9n-missing-keys");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    worker.scheduleWithFixedDelay(this::processQueue, WORKER_DELAY, WORKER_DELAY, TimeUnit.MILLISECONDS);
+                    _worker = worker;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the background worker. Queued keys are not written anymore.
+     */
+    public void stop() {
+        synchronized (_lock) {
+            if (_worker != null) {
+                _worker.shutdownNow();
+                _worker = null;
+            }
+        }
+    }
+
+    void processQueue() {
+        List<String> batch = drain();
+        while (!batch.isEmpty()) {
+            try {
+                final List<String> keys = batch;
+                final int created = MgnlContext.doInSystemContext(() -> createNodes(keys));
+                LOGGER.info("Created {} placeholder translations for {} missing keys.", created, keys.size());
+            } catch (RepositoryException | RuntimeException e) {
+                LOGGER.error("Error creating placeholder translations for {}.", batch, e);
+            }
+            batch = drain();
+        }
+    }
+
+    private List<String> drain() {
+        final Set<String> batch = new LinkedHashSet<>();
+        String key;
+        while (batch.size() < BATCH_SIZE && (key = _queue.poll()) != null) {
+            _queueSize.decrementAndGet();
+            batch.add(key);
+        }
+        return new ArrayList<>(batch);
+    }
+
+    int createNodes(List<String> keys) throws RepositoryException {
+        final Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+        final Set<String> existing = findExistingKeys(keys);
+        final String basePath = _moduleProvider.get().getBasePath();
+        final Node baseNode = isEmpty(basePath) ? session.getRootNode() : session.getNode(basePath);
+        final NodeNameHelper nodeNameHelper = _nodeNameHelperProvider.get();
+        int created = 0;
+        for (String key : keys) {
+            if (!existing.contains(key)) {
+                final String nodeName = nodeNameHelper.getValidatedName(key);
+                if (!baseNode.hasNode(nodeName)) {
+                    Node node = baseNode.addNode(nodeName, Translation.NAME);
+                    PropertyUtil.setProperty(node, PN_KEY, key);
+                    NodeTypes.LastModified.update(node);
+                    created++;
+                }
+            }
+        }
+        if (created > 0) {
+            session.save();
+        }
+        return created;
+    }
+
+    private Set<String> findExistingKeys(List<String> keys) throws RepositoryException {
+        final Set<String> existing = new LinkedHashSet<>();
+        if (_translationIndex != null && _translationIndex.isLoaded()) {
+            for (String key : keys) {
+                if (_translationIndex.getSnapshot().containsKey(key)) {
+                    existing.add(key);
+                }
+            }
+        } else {
+            NodeIterator nodes = QueryUtil.search(WS_TRANSLATION, MagnoliaTranslationServiceImpl.buildQuery(keys));
+            while (nodes.hasNext()) {
+                existing.add(getString(nodes.nextNode(), PN_KEY));
+            }
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,77 @@
+package de.ibmix.magkit.tools.t9n;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for {@link LocaleFallbackChains}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class LocaleFallbackChainsTest {
+
+    private TranslationModule _module;
+    private LocaleFallbackChains _chains;
+
+    @BeforeEach
+    public void setUp() {
+        _module = new TranslationModule();
+        _chains = new LocaleFallbackChains(() -> _module);
+    }
+
+    @Test
+    public void withoutDefaultLocale() {
+        assertArrayEquals(new String[]{"translation_de_DE", "translation_de"}, _chains.getPropertyNames(Locale.GERMANY));
+        assertSame(_chains.getPropertyNames(Locale.GERMANY), _chains.getPropertyNames(Locale.GERMANY));
+    }
+
+    @Test
+    public void withDefaultLocale() {
+        _module.setDefaultLocale("en");
+        String[] propertyNames = _chains.getPropertyNames(Locale.GERMANY);
+        assertArrayEquals(new String[]{"translation_de_DE", "translation_de", "translation_en"}, propertyNames);
+        assertSame(propertyNames, _chains.getPropertyNames(Locale.GERMANY));
+        assertArrayEquals(new String[]{"translation_en"}, _chains.getPropertyNames(Locale.ENGLISH));
+    }
+
+    @Test
+    public void changedDefaultLocale() {
+        _module.setDefaultLocale("en");
+        _chains.getPropertyNames(Locale.GERMAN);
+        _module.setDefaultLocale("fr");
+        assertArrayEquals(new String[]{"translation_de", "translation_fr"}, _chains.getPropertyNames(Locale.GERMAN));
+    }
+
+    @Test
+    public void invalidDefaultLocale() {
+        _module.setDefaultLocale("not a locale");
+        assertArrayEquals(new String[]{"translation_de"}, _chains.getPropertyNames(Locale.GERMAN));
+    }
+}
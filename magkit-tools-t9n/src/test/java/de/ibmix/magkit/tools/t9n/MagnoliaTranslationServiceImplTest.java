@@ -21,6 +21,10 @@ package de.ibmix.magkit.tools.t9n;
  */
 
 import de.ibmix.magkit.test.cms.context.ComponentsMockUtils;
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import de.ibmix.magkit.tools.t9n.metrics.TranslationMetrics;
+import de.ibmix.magkit.tools.t9n.usage.KeyUsageTracker;
+import de.ibmix.magkit.tools.t9n.usage.MissingKeyCollector;
 import info.magnolia.cms.i18n.MessagesManager;
 import info.magnolia.i18nsystem.DefaultMessageBundlesLoader;
 import info.magnolia.i18nsystem.FixedLocaleProvider;
@@ -31,13 +35,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.Arguments;
+import org.mockito.ArgumentCaptor;
 
 import javax.jcr.Node;
 import javax.jcr.RepositoryException;
 import javax.jcr.query.Query;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static de.ibmix.magkit.test.cms.context.ComponentsMockUtils.mockComponentInstance;
@@ -48,7 +57,16 @@ import static de.ibmix.magkit.test.jcr.NodeMockUtils.mockNode;
 import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubProperty;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -173,6 +191,174 @@ public class MagnoliaTranslationServiceImplTest {
         assertEquals("any message", message);
     }
 
+    /**
+     * Lookup uses the workspace index and queries the repository only if the index is not available.
+     */
+    @Test
+    void lookupMessageUsesIndex() {
+        TranslationIndex translationIndex = mock(TranslationIndex.class);
+        when(translationIndex.getValue(eq("indexed.key"), any())).thenReturn("fromIndex");
+        MagnoliaTranslationServiceImpl translationService = new MagnoliaTranslationServiceImpl(null, null, translationIndex) {
+            @Override
+            String doMessageQuery(final String key, final String[] i18nPropertyNames) {
+                return "fromQuery";
+            }
+        };
+        assertEquals("fromIndex", translationService.lookupMessage("indexed.key", new String[]{"translation_de"}));
+        assertEquals("fromQuery", translationService.lookupMessage("unavailable.key", new String[]{"translation_de"}));
+    }
+
+    /**
+     * Formatting uses the prepared workspace translation.
+     */
+    @Test
+    void formatWorkspaceTranslation() {
+        assertEquals("key'with replacement", _translationService.format(_localeProvider, "", new String[]{"placeholder.key"}, "replacement"));
+        assertEquals("valueFromApp", _translationService.format(_localeProvider, "", new String[]{"existing.key"}, "replacement"));
+    }
+
+    /**
+     * Prepared messages are reused while the translation is unchanged and evicted on index changes.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void preparedMessageCache() {
+        TranslationIndex translationIndex = mock(TranslationIndex.class);
+        when(translationIndex.getValue(eq("cached.key"), any())).thenReturn("value {0}");
+        MagnoliaTranslationServiceImpl translationService = new MagnoliaTranslationServiceImpl(null, null, translationIndex);
+        ArgumentCaptor<Consumer<Set<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(translationIndex).addChangeListener(listener.capture());
+
+        PreparedMessage message = translationService.getPreparedMessage(Locale.GERMAN, new String[]{"cached.key"});
+        assertTrue(message.isPlaceholder());
+        assertSame(message, translationService.getPreparedMessage(Locale.GERMAN, new String[]{"cached.key"}));
+        assertNotSame(message, translationService.getPreparedMessage(Locale.FRENCH, new String[]{"cached.key"}));
+
+        listener.getValue().accept(Set.of("cached.key"));
+        PreparedMessage evicted = translationService.getPreparedMessage(Locale.GERMAN, new String[]{"cached.key"});
+        assertNotSame(message, evicted);
+
+        when(translationIndex.getValue(eq("cached.key"), any())).thenReturn("changed {0}");
+        assertEquals("changed {0}", translationService.getPreparedMessage(Locale.GERMAN, new String[]{"cached.key"}).getText());
+        assertNull(translationService.getPreparedMessage(Locale.GERMAN, new String[]{"unknown.key"}));
+    }
+
+    /**
+     * Batch translation reads all keys from the index and falls back to the message bundles per label.
+     */
+    @Test
+    void translateAllFromIndex() {
+        TranslationIndex translationIndex = mock(TranslationIndex.class);
+        when(translationIndex.isAvailable()).thenReturn(false);
+        MagnoliaTranslationServiceImpl translationService = new MagnoliaTranslationServiceImpl(null, () -> mock(DefaultMessageBundlesLoader.class), translationIndex) {
+            @Override
+            Map<String, String> lookupMessages(final Set<String> keys, final String[] i18nPropertyNames) {
+                assertEquals(Set.of("first.key", "second.key", "missing.key"), keys);
+                return Map.of("first.key", "", "second.key", "it's {0}");
+            }
+        };
+        Map<String, String> translations = translationService.translateAll(_localeProvider, "", List.of(new String[]{"first.key", "second.key"}, new String[]{"missing.key", "invalid'key"}, new String[0]));
+        assertEquals(2, translations.size());
+        assertEquals("it''s {0}", translations.get("first.key"));
+        assertEquals("missing.key", translations.get("missing.key"));
+    }
+
+    /**
+     * Batch lookup queries all keys at once while the index is not available.
+     */
+    @Test
+    void doMessagesQuery() throws RepositoryException {
+        mockSystemContext(stubJcrSession(TranslationNodeTypes.WS_TRANSLATION));
+        Node first = mockNode(TranslationNodeTypes.WS_TRANSLATION, "/first", stubProperty("key", "first.key"), stubProperty("translation_de", "Erster"));
+        Node second = mockNode(TranslationNodeTypes.WS_TRANSLATION, "/second", stubProperty("key", "second.key"), stubProperty("translation_en", "Second"));
+        String statement = MagnoliaTranslationServiceImpl.BASE_QUERY + "'first.key' or key = 'second.key'";
+        mockQueryResult(TranslationNodeTypes.WS_TRANSLATION, Query.JCR_SQL2, statement, first, second);
+
+        _translationService = new MagnoliaTranslationServiceImpl(null, null);
+        Map<String, String> messages = _translationService.lookupMessages(new LinkedHashSet<>(List.of("first.key", "second.key")), new String[]{"translation_de"});
+        assertEquals(Map.of("first.key", "Erster", "second.key", EMPTY), messages);
+        assertEquals(Map.of(), _translationService.doMessagesQuery(Set.of(), new String[]{"translation_de"}));
+    }
+
+    @Test
+    void buildQuery() {
+        assertEquals(MagnoliaTranslationServiceImpl.BASE_QUERY + "'a'", MagnoliaTranslationServiceImpl.buildQuery(List.of("a")));
+        assertEquals(MagnoliaTranslationServiceImpl.BASE_QUERY + "'a' or key = 'b'", MagnoliaTranslationServiceImpl.buildQuery(List.of("a", "b")));
+    }
+
+    /**
+     * Lookups are recorded as workspace hits or bundle fallbacks.
+     */
+    @Test
+    void recordMetrics() {
+        TranslationMetrics metrics = mock(TranslationMetrics.class);
+        MagnoliaTranslationServiceImpl translationService = new MagnoliaTranslationServiceImpl(null, () -> mock(DefaultMessageBundlesLoader.class), null, null, null, metrics, null, null) {
+            @Override
+            String doMessageQuery(final String key, final String[] i18nPropertyNames) {
+                return "existing.key".equals(key) ? "valueFromApp" : null;
+            }
+        };
+        translationService.translate(_localeProvider, "", new String[]{"existing.key"});
+        translationService.translate(_localeProvider, "", new String[]{"missing.key"});
+        verify(metrics).recordOverrideHit(eq(Locale.GERMAN), anyLong());
+        verify(metrics).recordBundleFallback(eq(Locale.GERMAN), anyLong());
+    }
+
+    /**
+     * Merged locales are served by the bundles alone, locales without merged bundle keep the workspace lookup.
+     */
+    @Test
+    void workspaceLookupForLocalesWithoutMergedBundle() {
+        TranslationMetrics metrics = mock(TranslationMetrics.class);
+        MessageBundleMerger bundleMerger = mock(MessageBundleMerger.class);
+        when(bundleMerger.isMerged(Locale.GERMAN)).thenReturn(true);
+        MagnoliaTranslationServiceImpl translationService = new MagnoliaTranslationServiceImpl(null, () -> mock(DefaultMessageBundlesLoader.class), null, null, bundleMerger, metrics, null, null) {
+            @Override
+            String doMessageQuery(final String key, final String[] i18nPropertyNames) {
+                return "valueFromApp";
+            }
+        };
+        translationService.translate(_localeProvider, "", new String[]{"existing.key"});
+        verify(metrics).recordMergedBundleLookup(eq(Locale.GERMAN), anyLong());
+        assertEquals("valueFromApp", translationService.translate(new FixedLocaleProvider(Locale.FRENCH), "", new String[]{"existing.key"}));
+        verify(metrics).recordOverrideHit(eq(Locale.FRENCH), anyLong());
+    }
+
+    /**
+     * All requested keys are recorded for the key usage report.
+     */
+    @Test
+    void recordKeyUsage() {
+        KeyUsageTracker keyUsageTracker = mock(KeyUsageTracker.class);
+        MagnoliaTranslationServiceImpl translationService = new MagnoliaTranslationServiceImpl(null, () -> mock(DefaultMessageBundlesLoader.class), null, null, null, null, keyUsageTracker, null) {
+            @Override
+            String doMessageQuery(final String key, final String[] i18nPropertyNames) {
+                return null;
+            }
+        };
+        String[] keys = {"first.key", "second.key"};
+        translationService.translate(_localeProvider, "", keys);
+        verify(keyUsageTracker).record(keys);
+    }
+
+    /**
+     * Keys without translation in the workspace and the message bundles are captured.
+     */
+    @Test
+    void captureMissingKeys() {
+        MissingKeyCollector missingKeyCollector = mock(MissingKeyCollector.class);
+        MagnoliaTranslationServiceImpl translationService = new MagnoliaTranslationServiceImpl(null, () -> mock(DefaultMessageBundlesLoader.class), null, null, null, null, null, missingKeyCollector) {
+            @Override
+            String doMessageQuery(final String key, final String[] i18nPropertyNames) {
+                return "existing.key".equals(key) ? "valueFromApp" : null;
+            }
+        };
+        translationService.translate(_localeProvider, "", new String[]{"existing.key"});
+        translationService.translate(_localeProvider, "", new String[]{"missing.key", "other.key"});
+        verify(missingKeyCollector).capture("missing.key");
+        verifyNoMoreInteractions(missingKeyCollector);
+    }
+
     @AfterEach
     public void tearDown() {
         ComponentsMockUtils.clearComponentProvider();
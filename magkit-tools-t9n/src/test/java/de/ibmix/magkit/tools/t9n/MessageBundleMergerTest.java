@@ -0,0 +1,181 @@
+package de.ibmix.magkit.tools.t9n;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import de.ibmix.magkit.tools.t9n.index.TranslationWorkspaceObserver;
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import info.magnolia.i18nsystem.DefaultMessageBundlesLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+import javax.jcr.query.Query;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.cleanContext;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockQueryResult;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockSystemContext;
+import static de.ibmix.magkit.test.cms.context.SystemContextStubbingOperation.stubJcrSession;
+import static de.ibmix.magkit.test.jcr.NodeMockUtils.mockNode;
+import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubProperty;
+import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubType;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link MessageBundleMerger}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class MessageBundleMergerTest {
+
+    private TranslationModule _module;
+    private DefaultMessageBundlesLoader _loader;
+    private Map<Locale, Properties> _messages;
+    private Node _greeting;
+    private MessageBundleMerger _merger;
+
+    @BeforeEach
+    public void setUp() throws RepositoryException {
+        mockSystemContext(stubJcrSession(WS_TRANSLATION));
+        _greeting = mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty("translation_de", "Hallo {0}, wie geht's?"),
+            stubProperty("translation_en_US", "Howdy"),
+            stubType(NAME)
+        );
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, "select * from [" + NAME + "]", _greeting);
+
+        Properties german = new Properties();
+        german.setProperty("greeting", "Hallo");
+        german.setProperty("other", "Andere");
+        _messages = new HashMap<>();
+        _messages.put(Locale.GERMAN, german);
+        _loader = mock(DefaultMessageBundlesLoader.class);
+        when(_loader.getMessages()).thenReturn(_messages);
+
+        _module = new TranslationModule();
+        _module.setMergeMessageBundles(true);
+        _merger = new MessageBundleMerger(() -> _loader, () -> _module, new TranslationIndex(mock(TranslationWorkspaceObserver.class)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanContext();
+    }
+
+    @Test
+    public void disabledByDefault() {
+        _module.setMergeMessageBundles(false);
+        assertFalse(_merger.isMerged());
+        assertEquals("Hallo", _messages.get(Locale.GERMAN).getProperty("greeting"));
+    }
+
+    @Test
+    public void mergeOverrides() {
+        assertTrue(_merger.isMerged());
+        assertEquals("Hallo {0}, wie geht''s?", _messages.get(Locale.GERMAN).getProperty("greeting"));
+        assertEquals("Andere", _messages.get(Locale.GERMAN).getProperty("other"));
+        // locales without bundle are skipped, the bundle map of Magnolia is not modified
+        assertEquals(Set.of(Locale.GERMAN), _messages.keySet());
+    }
+
+    @Test
+    public void reportLocalesWithoutBundle() {
+        assertTrue(_merger.isMerged(Locale.GERMAN));
+        assertTrue(_merger.isMerged(Locale.GERMANY));
+        assertTrue(_merger.isMerged(Locale.ENGLISH));
+        // the workspace translation of en_US has no bundle to be merged into
+        assertFalse(_merger.isMerged(Locale.US));
+        assertFalse(_merger.isMerged(new Locale("en", "US", "POSIX")));
+
+        _module.setMergeMessageBundles(false);
+        assertFalse(_merger.isMerged(Locale.GERMAN));
+    }
+
+    @Test
+    public void mergeChangedKeys() {
+        assertTrue(_merger.isMerged());
+        stubProperty("translation_de", "Servus").of(_greeting);
+        _merger.mergeKeys(Set.of("greeting"));
+        assertEquals("Servus", _messages.get(Locale.GERMAN).getProperty("greeting"));
+    }
+
+    @Test
+    public void restoreOnDisable() {
+        assertTrue(_merger.isMerged());
+        _module.setMergeMessageBundles(false);
+        assertFalse(_merger.isMerged());
+        assertEquals("Hallo", _messages.get(Locale.GERMAN).getProperty("greeting"));
+        assertEquals(Set.of(Locale.GERMAN), _messages.keySet());
+    }
+
+    @Test
+    public void mergeReloadedBundles() {
+        assertTrue(_merger.isMerged());
+        Map<Locale, Properties> reloaded = new HashMap<>();
+        reloaded.put(Locale.GERMAN, new Properties());
+        when(_loader.getMessages()).thenReturn(reloaded);
+        assertTrue(_merger.isMerged());
+        assertEquals("Hallo {0}, wie geht''s?", reloaded.get(Locale.GERMAN).getProperty("greeting"));
+    }
+
+    @Test
+    public void mergeBundlesReloadedInPlace() {
+        assertTrue(_merger.isMerged());
+        Properties german = _messages.get(Locale.GERMAN);
+        german.clear();
+        german.setProperty("greeting", "Hallo");
+        assertTrue(_merger.isMerged());
+        assertEquals("Hallo {0}, wie geht''s?", german.getProperty("greeting"));
+
+        Properties replaced = new Properties();
+        replaced.setProperty("greeting", "Grüß Gott");
+        _messages.put(Locale.GERMAN, replaced);
+        assertTrue(_merger.isMerged());
+        assertEquals("Hallo {0}, wie geht''s?", replaced.getProperty("greeting"));
+        _module.setMergeMessageBundles(false);
+        assertFalse(_merger.isMerged());
+        // the originals of the replaced bundle were recorded again
+        assertEquals("Grüß Gott", replaced.getProperty("greeting"));
+    }
+
+    @Test
+    public void localeOfPropertyName() {
+        assertEquals(Locale.GERMANY, MessageBundleMerger.toLocale("translation_de_DE"));
+        assertNull(MessageBundleMerger.toLocale("translation_invalid locale"));
+    }
+}
@@ -0,0 +1,94 @@
+package de.ibmix.magkit.tools.t9n;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link PreparedMessage}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class PreparedMessageTest {
+
+    @Test
+    public void plainMessage() {
+        PreparedMessage message = PreparedMessage.of("it's plain", Locale.GERMAN);
+        assertFalse(message.isPlaceholder());
+        assertEquals("it's plain", message.getText());
+        assertEquals("it's plain", message.format("ignored"));
+    }
+
+    @Test
+    public void placeholderMessage() {
+        PreparedMessage message = PreparedMessage.of("it's {0}", Locale.GERMAN);
+        assertTrue(message.isPlaceholder());
+        assertEquals("it''s {0}", message.getText());
+        assertEquals("it's first", message.format("first"));
+        assertEquals("it's second", message.format("second"));
+    }
+
+    @Test
+    public void alreadyEscapedMessage() {
+        PreparedMessage message = PreparedMessage.of("it''s {0}", Locale.GERMAN);
+        assertEquals("it''s {0}", message.getText());
+        assertEquals("it's value", message.format("value"));
+    }
+
+    @Test
+    public void multiLinePlaceholderMessage() {
+        PreparedMessage message = PreparedMessage.of("first line\nit's {0}", Locale.GERMAN);
+        assertTrue(message.isPlaceholder());
+        assertEquals("first line\nit's value", message.format("value"));
+    }
+
+    @Test
+    public void typedAndMultiDigitArguments() {
+        PreparedMessage typed = PreparedMessage.of("it's {0,number,integer}", Locale.GERMAN);
+        assertTrue(typed.isPlaceholder());
+        assertEquals("it's 1.234", typed.format(1234));
+
+        PreparedMessage choice = PreparedMessage.of("{0,choice,0#none|1#one|1<many}", Locale.GERMAN);
+        assertTrue(choice.isPlaceholder());
+        assertEquals("one", choice.format(1));
+
+        PreparedMessage multiDigit = PreparedMessage.of("{10}", Locale.GERMAN);
+        assertTrue(multiDigit.isPlaceholder());
+        assertEquals("k", multiDigit.format("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k"));
+
+        assertFalse(PreparedMessage.of("it's {name}", Locale.GERMAN).isPlaceholder());
+    }
+
+    @Test
+    public void preparedFrom() {
+        PreparedMessage message = PreparedMessage.of("value {0}", Locale.GERMAN);
+        assertTrue(message.isPreparedFrom("value {0}"));
+        assertFalse(message.isPreparedFrom("other {0}"));
+        assertFalse(message.isPreparedFrom(null));
+    }
+}
@@ -31,7 +31,9 @@ import java.util.Locale;
 
 import static de.ibmix.magkit.test.jcr.NodeMockUtils.mockNode;
 import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubProperty;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -56,6 +58,32 @@ public class TranslationNodeTypesTest {
         assertEquals("translation_fr", propertyNames[1]);
     }
 
+    @Test
+    public void variantPropertyNames() {
+        final String[] propertyNames = Translation.LOCALE_TO_PROPERTY_NAMES.apply(new Locale("de", "CH", "POSIX"));
+        assertArrayEquals(new String[]{"translation_de_CH_POSIX", "translation_de_CH", "translation_de"}, propertyNames);
+    }
+
+    @Test
+    public void propertyNamesAreShared() {
+        assertSame(Translation.LOCALE_TO_PROPERTY_NAMES.apply(Locale.GERMANY), Translation.LOCALE_TO_PROPERTY_NAMES.apply(Locale.GERMANY));
+    }
+
+    @Test
+    public void propertyNamesWithDefaultLocale() {
+        assertArrayEquals(new String[]{"translation_de_DE", "translation_de", "translation_en"}, Translation.toPropertyNames(Locale.GERMANY, Locale.ENGLISH));
+        assertArrayEquals(new String[]{"translation_de_DE", "translation_de"}, Translation.toPropertyNames(Locale.GERMANY, Locale.GERMAN));
+    }
+
+    /**
+     * Verifies retrieveValue falls back over all property names.
+     */
+    @Test
+    public void retrieveValueFallsBackToLastName() throws RepositoryException {
+        final Node node = mockNode("translation", "/test/node", stubProperty("translation_en", "Hello"));
+        assertEquals("Hello", Translation.retrieveValue(node, new String[]{"translation_de_DE", "translation_de", "translation_en"}));
+    }
+
     @Test
     public void valueFromNull() {
         assertEquals("", Translation.retrieveValue(null, new String[]{"1"}));
@@ -20,6 +20,7 @@ package de.ibmix.magkit.tools.t9n.csv;
  * #L%
  */
 
+import au.com.bytecode.opencsv.CSVReader;
 import de.ibmix.magkit.test.cms.context.ComponentsMockUtils;
 import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
 import info.magnolia.cms.i18n.I18nContentSupport;
@@ -28,6 +29,7 @@ import info.magnolia.cms.security.userprofile.LocaleSettingsProfile;
 import info.magnolia.cms.security.userprofile.UserProfileManager;
 import info.magnolia.context.MgnlContext;
 import info.magnolia.jcr.util.NodeNameHelper;
+import info.magnolia.jcr.util.NodeTypes;
 import info.magnolia.jcr.util.PropertyUtil;
 import info.magnolia.ui.CloseHandler;
 import info.magnolia.ui.ValueContext;
@@ -50,6 +52,7 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 import static de.ibmix.magkit.test.cms.context.ComponentsMockUtils.mockComponentInstance;
@@ -71,7 +74,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -186,6 +191,47 @@ class ImportCsvActionTest {
         verify(MgnlContext.getJCRSession(WS_TRANSLATION)).save();
     }
 
+    /**
+     * Verifies that a row with the existing values neither writes properties nor updates the last modified date.
+     */
+    @Test
+    void createNodeLeavesUnchangedNode() throws Exception {
+        Node node = mockNode(WS_TRANSLATION, "/base/existing", stubProperty(PN_KEY, "existing"), stubProperty(PREFIX_NAME + "en", "Same"));
+        ImportCsvAction action = createImportCsvAction(mockFormViewWithCsvFile(null, null, null));
+
+        assertEquals(ImportCsvAction.RowResult.UNCHANGED, action.createNode(node.getParent(), new String[]{"existing", "Same", ""}, getColumns()));
+        assertFalse(node.hasProperty(PREFIX_NAME + "de"));
+        assertFalse(node.hasProperty(NodeTypes.LastModified.LAST_MODIFIED));
+    }
+
+    /**
+     * Verifies that a changed value is written and the last modified date is updated.
+     */
+    @Test
+    void createNodeUpdatesChangedNode() throws Exception {
+        Node node = mockNode(WS_TRANSLATION, "/base/existing", stubProperty(PN_KEY, "existing"), stubProperty(PREFIX_NAME + "en", "Same"), stubProperty(PREFIX_NAME + "de", "Alt"));
+        ImportCsvAction action = createImportCsvAction(mockFormViewWithCsvFile(null, null, null));
+
+        assertEquals(ImportCsvAction.RowResult.UPDATED, action.createNode(node.getParent(), new String[]{"existing", "Same", "Neu"}, getColumns()));
+        assertEquals("Same", PropertyUtil.getString(node, PREFIX_NAME + "en"));
+        assertEquals("Neu", PropertyUtil.getString(node, PREFIX_NAME + "de"));
+        assertTrue(node.hasProperty(NodeTypes.LastModified.LAST_MODIFIED));
+    }
+
+    /**
+     * Verifies that a missing node is created with the key and the values of the row.
+     */
+    @Test
+    void createNodeCreatesMissingNode() throws Exception {
+        Node base = mockNode(WS_TRANSLATION, "/base");
+        ImportCsvAction action = createImportCsvAction(mockFormViewWithCsvFile(null, null, null));
+
+        assertEquals(ImportCsvAction.RowResult.CREATED, action.createNode(base, new String[]{"fresh", "Fresh", "Frisch"}, getColumns()));
+        Node node = base.getNode("fresh");
+        assertEquals("fresh", PropertyUtil.getString(node, PN_KEY));
+        assertEquals("Frisch", PropertyUtil.getString(node, PREFIX_NAME + "de"));
+    }
+
     /**
      * Verifies import with custom encoding.
      */
@@ -245,6 +291,95 @@ class ImportCsvActionTest {
         assertEquals("Wert3", PropertyUtil.getString(root.getNode("key3"), PREFIX_NAME + "de"));
     }
 
+    /**
+     * Verifies that the session is saved after every batch and once more for the remaining rows.
+     */
+    @Test
+    void importSavesInBatches() throws Exception {
+        File csv = new File(_tempDir, "t7.csv");
+        Files.writeString(csv.toPath(), "Key," + Locale.ENGLISH.getDisplayName() + "\nkey1,Value1\nkey2,Value2\nkey3,Value3\nkey4,Value4\nkey5,Value5\n");
+        FormView<Node> view = mockFormViewWithCsvFile(csv, null, null);
+        mockTranslationModule(null, 2);
+
+        ImportCsvAction action = createImportCsvAction(view);
+        action.write();
+
+        verify(MgnlContext.getJCRSession(WS_TRANSLATION), times(3)).save();
+    }
+
+    /**
+     * Verifies that a failed save discards the unsaved rows and only counts the rows of the successful saves.
+     */
+    @Test
+    void importDiscardsChangesWhenSaveFails() throws Exception {
+        File csv = new File(_tempDir, "t10.csv");
+        Files.writeString(csv.toPath(), "Key," + Locale.ENGLISH.getDisplayName() + "\nkey1,Value1\nkey2,Value2\nkey3,Value3\n");
+        FormView<Node> view = mockFormViewWithCsvFile(csv, null, null);
+        mockTranslationModule(null, 2);
+        Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+        doNothing().doThrow(new RepositoryException("failure")).when(session).save();
+
+        ImportCsvAction action = createImportCsvAction(view);
+        int saved;
+        try (CSVReader rows = new CSVReader(Files.newBufferedReader(csv.toPath()))) {
+            rows.readNext();
+            saved = action.persistTranslations("", Map.of(1, PREFIX_NAME + "en"), rows);
+        }
+
+        assertEquals(2, saved);
+        verify(session, times(2)).save();
+        verify(session).refresh(false);
+    }
+
+    /**
+     * Verifies that no additional save happens when the row count is a multiple of the batch size.
+     */
+    @Test
+    void importSavesFullBatchesOnlyOnce() throws Exception {
+        File csv = new File(_tempDir, "t8.csv");
+        Files.writeString(csv.toPath(), "Key," + Locale.ENGLISH.getDisplayName() + "\nkey1,Value1\nkey2,Value2\nkey3,Value3\nkey4,Value4\n");
+        FormView<Node> view = mockFormViewWithCsvFile(csv, null, null);
+        mockTranslationModule(null, 2);
+
+        ImportCsvAction action = createImportCsvAction(view);
+        action.write();
+
+        verify(MgnlContext.getJCRSession(WS_TRANSLATION), times(2)).save();
+    }
+
+    /**
+     * Verifies that rows shorter than the header only set the available columns.
+     */
+    @Test
+    void importIgnoresMissingColumns() throws Exception {
+        File csv = new File(_tempDir, "t9.csv");
+        Files.writeString(csv.toPath(), "Key," + Locale.ENGLISH.getDisplayName() + "," + Locale.GERMAN.getDisplayName() + "\nhello,Hello\n");
+        FormView<Node> view = mockFormViewWithCsvFile(csv, null, null);
+
+        ImportCsvAction action = createImportCsvAction(view);
+        action.write();
+
+        Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+        Node node = session.getRootNode().getNode("hello");
+        assertEquals("Hello", PropertyUtil.getString(node, PREFIX_NAME + "en"));
+        assertFalse(node.hasProperty(PREFIX_NAME + "de"));
+        verify(session).save();
+    }
+
+    /**
+     * Verifies that the default batch size is used when the module does not configure a positive value.
+     */
+    @Test
+    void getBatchSizeFallsBackToDefault() throws RepositoryException {
+        ImportCsvAction action = createImportCsvAction(mockFormViewWithCsvFile(null, null, null));
+        mockTranslationModule(null, 0);
+        assertEquals(ImportCsvAction.DEFAULT_BATCH_SIZE, action.getBatchSize());
+
+        action = createImportCsvAction(mockFormViewWithCsvFile(null, null, null));
+        mockTranslationModule(null, 50);
+        assertEquals(50, action.getBatchSize());
+    }
+
     /**
      * Verifies detectColumns recognizes locale by display name in the current locale.
      */
@@ -347,9 +482,18 @@ class ImportCsvActionTest {
         return option;
     }
 
+    Map<Integer, String> getColumns() {
+        return Map.of(0, PN_KEY, 1, PREFIX_NAME + "en", 2, PREFIX_NAME + "de");
+    }
+
     void mockTranslationModule(final String basePath) {
+        mockTranslationModule(basePath, 0);
+    }
+
+    void mockTranslationModule(final String basePath, final int importBatchSize) {
         TranslationModule module = mockComponentInstance(TranslationModule.class);
         when(module.getBasePath()).thenReturn(basePath);
+        when(module.getImportBatchSize()).thenReturn(importBatchSize);
     }
 
     ImportCsvAction createImportCsvAction(final FormView<Node> formView) throws RepositoryException {
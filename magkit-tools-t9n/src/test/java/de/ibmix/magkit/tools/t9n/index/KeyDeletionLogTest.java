@@ -0,0 +1,106 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link KeyDeletionLog}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class KeyDeletionLogTest {
+
+    private TranslationIndex _index;
+    private KeyDeletionLog _log;
+    private Consumer<Set<String>> _listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder().put("/kept", "kept", Map.of(PREFIX_NAME + "de", "Da")).build();
+        _index = mock(TranslationIndex.class);
+        when(_index.getSnapshot()).thenReturn(snapshot);
+        when(_index.isLoaded()).thenReturn(true);
+        _log = new KeyDeletionLog(_index);
+
+        assertNull(_log.getDeletedSince(0L));
+        ArgumentCaptor<Consumer<Set<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(_index).addChangeListener(listener.capture());
+        _listener = listener.getValue();
+    }
+
+    /**
+     * Verifies only keys missing in the index are logged and returned after the horizon.
+     */
+    @Test
+    public void logRemovedKeys() {
+        final long horizon = _log.getHorizon();
+        assertTrue(horizon <= System.currentTimeMillis());
+        assertEquals(Set.of(), _log.getDeletedSince(horizon));
+
+        _listener.accept(Set.of("kept", "removed"));
+        assertEquals(1, _log.size());
+        assertEquals(Set.of("removed"), _log.getDeletedSince(horizon));
+        assertEquals(Set.of(), _log.getDeletedSince(System.currentTimeMillis()));
+        assertNull(_log.getDeletedSince(horizon - 1));
+    }
+
+    /**
+     * Verifies the log restarts when the index was discarded.
+     */
+    @Test
+    public void restartAfterDiscard() {
+        _listener.accept(Set.of("removed"));
+        when(_index.isLoaded()).thenReturn(false);
+        _listener.accept(Set.of("kept"));
+        assertEquals(0, _log.size());
+        assertEquals(KeyDeletionLog.UNKNOWN, _log.getHorizon());
+    }
+
+    /**
+     * Verifies the horizon moves forward when old entries are dropped.
+     */
+    @Test
+    public void boundedSize() {
+        final long horizon = _log.getHorizon();
+        for (int i = 0; i <= KeyDeletionLog.MAX_ENTRIES; i++) {
+            _listener.accept(Set.of("removed." + i));
+        }
+        assertEquals(KeyDeletionLog.MAX_ENTRIES, _log.size());
+        assertTrue(_log.getHorizon() >= horizon);
+    }
+}
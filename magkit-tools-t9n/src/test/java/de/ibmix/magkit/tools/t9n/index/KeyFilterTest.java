@@ -0,0 +1,71 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link KeyFilter}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class KeyFilterTest {
+
+    /**
+     * Verifies that all added keys are reported as possibly contained and unknown keys mostly as absent.
+     */
+    @Test
+    public void noFalseNegativesAndFewFalsePositives() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            keys.add("module.label." + i);
+        }
+        KeyFilter filter = KeyFilter.create(keys, 0.01);
+        keys.forEach(key -> assertTrue(filter.mightContain(key)));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other.label." + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "too many false positives: " + falsePositives);
+    }
+
+    /**
+     * Verifies an empty filter rejects every key.
+     */
+    @Test
+    public void emptyFilter() {
+        KeyFilter filter = KeyFilter.create(Collections.emptyList(), 0.01);
+        assertFalse(filter.mightContain("any.key"));
+        assertTrue(filter.getBitCount() >= 64);
+        assertTrue(filter.getHashCount() >= 1);
+    }
+}
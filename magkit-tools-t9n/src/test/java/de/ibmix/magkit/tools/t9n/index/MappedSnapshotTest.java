@@ -0,0 +1,105 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link MappedSnapshot}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class MappedSnapshotTest {
+
+    private static final String DE = PREFIX_NAME + "de";
+    private static final String EN = PREFIX_NAME + "en";
+
+    @TempDir
+    private File _directory;
+
+    /**
+     * Verifies all entries of a written snapshot are found in the mapped file.
+     */
+    @Test
+    public void writeAndMap() throws IOException {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/greeting", "greeting", Map.of(DE, "Hallo", EN, "Hello"))
+            .put("/umlaut", "größe", Map.of(DE, "Größe"))
+            .put("/empty", "empty", Map.of(DE, EMPTY))
+            .put("/z", "z.last", Map.of(EN, "Last"))
+            .build();
+        File file = new File(_directory, "snapshot.bin");
+        MappedSnapshot.write(snapshot, file);
+
+        MappedSnapshot mapped = MappedSnapshot.map(file);
+        assertNotNull(mapped);
+        assertEquals(4, mapped.size());
+        assertEquals(snapshot.getVersion(), mapped.getVersion());
+        assertTrue(mapped.getCreated() > 0L);
+        assertEquals("Hallo", mapped.lookup("greeting", new String[]{DE, EN}));
+        assertEquals("Hello", mapped.lookup("greeting", new String[]{PREFIX_NAME + "fr", EN}));
+        assertEquals("Größe", mapped.lookup("größe", new String[]{DE}));
+        assertEquals("Last", mapped.lookup("z.last", new String[]{DE, EN}));
+        assertEquals(EMPTY, mapped.lookup("empty", new String[]{DE}));
+        assertNull(mapped.lookup("missing", new String[]{DE}));
+        assertTrue(mapped.containsKey("z.last"));
+        assertFalse(mapped.containsKey("a.first"));
+    }
+
+    /**
+     * Verifies an empty snapshot can be written and mapped.
+     */
+    @Test
+    public void emptySnapshot() throws IOException {
+        File file = new File(_directory, "snapshot.bin");
+        MappedSnapshot.write(TranslationSnapshot.EMPTY_SNAPSHOT, file);
+        MappedSnapshot mapped = MappedSnapshot.map(file);
+        assertNotNull(mapped);
+        assertEquals(0, mapped.size());
+        assertNull(mapped.lookup("greeting", new String[]{DE}));
+    }
+
+    /**
+     * Verifies missing and invalid files are ignored.
+     */
+    @Test
+    public void ignoreInvalidFiles() throws IOException {
+        File file = new File(_directory, "snapshot.bin");
+        assertNull(MappedSnapshot.map(file));
+        Files.writeString(file.toPath(), "no snapshot");
+        assertNull(MappedSnapshot.map(file));
+    }
+}
@@ -0,0 +1,283 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link TranslationChangeBroadcaster}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationChangeBroadcasterTest {
+
+    private TranslationIndex _index;
+    private TranslationChangeBroadcaster _broadcaster;
+    private Consumer<Set<String>> _listener;
+    private int _executors;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Map<String, String> greeting = new LinkedHashMap<>();
+        greeting.put(PREFIX_NAME + "de", "Hallo");
+        greeting.put(PREFIX_NAME + "en", "Hello");
+        TranslationSnapshot snapshot = TranslationSnapshot.builder().put("/greeting", "greeting", greeting)
+            .put("/cart", "cart.title", Map.of(PREFIX_NAME + "de", "Warenkorb")).build();
+        _index = mock(TranslationIndex.class);
+        when(_index.getSnapshot()).thenReturn(snapshot);
+        when(_index.isLoaded()).thenReturn(true);
+        // deliver on the calling thread
+        _broadcaster = new TranslationChangeBroadcaster(_index, () -> {
+            _executors++;
+            return Runnable::run;
+        });
+
+        _broadcaster.subscribe(new RecordingSubscriber(), null, event -> true);
+        ArgumentCaptor<Consumer<Set<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(_index).addChangeListener(listener.capture());
+        _listener = listener.getValue();
+    }
+
+    /**
+     * Verifies a change event per translation property of changed keys and delete events for removed keys.
+     */
+    @Test
+    public void broadcastChanges() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        _broadcaster.subscribe(subscriber, null, event -> true);
+        assertEquals(2, _broadcaster.getSubscribers());
+
+        _listener.accept(new LinkedHashSet<>(List.of("greeting", "removed")));
+        assertEquals(List.of(
+            "change:greeting/de=Hallo",
+            "change:greeting/en=Hello",
+            "delete:removed"
+        ), subscriber.getEvents());
+        assertEquals(3, _broadcaster.getBufferedEvents());
+    }
+
+    /**
+     * Verifies subscribers only get the events passing their filter, except reset events.
+     */
+    @Test
+    public void filterEvents() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        _broadcaster.subscribe(subscriber, null, event -> "en".equals(event.getLocale()));
+
+        _listener.accept(Set.of("greeting"));
+        when(_index.isLoaded()).thenReturn(false);
+        _listener.accept(Set.of("greeting"));
+        assertEquals(List.of("change:greeting/en=Hello", "reset:"), subscriber.getEvents());
+    }
+
+    /**
+     * Verifies reconnecting clients get the events after their last event id, or a reset if these are gone.
+     */
+    @Test
+    public void replayAfterReconnect() {
+        RecordingSubscriber first = new RecordingSubscriber();
+        _broadcaster.subscribe(first, null, event -> true);
+        _listener.accept(Set.of("cart.title"));
+        final long lastEventId = first._ids.get(0);
+        _listener.accept(Set.of("greeting"));
+
+        RecordingSubscriber resumed = new RecordingSubscriber();
+        _broadcaster.subscribe(resumed, String.valueOf(lastEventId), event -> true);
+        assertEquals(List.of(lastEventId + 1, lastEventId + 2), resumed._ids);
+
+        RecordingSubscriber upToDate = new RecordingSubscriber();
+        _broadcaster.subscribe(upToDate, String.valueOf(_broadcaster.getLastEventId()), event -> true);
+        assertEquals(List.of(), upToDate.getEvents());
+
+        for (String lastId : List.of(String.valueOf(lastEventId - 2), String.valueOf(_broadcaster.getLastEventId() + 1), "unknown")) {
+            RecordingSubscriber outdated = new RecordingSubscriber();
+            _broadcaster.subscribe(outdated, lastId, event -> true);
+            assertEquals(List.of("reset:"), outdated.getEvents());
+        }
+    }
+
+    /**
+     * Verifies the replay buffer is bounded and change batches exceeding it are reported as reset.
+     */
+    @Test
+    public void boundedReplayBuffer() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        _broadcaster.subscribe(subscriber, null, event -> true);
+        for (int i = 0; i < TranslationChangeBroadcaster.MAX_EVENTS; i++) {
+            _listener.accept(Set.of("removed." + i));
+        }
+        _listener.accept(Set.of("greeting"));
+        assertEquals(TranslationChangeBroadcaster.MAX_EVENTS, _broadcaster.getBufferedEvents());
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i <= TranslationChangeBroadcaster.MAX_EVENTS; i++) {
+            keys.add("removed." + i);
+        }
+        _listener.accept(keys);
+        assertEquals("reset:", subscriber.getEvents().get(subscriber.getEvents().size() - 1));
+    }
+
+    /**
+     * Verifies closed and failed subscribers are removed.
+     */
+    @Test
+    public void removeClosedSubscribers() {
+        RecordingSubscriber closed = new RecordingSubscriber();
+        RecordingSubscriber failing = new RecordingSubscriber();
+        _broadcaster.subscribe(closed, null, event -> true);
+        _broadcaster.subscribe(failing, null, event -> true);
+        assertEquals(3, _broadcaster.getSubscribers());
+
+        closed._closed = true;
+        failing._failure = new IllegalStateException("gone");
+        _listener.accept(Set.of("cart.title"));
+        assertEquals(1, _broadcaster.getSubscribers());
+        assertEquals(List.of(), closed.getEvents());
+    }
+
+    /**
+     * Verifies heartbeats reach the open subscribers and remove closed and failed ones without any change.
+     */
+    @Test
+    public void heartbeat() {
+        RecordingSubscriber open = new RecordingSubscriber();
+        RecordingSubscriber closed = new RecordingSubscriber();
+        RecordingSubscriber failing = new RecordingSubscriber();
+        _broadcaster.subscribe(open, null, event -> true);
+        _broadcaster.subscribe(closed, null, event -> true);
+        _broadcaster.subscribe(failing, null, event -> true);
+        assertEquals(4, _broadcaster.getSubscribers());
+
+        closed._closed = true;
+        failing._failure = new IllegalStateException("gone");
+        _broadcaster.heartbeat();
+        assertEquals(2, _broadcaster.getSubscribers());
+        assertEquals(1, open._heartbeats);
+        assertEquals(0, closed._heartbeats);
+        assertEquals(List.of(), open.getEvents());
+    }
+
+    /**
+     * Verifies a subscriber is removed when a send completes exceptionally after the delivery.
+     */
+    @Test
+    public void removeSubscriberOnLateFailure() {
+        CompletableFuture<Void> sending = new CompletableFuture<>();
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public CompletionStage<?> send(TranslationChangeBroadcaster.ChangeEvent event) {
+                super.send(event);
+                return sending;
+            }
+        };
+        _broadcaster.subscribe(subscriber, null, event -> true);
+        _listener.accept(Set.of("cart.title"));
+        assertEquals(2, _broadcaster.getSubscribers());
+
+        sending.completeExceptionally(new IllegalStateException("gone"));
+        assertEquals(1, _broadcaster.getSubscribers());
+    }
+
+    /**
+     * Verifies stopping removes the index listener and the subscribers.
+     */
+    @Test
+    public void stop() {
+        _broadcaster.stop();
+        verify(_index).removeChangeListener(_listener);
+        assertEquals(0, _broadcaster.getSubscribers());
+    }
+
+    /**
+     * Verifies a stopped broadcaster listens and delivers again on the next subscription.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void restartAfterStop() {
+        _broadcaster.stop();
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        _broadcaster.subscribe(subscriber, null, event -> true);
+        assertEquals(2, _executors);
+
+        ArgumentCaptor<Consumer<Set<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(_index, times(2)).addChangeListener(listener.capture());
+        listener.getValue().accept(Set.of("cart.title"));
+        assertEquals(List.of("change:cart.title/de=Warenkorb"), subscriber.getEvents());
+    }
+
+    /**
+     * Subscriber recording the sent events as name and data.
+     */
+    private static class RecordingSubscriber implements TranslationChangeBroadcaster.Subscriber {
+        private final List<String> _events = new ArrayList<>();
+        private final List<Long> _ids = new ArrayList<>();
+        private boolean _closed;
+        private RuntimeException _failure;
+        private int _heartbeats;
+
+        @Override
+        public CompletionStage<?> send(TranslationChangeBroadcaster.ChangeEvent event) {
+            _events.add(event.getName() + ':' + toData(event));
+            _ids.add(event.getId());
+            return _failure != null ? CompletableFuture.failedFuture(_failure) : CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletionStage<?> sendHeartbeat() {
+            _heartbeats++;
+            return _failure != null ? CompletableFuture.failedFuture(_failure) : CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public boolean isClosed() {
+            return _closed;
+        }
+
+        private List<String> getEvents() {
+            return _events;
+        }
+
+        private static String toData(TranslationChangeBroadcaster.ChangeEvent event) {
+            return (event.getKey() != null ? event.getKey() : "") + (event.getLocale() != null ? '/' + event.getLocale() + '=' + event.getValue() : "");
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import info.magnolia.context.MgnlContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.query.Query;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.cleanContext;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockQueryResult;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockSystemContext;
+import static de.ibmix.magkit.test.cms.context.SystemContextStubbingOperation.stubJcrSession;
+import static de.ibmix.magkit.test.jcr.NodeMockUtils.mockNode;
+import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubProperty;
+import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubType;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link TranslationIndex}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationIndexTest {
+
+    private static final String[] DE = {PREFIX_NAME + "de"};
+
+    private TranslationWorkspaceObserver _observer;
+    private TranslationIndex _index;
+    private Node _greeting;
+
+    @BeforeEach
+    public void setUp() throws RepositoryException {
+        mockSystemContext(stubJcrSession(WS_TRANSLATION));
+        _greeting = mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo"),
+            stubType(NAME)
+        );
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, TranslationIndex.ALL_TRANSLATIONS_QUERY, _greeting);
+        _observer = mock(TranslationWorkspaceObserver.class);
+        _index = new TranslationIndex(_observer);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanContext();
+    }
+
+    /**
+     * Verifies the workspace is loaded on first access and observation is registered.
+     */
+    @Test
+    public void loadOnFirstAccess() {
+        assertFalse(_index.isLoaded());
+        assertEquals("Hallo", _index.getValue("greeting", DE));
+        assertEquals(EMPTY, _index.getValue("missing", DE));
+        assertTrue(_index.isLoaded());
+        verify(_observer).addListener(any());
+    }
+
+    /**
+     * Verifies changed and added nodes are read again from the repository.
+     */
+    @Test
+    public void applyChangedAndAddedNodes() throws RepositoryException {
+        _index.getSnapshot();
+        stubProperty(PREFIX_NAME + "de", "Servus").of(_greeting);
+        mockNode(WS_TRANSLATION, "/folder/bye",
+            stubProperty(PN_KEY, "bye"),
+            stubProperty(PREFIX_NAME + "de", "Tschüss"),
+            stubType(NAME)
+        );
+
+        _index.applyChanges(Set.of("/greeting", "/folder"));
+        assertEquals("Servus", _index.getValue("greeting", DE));
+        assertEquals("Tschüss", _index.getValue("bye", DE));
+    }
+
+    /**
+     * Verifies entries of removed nodes are dropped.
+     */
+    @Test
+    public void applyRemovedNode() throws RepositoryException {
+        _index.getSnapshot();
+        Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+        when(session.nodeExists("/greeting")).thenReturn(false);
+
+        _index.applyChanges(Set.of("/greeting"));
+        assertFalse(_index.getSnapshot().containsKey("greeting"));
+        assertEquals(EMPTY, _index.getValue("greeting", DE));
+    }
+
+    /**
+     * Verifies unknown keys are rejected by the key filter and counted.
+     */
+    @Test
+    public void filterRejectsUnknownKeys() {
+        assertEquals(EMPTY, _index.getValue("unknown.key", DE));
+        assertEquals("Hallo", _index.getValue("greeting", DE));
+        assertEquals(1L, _index.getFilterRejections() + _index.getFilterFalsePositives());
+        assertTrue(_index.getFilterPasses() >= 1L);
+    }
+
+    /**
+     * Verifies a key defined by two nodes is read again from the remaining node if the winning node is removed.
+     */
+    @Test
+    public void restoreDuplicateKeyFromRemainingNode() throws RepositoryException {
+        Node duplicate = mockNode(WS_TRANSLATION, "/duplicate", stubProperty(PN_KEY, "greeting"), stubProperty(PREFIX_NAME + "de", "Moin"), stubType(NAME));
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, TranslationIndex.ALL_TRANSLATIONS_QUERY, _greeting, duplicate);
+        assertEquals("Moin", _index.getValue("greeting", DE));
+        List<Set<String>> notifications = new ArrayList<>();
+        _index.addChangeListener(notifications::add);
+        Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+        when(session.nodeExists("/duplicate")).thenReturn(false);
+
+        _index.applyChanges(Set.of("/duplicate"));
+        assertEquals("Hallo", _index.getValue("greeting", DE));
+        assertEquals(List.of(Set.of("greeting")), notifications);
+    }
+
+    /**
+     * Verifies key listeners are notified only about keys with different values.
+     */
+    @Test
+    public void notifyChangedKeys() throws RepositoryException {
+        Node unchanged = mockNode(WS_TRANSLATION, "/unchanged", stubProperty(PN_KEY, "unchanged"), stubProperty(PREFIX_NAME + "de", "Gleich"), stubType(NAME));
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, TranslationIndex.ALL_TRANSLATIONS_QUERY, _greeting, unchanged);
+        _index.getSnapshot();
+        List<Set<String>> notifications = new ArrayList<>();
+        _index.addChangeListener(notifications::add);
+        stubProperty(PREFIX_NAME + "de", "Servus").of(_greeting);
+
+        _index.applyChanges(Set.of("/greeting", "/unchanged"));
+        assertEquals(List.of(Set.of("greeting")), notifications);
+
+        _index.applyChanges(Set.of("/greeting"));
+        assertEquals(1, notifications.size());
+    }
+
+    /**
+     * Verifies key listeners are notified after the index lock is released, so that they may wait for other threads
+     * loading the index.
+     */
+    @Test
+    @Timeout(10)
+    public void notifyKeyListenersOutsideOfLock() throws RepositoryException {
+        _index.getSnapshot();
+        List<Boolean> blocked = new ArrayList<>();
+        _index.addChangeListener(keys -> {
+            Thread other = new Thread(_index::load);
+            other.start();
+            try {
+                other.join(2000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            blocked.add(other.isAlive());
+        });
+        stubProperty(PREFIX_NAME + "de", "Servus").of(_greeting);
+
+        _index.applyChanges(Set.of("/greeting"));
+        _index.reload();
+        assertEquals(List.of(false, false), blocked);
+    }
+
+    /**
+     * Verifies changes are ignored before the index is loaded.
+     */
+    @Test
+    public void ignoreChangesBeforeLoad() {
+        _index.applyChanges(Set.of("/greeting"));
+        assertFalse(_index.isLoaded());
+    }
+
+    /**
+     * Verifies lookups fall back without waiting while the warm-up is running.
+     */
+    @Test
+    @Timeout(10)
+    public void fallBackDuringWarmUp() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        TranslationIndex index = new TranslationIndex(_observer) {
+            @Override
+            TranslationSnapshot readAll() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return TranslationSnapshot.builder().put("/greeting", "greeting", Map.of(PREFIX_NAME + "de", "Hallo")).build();
+            }
+        };
+        assertEquals(-1L, index.getWarmUpDuration());
+
+        Thread warmUp = index.startWarmUp();
+        assertTrue(warmUp.isDaemon());
+        assertTrue(index.isWarmingUp());
+        assertNull(index.getSnapshot());
+        assertNull(index.getValue("greeting", DE));
+
+        release.countDown();
+        warmUp.join(5000L);
+        assertFalse(index.isWarmingUp());
+        assertTrue(index.isLoaded());
+        assertTrue(index.getWarmUpDuration() >= 0L);
+        assertEquals("Hallo", index.getValue("greeting", DE));
+    }
+
+    /**
+     * Verifies a failed load is retried on the warm-up thread after the retry delay, while lookups fall back.
+     */
+    @Test
+    @Timeout(10)
+    public void retryLoadInBackground() throws InterruptedException {
+        final List<String> readers = new CopyOnWriteArrayList<>();
+        TranslationIndex index = new TranslationIndex(_observer) {
+            @Override
+            TranslationSnapshot readAll() throws RepositoryException {
+                readers.add(Thread.currentThread().getName());
+                if (readers.size() == 1) {
+                    throw new RepositoryException("test");
+                }
+                return TranslationSnapshot.builder().put("/greeting", "greeting", Map.of(PREFIX_NAME + "de", "Hallo")).build();
+            }
+
+            @Override
+            long getRetryDelay() {
+                return 0L;
+            }
+        };
+        assertNull(index.getSnapshot());
+        assertNull(index.getSnapshot());
+        for (int i = 0; i < 500 && !index.isLoaded(); i++) {
+            Thread.sleep(10L);
+        }
+        assertTrue(index.isLoaded());
+        assertEquals(List.of(Thread.currentThread().getName(), "magkit-t9n-warm-up"), readers);
+    }
+
+    /**
+     * Verifies lookups do not read the workspace again before the retry delay has passed.
+     */
+    @Test
+    public void noRetryBeforeDelay() {
+        final List<String> readers = new CopyOnWriteArrayList<>();
+        TranslationIndex index = new TranslationIndex(_observer) {
+            @Override
+            TranslationSnapshot readAll() throws RepositoryException {
+                readers.add(Thread.currentThread().getName());
+                throw new RepositoryException("test");
+            }
+        };
+        assertNull(index.getSnapshot());
+        assertNull(index.getSnapshot());
+        assertFalse(index.isWarmingUp());
+        assertEquals(1, readers.size());
+    }
+
+    /**
+     * Verifies the warm-up reports the number of read nodes.
+     */
+    @Test
+    public void warmUpProgress() {
+        _index.warmUp();
+        assertTrue(_index.isLoaded());
+        assertFalse(_index.isWarmingUp());
+        assertEquals(1, _index.getLoadedNodes());
+        assertTrue(_index.getWarmUpDuration() >= 0L);
+    }
+
+    /**
+     * Verifies the persisted snapshot serves lookups until the workspace is loaded in the background.
+     */
+    @Test
+    public void serveMappedSnapshotUntilLoaded(@TempDir File directory) throws IOException, InterruptedException {
+        final File file = new File(directory, TranslationIndex.SNAPSHOT_FILE_NAME);
+        MappedSnapshot.write(TranslationSnapshot.builder().put("/greeting", "greeting", Map.of(PREFIX_NAME + "de", "Hallo")).build(), file);
+        final CountDownLatch release = new CountDownLatch(1);
+        TranslationIndex index = new TranslationIndex(_observer, () -> file) {
+            @Override
+            TranslationSnapshot readAll() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return TranslationSnapshot.builder().put("/greeting", "greeting", Map.of(PREFIX_NAME + "de", "Servus")).build();
+            }
+        };
+
+        assertTrue(index.isAvailable());
+        assertEquals("Hallo", index.getValue("greeting", DE));
+        assertEquals(EMPTY, index.getValue("missing", DE));
+        assertTrue(index.isWarmingUp());
+        assertFalse(index.isLoaded());
+
+        release.countDown();
+        for (int i = 0; i < 500 && index.isWarmingUp(); i++) {
+            Thread.sleep(10L);
+        }
+        assertTrue(index.isLoaded());
+        assertNull(index.getMappedSnapshot());
+        assertEquals("Servus", index.getValue("greeting", DE));
+        index.stop();
+        assertEquals("Servus", MappedSnapshot.map(file).lookup("greeting", DE));
+    }
+
+    /**
+     * Verifies the snapshot file is written in the background after loading and after changes.
+     */
+    @Test
+    public void persistSnapshot(@TempDir File directory) throws RepositoryException {
+        final File file = new File(directory, TranslationIndex.SNAPSHOT_FILE_NAME);
+        TranslationIndex index = new TranslationIndex(_observer, () -> file);
+        index.getSnapshot();
+        assertFalse(file.exists());
+        index.flushSnapshot();
+        assertEquals("Hallo", MappedSnapshot.map(file).lookup("greeting", DE));
+
+        stubProperty(PREFIX_NAME + "de", "Servus").of(_greeting);
+        index.applyChanges(Set.of("/greeting"));
+        assertEquals("Hallo", MappedSnapshot.map(file).lookup("greeting", DE));
+        index.stop();
+        assertEquals("Servus", MappedSnapshot.map(file).lookup("greeting", DE));
+    }
+
+    /**
+     * Verifies a burst of changes is written to the snapshot file once, with the latest state.
+     */
+    @Test
+    public void persistSnapshotOncePerBurst(@TempDir File directory) throws RepositoryException {
+        final File file = new File(directory, TranslationIndex.SNAPSHOT_FILE_NAME);
+        final List<Long> written = new ArrayList<>();
+        TranslationIndex index = new TranslationIndex(_observer, () -> file) {
+            @Override
+            void persist(TranslationSnapshot snapshot) {
+                written.add(snapshot.getVersion());
+                super.persist(snapshot);
+            }
+        };
+        index.getSnapshot();
+        stubProperty(PREFIX_NAME + "de", "Servus").of(_greeting);
+        index.applyChanges(Set.of("/greeting"));
+        stubProperty(PREFIX_NAME + "de", "Moin").of(_greeting);
+        index.applyChanges(Set.of("/greeting"));
+        index.flushSnapshot();
+        index.flushSnapshot();
+
+        assertEquals(List.of(index.getSnapshot().getVersion()), written);
+        assertEquals("Moin", MappedSnapshot.map(file).lookup("greeting", DE));
+    }
+
+    /**
+     * Verifies a change is built without holding the index lock and built again if the snapshot was replaced meanwhile.
+     */
+    @Test
+    @Timeout(10)
+    public void rebuildChangesOnReplacedSnapshot() throws RepositoryException {
+        final TranslationSnapshot initial = _index.getSnapshot();
+        Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+        when(session.nodeExists("/greeting")).thenAnswer(invocation -> {
+            // a reload publishes a new snapshot while the change is built
+            _index.reload();
+            return true;
+        }).thenReturn(true);
+        stubProperty(PREFIX_NAME + "de", "Servus").of(_greeting);
+
+        _index.applyChanges(Set.of("/greeting"));
+        verify(session, times(2)).nodeExists("/greeting");
+        assertTrue(_index.getSnapshot().getVersion() > initial.getVersion());
+        assertEquals("Servus", _index.getValue("greeting", DE));
+    }
+}
@@ -0,0 +1,212 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link TranslationSnapshot}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationSnapshotTest {
+
+    private static final String[] DE_DE = {"translation_de_DE", "translation_de"};
+
+    /**
+     * Verifies the first non-empty property value is returned in order of preference.
+     */
+    @Test
+    public void getValueUsesPropertyOrder() {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/hello", "hello", Map.of("translation_de", "Hallo", "translation_de_DE", ""))
+            .build();
+        assertEquals("Hallo", snapshot.getValue("hello", DE_DE));
+        assertEquals(EMPTY, snapshot.getValue("hello", new String[]{"translation_en"}));
+        assertEquals(EMPTY, snapshot.getValue("unknown", DE_DE));
+    }
+
+    /**
+     * Verifies removing a folder removes all entries below it, but not entries of sibling paths with the same prefix.
+     */
+    @Test
+    public void removeTreeRemovesDescendants() {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/folder/a", "a", Map.of("translation_de", "A"))
+            .put("/folder/sub/b", "b", Map.of("translation_de", "B"))
+            .put("/folder2/c", "c", Map.of("translation_de", "C"))
+            .build();
+
+        TranslationSnapshot changed = snapshot.toBuilder().removeTree("/folder").build();
+        assertEquals(1, changed.size());
+        assertTrue(changed.containsKey("c"));
+        assertEquals(3, snapshot.size());
+        assertEquals(snapshot.getVersion() + 1, changed.getVersion());
+    }
+
+    /**
+     * Verifies that a changed key of a node replaces the old key.
+     */
+    @Test
+    public void putReplacesRenamedKey() {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/node", "old.key", Map.of("translation_de", "Alt"))
+            .build()
+            .toBuilder()
+            .put("/node", "new.key", Map.of("translation_de", "Neu"))
+            .build();
+        assertFalse(snapshot.containsKey("old.key"));
+        assertEquals("Neu", snapshot.getValue("new.key", DE_DE));
+    }
+
+    /**
+     * Verifies that removing a node does not drop a key which has been taken over by another node.
+     */
+    @Test
+    public void removeKeepsKeyOwnedByOtherNode() {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/first", "key", Map.of("translation_de", "Erster"))
+            .put("/second", "key", Map.of("translation_de", "Zweiter"))
+            .build()
+            .toBuilder()
+            .removeTree("/first")
+            .build();
+        assertEquals("Zweiter", snapshot.getValue("key", DE_DE));
+    }
+
+    /**
+     * Verifies that removing the winning node of a duplicate key asks for the other node to be read again,
+     * while removing and putting back the winning node keeps the other node shadowed.
+     */
+    @Test
+    public void removeWinningNodeOrphansOtherNode() {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/first", "key", Map.of("translation_de", "Erster"))
+            .put("/second", "key", Map.of("translation_de", "Zweiter"))
+            .build();
+
+        TranslationSnapshot.Builder edited = snapshot.toBuilder().removeTree("/second").put("/second", "key", Map.of("translation_de", "Neu"));
+        assertTrue(edited.takeOrphanedPaths().isEmpty());
+        assertEquals("Neu", edited.build().getValue("key", DE_DE));
+
+        TranslationSnapshot.Builder removed = snapshot.toBuilder().removeTree("/second");
+        assertEquals(Set.of("/first"), removed.takeOrphanedPaths());
+        TranslationSnapshot restored = removed.put("/first", "key", Map.of("translation_de", "Erster")).build();
+        assertEquals("Erster", restored.getValue("key", DE_DE));
+        assertTrue(restored.toBuilder().removeTree("/first").takeOrphanedPaths().isEmpty());
+    }
+
+    /**
+     * Verifies that removed shadowed nodes are not read again.
+     */
+    @Test
+    public void removeTreeDropsShadowedDescendants() {
+        TranslationSnapshot.Builder builder = TranslationSnapshot.builder()
+            .put("/folder/first", "key", Map.of("translation_de", "Erster"))
+            .put("/second", "key", Map.of("translation_de", "Zweiter"))
+            .build()
+            .toBuilder()
+            .removeTree("/folder")
+            .removeTree("/second");
+        assertTrue(builder.takeOrphanedPaths().isEmpty());
+        assertFalse(builder.build().containsKey("key"));
+    }
+
+    /**
+     * Verifies equal values of different keys and properties are stored once.
+     */
+    @Test
+    public void deduplicateValues() {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/brand", "brand", Map.of("translation_de", new String("IBM iX"), "translation_en", new String("IBM iX")))
+            .put("/company", "company", Map.of("translation_de", new String("IBM iX"), "translation_en", "Company"))
+            .build();
+        assertEquals(2, snapshot.getDistinctValues());
+        assertSame(snapshot.getValue("brand", new String[]{"translation_en"}), snapshot.getValue("company", DE_DE));
+        assertEquals(Map.of("translation_de", "IBM iX", "translation_en", "Company"), snapshot.getValues("company"));
+        assertEquals(Map.of(), snapshot.getValues("unknown"));
+    }
+
+    /**
+     * Verifies the key ordinals stay consistent when keys are added and removed.
+     */
+    @Test
+    public void keysAfterChanges() {
+        TranslationSnapshot.Builder builder = TranslationSnapshot.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.put("/key" + i, "key." + i, Map.of("translation_de", "Wert " + i));
+        }
+        TranslationSnapshot snapshot = builder.build()
+            .toBuilder()
+            .removeTree("/key5")
+            .put("/added", "added", Map.of("translation_de", "Neu"))
+            .build();
+        assertEquals(1000, snapshot.size());
+        assertEquals(1000, snapshot.getKeys().size());
+        assertFalse(snapshot.containsKey("key.5"));
+        assertFalse(snapshot.getKeys().contains("key.5"));
+        assertTrue(snapshot.getKeys().contains("key.999"));
+        assertEquals("Wert 999", snapshot.getValue("key.999", DE_DE));
+        assertEquals("Wert 50", snapshot.getValue("key.50", DE_DE));
+        assertEquals("Neu", snapshot.getValue("added", DE_DE));
+    }
+
+    /**
+     * Verifies the changed keys report added, removed and changed values only.
+     */
+    @Test
+    public void changedKeys() {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/same", "same", Map.of("translation_de", "Gleich"))
+            .put("/changed", "changed", Map.of("translation_de", "Alt"))
+            .put("/removed", "removed", Map.of("translation_de", "Weg"))
+            .build();
+        TranslationSnapshot.Builder builder = snapshot.toBuilder()
+            .put("/same", "same", Map.of("translation_de", "Gleich"))
+            .put("/changed", "changed", Map.of("translation_de", "Neu"))
+            .removeTree("/removed")
+            .put("/added", "added", Map.of("translation_de", "Neu"));
+        assertEquals(Set.of("changed", "removed", "added"), builder.getChangedKeys());
+    }
+
+    /**
+     * Verifies the footprint grows with the stored keys and values.
+     */
+    @Test
+    public void estimatedFootprint() {
+        final long empty = TranslationSnapshot.EMPTY_SNAPSHOT.getEstimatedFootprint();
+        TranslationSnapshot snapshot = TranslationSnapshot.builder()
+            .put("/hello", "hello", Map.of("translation_de", "Hallo", "translation_en", "Hello"))
+            .build();
+        assertTrue(snapshot.getEstimatedFootprint() > empty);
+        assertEquals(0, snapshot.getEstimatedFootprint() % 8);
+    }
+}
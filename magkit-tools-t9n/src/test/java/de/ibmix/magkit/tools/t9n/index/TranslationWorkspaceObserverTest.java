@@ -0,0 +1,121 @@
+package de.ibmix.magkit.tools.t9n.index;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.rest.TranslationBundleCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+import javax.jcr.query.Query;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.cleanContext;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockQueryResult;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockSystemContext;
+import static de.ibmix.magkit.test.cms.context.SystemContextStubbingOperation.stubJcrSession;
+import static de.ibmix.magkit.test.jcr.NodeMockUtils.mockNode;
+import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubProperty;
+import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubType;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link TranslationWorkspaceObserver}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationWorkspaceObserverTest {
+
+    private static final String[] DE = {PREFIX_NAME + "de"};
+
+    private TranslationWorkspaceObserver _observer;
+    private Node _greeting;
+
+    @BeforeEach
+    public void setUp() throws RepositoryException {
+        mockSystemContext(stubJcrSession(WS_TRANSLATION));
+        _greeting = mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo"),
+            stubType(NAME)
+        );
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, TranslationIndex.ALL_TRANSLATIONS_QUERY, _greeting);
+        _observer = spy(new TranslationWorkspaceObserver());
+        // the JCR observation is not available in tests
+        doNothing().when(_observer).register();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanContext();
+    }
+
+    /**
+     * Verifies the index and the bundle cache receive the changes again after the module was stopped and started:
+     * changes made while stopped are read on resume and later changes are applied as before.
+     */
+    @Test
+    public void changesReachListenersAfterRestart() throws RepositoryException {
+        final TranslationIndex index = new TranslationIndex(_observer);
+        final TranslationBundleCache cache = new TranslationBundleCache(_observer);
+        final AtomicInteger loads = new AtomicInteger();
+        final TranslationBundleCache.Loader loader = locale -> Map.of("greeting", locale + loads.incrementAndGet());
+        assertEquals("Hallo", index.getValue("greeting", DE));
+        assertEquals("de1", cache.get("de", loader).getLabels().get("greeting"));
+
+        _observer.unregister();
+        stubProperty(PREFIX_NAME + "de", "Servus").of(_greeting);
+        _observer.resume();
+        verify(_observer, times(3)).register();
+        assertEquals("Servus", index.getValue("greeting", DE));
+        assertEquals("de2", cache.get("de", loader).getLabels().get("greeting"));
+
+        stubProperty(PREFIX_NAME + "de", "Grüß Gott").of(_greeting);
+        _observer.fireChanges(Set.of("/greeting"));
+        assertEquals("Grüß Gott", index.getValue("greeting", DE));
+        assertEquals("de3", cache.get("de", loader).getLabels().get("greeting"));
+    }
+
+    /**
+     * Verifies resuming an observation that was never unregistered does not notify the listeners.
+     */
+    @Test
+    public void resumeWithoutUnregister() {
+        final AtomicInteger changes = new AtomicInteger();
+        _observer.addListener(paths -> changes.incrementAndGet());
+        _observer.resume();
+        assertEquals(0, changes.get());
+        assertEquals(0, _observer.getVersion());
+    }
+}
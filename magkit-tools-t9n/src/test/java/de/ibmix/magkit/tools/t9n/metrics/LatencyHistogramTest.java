@@ -0,0 +1,69 @@
+package de.ibmix.magkit.tools.t9n.metrics;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketBoundaries() {
+        assertEquals(0, LatencyHistogram.bucket(-5L));
+        assertEquals(0, LatencyHistogram.bucket(0L));
+        assertEquals(1, LatencyHistogram.bucket(1L));
+        assertEquals(2, LatencyHistogram.bucket(2L));
+        assertEquals(2, LatencyHistogram.bucket(3L));
+        assertEquals(11, LatencyHistogram.bucket(1024L));
+        assertEquals(63, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getPercentile(50.0));
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100L);
+        }
+        histogram.record(100_000L);
+        assertEquals(100L, histogram.getCount());
+        assertEquals(127L, histogram.getPercentile(50.0));
+        assertEquals(127L, histogram.getPercentile(99.0));
+        assertEquals(131_071L, histogram.getPercentile(100.0));
+        assertEquals(1099L, histogram.getMean());
+    }
+
+    @Test
+    public void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10L);
+        histogram.reset();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getMean());
+    }
+}
@@ -0,0 +1,138 @@
+package de.ibmix.magkit.tools.t9n.metrics;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link TranslationMetrics}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationMetricsTest {
+
+    private TranslationMetrics _metrics;
+
+    @BeforeEach
+    public void setUp() {
+        _metrics = new TranslationMetrics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        _metrics.unregister();
+    }
+
+    @Test
+    public void countLookups() {
+        _metrics.recordOverrideHit(Locale.GERMAN, 100L);
+        _metrics.recordOverrideHit(Locale.GERMAN, 100L);
+        _metrics.recordBundleFallback(Locale.ENGLISH, 100L);
+        _metrics.recordMergedBundleLookup(null, 100L);
+        _metrics.recordQueryError();
+
+        assertEquals(4L, _metrics.getLookups());
+        assertEquals(2L, _metrics.getOverrideHits());
+        assertEquals(1L, _metrics.getBundleFallbacks());
+        assertEquals(1L, _metrics.getMergedBundleLookups());
+        assertEquals(1L, _metrics.getQueryErrors());
+        assertEquals(Map.of("de", 2L, "en", 1L, "", 1L), _metrics.getLookupsByLocale());
+        assertEquals(Map.of("de", 2L), _metrics.getOverrideHitsByLocale());
+        assertEquals(127L, _metrics.getLatencyP99Nanos());
+        assertEquals(4L, _metrics.getLatencyHistogram()[7]);
+
+        _metrics.reset();
+        assertEquals(0L, _metrics.getLookups());
+        assertTrue(_metrics.getLookupsByLocale().isEmpty());
+    }
+
+    @Test
+    public void boundLocales() {
+        for (int i = 0; i < TranslationMetrics.MAX_LOCALES + 5; i++) {
+            _metrics.recordOverrideHit(new Locale("l" + i), 100L);
+        }
+        _metrics.recordBundleFallback(new Locale("l0"), 100L);
+
+        Map<String, Long> lookups = _metrics.getLookupsByLocale();
+        assertEquals(TranslationMetrics.MAX_LOCALES + 1, lookups.size());
+        assertEquals(2L, lookups.get("l0"));
+        assertEquals(5L, lookups.get("other"));
+        assertEquals(5L, _metrics.getOverrideHitsByLocale().get("other"));
+        assertEquals(TranslationMetrics.MAX_LOCALES + 6L, _metrics.getLookups());
+    }
+
+    @Test
+    public void reportIndexState() {
+        TranslationIndex index = mock(TranslationIndex.class);
+        when(index.getFilterRejections()).thenReturn(3L);
+        when(index.getFilterPasses()).thenReturn(1L);
+        when(index.getFilterFalsePositives()).thenReturn(1L);
+        when(index.getFilterFalsePositiveRate()).thenReturn(0.25);
+        when(index.isWarmingUp()).thenReturn(true);
+        when(index.getLoadedNodes()).thenReturn(42);
+        when(index.getWarmUpDuration()).thenReturn(-1L);
+        _metrics.unregister();
+        _metrics = new TranslationMetrics(() -> index);
+
+        assertEquals(3L, _metrics.getFilterRejections());
+        assertEquals(1L, _metrics.getFilterFalsePositives());
+        assertEquals(0.75, _metrics.getFilterHitRate());
+        assertEquals(0.25, _metrics.getFilterFalsePositiveRate());
+        assertFalse(_metrics.isIndexLoaded());
+        assertTrue(_metrics.isIndexWarmingUp());
+        assertEquals(42, _metrics.getIndexLoadedNodes());
+        assertEquals(-1L, _metrics.getIndexWarmUpDuration());
+    }
+
+    @Test
+    public void reportWithoutIndex() {
+        assertEquals(0.0, _metrics.getFilterHitRate());
+        assertFalse(_metrics.isIndexWarmingUp());
+        assertEquals(-1L, _metrics.getIndexWarmUpDuration());
+    }
+
+    @Test
+    public void registeredAsMBean() throws Exception {
+        ObjectName name = new ObjectName(TranslationMetrics.OBJECT_NAME);
+        _metrics.recordQueryError();
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "QueryErrors"));
+
+        TranslationMetrics replacement = new TranslationMetrics();
+        assertEquals(0L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "QueryErrors"));
+        replacement.unregister();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
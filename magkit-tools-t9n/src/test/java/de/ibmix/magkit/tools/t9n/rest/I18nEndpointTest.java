@@ -22,19 +22,44 @@ package de.ibmix.magkit.tools.t9n.rest;
 
 import de.ibmix.magkit.test.cms.context.ContextMockUtils;
 import de.ibmix.magkit.tools.t9n.TranslationNodeTypes;
+import de.ibmix.magkit.tools.t9n.index.KeyDeletionLog;
+import de.ibmix.magkit.tools.t9n.index.TranslationChangeBroadcaster;
+import de.ibmix.magkit.tools.t9n.index.TranslationWorkspaceObserver;
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import info.magnolia.cms.i18n.I18nContentSupport;
 import info.magnolia.context.MgnlContext;
 import info.magnolia.rest.registry.ConfiguredEndpointDefinition;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import javax.jcr.Node;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
+import javax.jcr.query.Query;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
 
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockQueryResult;
 import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockSystemContext;
 import static de.ibmix.magkit.test.cms.context.SystemContextStubbingOperation.stubJcrSession;
 import static de.ibmix.magkit.test.jcr.NodeMockUtils.mockNode;
@@ -44,8 +69,18 @@ import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
 import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PREFIX_NAME;
 import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -80,12 +115,9 @@ public class I18nEndpointTest {
             stubProperty(PREFIX_NAME + "de", "Hallo"),
             stubType(TranslationNodeTypes.Translation.NAME)
         );
-        Response response = _endpoint.translate("de");
+        Response response = _endpoint.translate("de", null, null, null, null);
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-        Map<?, ?> entity = (Map<?, ?>) response.getEntity();
-        assertEquals(1, entity.size());
-        assertEquals("Hallo", entity.get("test.key.greeting"));
-
+        assertEquals("{\"test.key.greeting\":\"Hallo\"}", getJson(response));
     }
 
     /**
@@ -98,11 +130,9 @@ public class I18nEndpointTest {
             stubProperty(PREFIX_NAME + "en", "Hello"),
             stubType(TranslationNodeTypes.Translation.NAME)
         );
-        Response response = _endpoint.translate("en_US");
+        Response response = _endpoint.translate("en_US", null, null, null, null);
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-        Map<?, ?> entity = (Map<?, ?>) response.getEntity();
-        assertEquals(1, entity.size());
-        assertEquals("Hello", entity.get("greet"));
+        assertEquals("{\"greet\":\"Hello\"}", getJson(response));
     }
 
     /**
@@ -116,11 +146,9 @@ public class I18nEndpointTest {
             stubProperty(PREFIX_NAME + "en_US", "Howdy"),
             stubType(TranslationNodeTypes.Translation.NAME)
         );
-        Response response = _endpoint.translate("en_US");
+        Response response = _endpoint.translate("en_US", null, null, null, null);
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-        Map<?, ?> entity = (Map<?, ?>) response.getEntity();
-        assertEquals(1, entity.size());
-        assertEquals("Howdy", entity.get("welcome"));
+        assertEquals("{\"welcome\":\"Howdy\"}", getJson(response));
     }
 
     /**
@@ -128,10 +156,9 @@ public class I18nEndpointTest {
      */
     @Test
     public void translateReturnsEmptyMapWhenNoNodes() {
-        Response response = _endpoint.translate("de");
+        Response response = _endpoint.translate("de", null, null, null, null);
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-        Map<?, ?> entity = (Map<?, ?>) response.getEntity();
-        assertTrue(entity.isEmpty());
+        assertEquals("{}", getJson(response));
     }
 
     /**
@@ -141,7 +168,7 @@ public class I18nEndpointTest {
     public void translateReturnsEmptyMapOnRepositoryException() throws RepositoryException {
         Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
         when(session.getRootNode()).thenThrow(new RepositoryException("failure"));
-        Response response = _endpoint.translate("en");
+        Response response = _endpoint.translate("en", null, null, null, null);
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         Map<?, ?> entity = (Map<?, ?>) response.getEntity();
         assertTrue(entity.isEmpty());
@@ -163,12 +190,9 @@ public class I18nEndpointTest {
             stubType(TranslationNodeTypes.Translation.NAME)
         );
 
-        Response response = _endpoint.translate("de");
+        Response response = _endpoint.translate("de", null, null, null, null);
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-        Map<String, String> entity = (Map<String, String>) response.getEntity();
-        List<String> keys = new ArrayList<>(entity.keySet());
-        assertEquals("a.key", keys.get(0));
-        assertEquals("b.key", keys.get(1));
+        assertEquals("{\"a.key\":\"A\",\"b.key\":\"B\"}", getJson(response));
     }
 
     /**
@@ -185,9 +209,416 @@ public class I18nEndpointTest {
             stubProperty(PREFIX_NAME + "de", "wrong node type"),
             stubType("wrongNodeType")
         );
-        Response response = _endpoint.translate("de");
+        Response response = _endpoint.translate("de", null, null, null, null);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals("{}", getJson(response));
+    }
+
+    /**
+     * Verifies the bundle is read once and served from the cache until the workspace changes.
+     */
+    @Test
+    public void serveCachedBundle() throws RepositoryException {
+        Node greeting = mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        TranslationBundleCache cache = new TranslationBundleCache(mock(TranslationWorkspaceObserver.class));
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, cache, null, null, null, null);
+        assertEquals("{\"greeting\":\"Hallo\"}", getJson(endpoint.translate("de", null, null, null, null)));
+
+        stubProperty(PREFIX_NAME + "de", "Servus").of(greeting);
+        assertEquals("{\"greeting\":\"Hallo\"}", getJson(endpoint.translate("de", null, null, null, null)));
+        assertEquals(1, cache.getHits());
+
+        cache.invalidate();
+        assertEquals("{\"greeting\":\"Servus\"}", getJson(endpoint.translate("de", null, null, null, null)));
+    }
+
+    /**
+     * Verifies the ETag of the response and 304 Not Modified for a matching If-None-Match header.
+     */
+    @Test
+    public void conditionalRequest() throws RepositoryException {
+        Node greeting = mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        Response response = _endpoint.translate("de", null, null, null, null);
+        EntityTag etag = response.getEntityTag();
+        assertNotNull(etag);
+
+        Response notModified = _endpoint.translate("de", '"' + etag.getValue() + '"', null, null, null);
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), notModified.getStatus());
+        assertNull(notModified.getEntity());
+        assertEquals(etag, notModified.getEntityTag());
+
+        stubProperty(PREFIX_NAME + "de", "Servus").of(greeting);
+        Response changed = _endpoint.translate("de", '"' + etag.getValue() + '"', null, null, null);
+        assertEquals(Response.Status.OK.getStatusCode(), changed.getStatus());
+        assertNotEquals(etag, changed.getEntityTag());
+    }
+
+    /**
+     * Verifies the prefix parameter restricts the cached bundle to the matching keys with an own entity tag.
+     */
+    @Test
+    public void translateWithPrefixes() throws RepositoryException {
+        mockNode(WS_TRANSLATION, "/cartTitle",
+            stubProperty(PN_KEY, "cart.title"),
+            stubProperty(PREFIX_NAME + "de", "Warenkorb"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        mockNode(WS_TRANSLATION, "/footer",
+            stubProperty(PN_KEY, "footer"),
+            stubProperty(PREFIX_NAME + "de", "Fuß"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        TranslationBundleCache cache = new TranslationBundleCache(mock(TranslationWorkspaceObserver.class));
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, cache, null, null, null, null);
+
+        Response all = endpoint.translate("de", null, null, null, null);
+        Response filtered = endpoint.translate("de", null, null, List.of("cart."), null);
+        assertEquals("{\"cart.title\":\"Warenkorb\"}", getJson(filtered));
+        assertNotEquals(all.getEntityTag(), filtered.getEntityTag());
+        assertEquals(1, cache.getHits());
+
+        Response notModified = endpoint.translate("de", '"' + filtered.getEntityTag().getValue() + '"', null, List.of("cart."), null);
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), notModified.getStatus());
+    }
+
+    /**
+     * Verifies the streaming mode restricts the query to the requested prefixes.
+     */
+    @Test
+    public void sortedTranslationsQueryWithPrefixes() {
+        assertEquals("select * from [mgnl:translation] as t where ischildnode(t, '/') order by t.[key]", I18nEndpoint.getSortedTranslationsQuery(KeyPrefixes.NONE));
+        assertEquals("select * from [mgnl:translation] as t where ischildnode(t, '/') and (t.[key] like 'cart.%') order by t.[key]",
+            I18nEndpoint.getSortedTranslationsQuery(KeyPrefixes.of(List.of("cart."))));
+    }
+
+    /**
+     * Verifies the batch resource returns the translations of each requested locale keyed by locale.
+     */
+    @Test
+    public void translateSeveralLocales() throws RepositoryException {
+        Node greeting = mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo"),
+            stubProperty(PREFIX_NAME + "en", "Hello"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        mockNode(WS_TRANSLATION, "/farewell",
+            stubProperty(PN_KEY, "farewell"),
+            stubProperty(PREFIX_NAME + "de", "Tschüss"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        TranslationBundleCache cache = new TranslationBundleCache(mock(TranslationWorkspaceObserver.class));
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, cache, null, null, null, null);
+
+        Response response = endpoint.translateAll(List.of("en", "de", "en"), null, null);
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
         Map<?, ?> entity = (Map<?, ?>) response.getEntity();
-        assertTrue(entity.isEmpty());
+        assertEquals(List.of("en", "de"), new ArrayList<>(entity.keySet()));
+        assertEquals(Map.of("farewell", "Tschüss", "greeting", "Hallo"), entity.get("de"));
+        assertEquals(Map.of("farewell", "", "greeting", "Hello"), entity.get("en"));
+        assertEquals(2, cache.getMisses());
+        assertEquals(Map.of("greeting", "Hello"), ((Map<?, ?>) endpoint.translateAll(List.of("en"), null, List.of("gr")).getEntity()).get("en"));
+
+        final String etag = '"' + response.getEntityTag().getValue() + '"';
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), endpoint.translateAll(List.of("en", "de"), etag, null).getStatus());
+        stubProperty(PREFIX_NAME + "en", "Hi").of(greeting);
+        cache.invalidate();
+        assertEquals(Response.Status.OK.getStatusCode(), endpoint.translateAll(List.of("en", "de"), etag, null).getStatus());
+    }
+
+    /**
+     * Verifies the batch resource rejects missing and malformed locales.
+     */
+    @Test
+    public void translateSeveralLocalesRejectsInvalidLocales() {
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), _endpoint.translateAll(null, null, null).getStatus());
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), _endpoint.translateAll(List.of(), null, null).getStatus());
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), _endpoint.translateAll(List.of("de", "../en"), null, null).getStatus());
+    }
+
+    /**
+     * Verifies the manifest lists the bundle hash of the site locales and of requested locales.
+     */
+    @Test
+    public void manifestOfBundleHashes() throws RepositoryException {
+        mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo"),
+            stubProperty(PREFIX_NAME + "en", "Hello"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        I18nContentSupport i18nContentSupport = mock(I18nContentSupport.class);
+        when(i18nContentSupport.getLocales()).thenReturn(List.of(Locale.GERMAN, Locale.ENGLISH, new Locale("de", "CH", "POSIX")));
+        TranslationBundleCache cache = new TranslationBundleCache(mock(TranslationWorkspaceObserver.class));
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, cache, null, null, i18nContentSupport, null);
+
+        Response response = endpoint.manifest(null, null);
+        assertEquals(I18nEndpoint.CACHE_REVALIDATE, response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        Map<?, ?> hashes = (Map<?, ?>) response.getEntity();
+        assertEquals(List.of("de", "en"), new ArrayList<>(hashes.keySet()));
+        assertEquals(new TranslationBundle(Map.of("greeting", "Hallo")).getEtag(), hashes.get("de"));
+        assertEquals(Map.of("en", hashes.get("en")), endpoint.manifest(List.of("en"), null).getEntity());
+
+        final String etag = '"' + response.getEntityTag().getValue() + '"';
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), endpoint.manifest(null, etag).getStatus());
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), endpoint.manifest(List.of("deutsch"), null).getStatus());
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), _endpoint.manifest(null, null).getStatus());
+    }
+
+    /**
+     * Verifies the hashed bundle is served immutable from precomputed bytes and outdated hashes are not found.
+     */
+    @Test
+    public void immutableHashedBundle() throws IOException, RepositoryException {
+        Node greeting = mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        TranslationBundleCache cache = new TranslationBundleCache(mock(TranslationWorkspaceObserver.class));
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, cache, null, null, null, null);
+        final String hash = (String) ((Map<?, ?>) endpoint.manifest(List.of("de"), null).getEntity()).get("de");
+
+        Response response = endpoint.bundle("de", hash, null);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(I18nEndpoint.CACHE_IMMUTABLE, response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        assertEquals(hash, response.getEntityTag().getValue());
+        assertEquals("{\"greeting\":\"Hallo\"}", new String((byte[]) response.getEntity(), StandardCharsets.UTF_8));
+
+        Response gzip = endpoint.bundle("de", hash, "gzip");
+        assertEquals(I18nEndpoint.GZIP, gzip.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(hash + I18nEndpoint.GZIP_ETAG_SUFFIX, gzip.getEntityTag().getValue());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) gzip.getEntity()))) {
+            assertEquals("{\"greeting\":\"Hallo\"}", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        stubProperty(PREFIX_NAME + "de", "Servus").of(greeting);
+        cache.invalidate();
+        Response outdated = endpoint.bundle("de", hash, null);
+        assertEquals(Response.Status.NOT_FOUND.getStatusCode(), outdated.getStatus());
+        assertEquals(I18nEndpoint.CACHE_NONE, outdated.getHeaderString(HttpHeaders.CACHE_CONTROL));
+    }
+
+    /**
+     * Verifies the pre-parsed output format with its own entity tag and the rejection of unknown formats.
+     */
+    @Test
+    public void translateAsAst() throws RepositoryException {
+        mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo {0}"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        TranslationModule module = new TranslationModule();
+        module.setStreamBundles(true);
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, null, () -> module, null, null, null);
+
+        Response response = endpoint.translate("de", null, null, null, I18nEndpoint.FORMAT_AST);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals("{\"greeting\":[\"Hallo \",{\"arg\":0}]}", new String((byte[]) response.getEntity(), StandardCharsets.UTF_8));
+        EntityTag etag = response.getEntityTag();
+        assertTrue(etag.getValue().endsWith(I18nEndpoint.AST_ETAG_SUFFIX));
+
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), endpoint.translate("de", '"' + etag.getValue() + '"', null, null, I18nEndpoint.FORMAT_AST).getStatus());
+        assertEquals(Response.Status.BAD_REQUEST.getStatusCode(), endpoint.translate("de", null, null, null, "xml").getStatus());
+        assertEquals(Response.Status.OK.getStatusCode(), _endpoint.translate("de", '"' + etag.getValue() + '"', null, null, I18nEndpoint.FORMAT_JSON).getStatus());
+    }
+
+    /**
+     * Verifies clients accepting gzip get the precompressed JSON payload.
+     */
+    @Test
+    public void gzipEncodedResponse() throws IOException {
+        mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo \"Welt\""),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        Response response = _endpoint.translate("de", null, "gzip, deflate, br", null, null);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaderString(HttpHeaders.VARY));
+        EntityTag etag = response.getEntityTag();
+        assertTrue(etag.getValue().endsWith(I18nEndpoint.GZIP_ETAG_SUFFIX));
+        final String json;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getEntity()))) {
+            json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals("{\"greeting\":\"Hallo \\\"Welt\\\"\"}", json);
+
+        // the identity encoding has the same content but its own entity tag
+        Response identity = _endpoint.translate("de", '"' + etag.getValue() + '"', "identity", null, null);
+        assertEquals(Response.Status.OK.getStatusCode(), identity.getStatus());
+        assertNull(identity.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, identity.getHeaderString(HttpHeaders.VARY));
+        assertNotEquals(etag, identity.getEntityTag());
+        assertEquals(json, getJson(identity));
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), _endpoint.translate("de", '"' + etag.getValue() + '"', "gzip", null, null).getStatus());
+    }
+
+    @Test
+    public void acceptsGzip() {
+        assertTrue(I18nEndpoint.acceptsGzip("gzip"));
+        assertTrue(I18nEndpoint.acceptsGzip("deflate, GZIP;q=0.8"));
+        assertTrue(I18nEndpoint.acceptsGzip("*"));
+        assertTrue(I18nEndpoint.acceptsGzip("*;q=0, gzip"));
+        assertFalse(I18nEndpoint.acceptsGzip("gzip;q=0, *"));
+        assertFalse(I18nEndpoint.acceptsGzip("gzip; q=0.000"));
+        assertFalse(I18nEndpoint.acceptsGzip("br, deflate"));
+        assertFalse(I18nEndpoint.acceptsGzip(null));
+    }
+
+    /**
+     * Verifies the streaming mode writes the sorted query result without duplicate or missing keys, the last node of a
+     * duplicate key wins like in the cached bundle.
+     */
+    @Test
+    public void streamSortedLabels() throws IOException, RepositoryException {
+        Node first = mockNode(WS_TRANSLATION, "/a",
+            stubProperty(PN_KEY, "a.key"),
+            stubProperty(PREFIX_NAME + "de", "A")
+        );
+        Node duplicate = mockNode(WS_TRANSLATION, "/a2",
+            stubProperty(PN_KEY, "a.key"),
+            stubProperty(PREFIX_NAME + "de", "A2")
+        );
+        Node withoutKey = mockNode(WS_TRANSLATION, "/none");
+        Node last = mockNode(WS_TRANSLATION, "/b",
+            stubProperty(PN_KEY, "b.key"),
+            stubProperty(PREFIX_NAME + "en", "B")
+        );
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, I18nEndpoint.getSortedTranslationsQuery(KeyPrefixes.NONE), first, duplicate, withoutKey, last);
+        TranslationModule module = new TranslationModule();
+        module.setStreamBundles(true);
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, null, () -> module, null, null, null);
+
+        Response response = endpoint.translate("de", null, "gzip", null, null);
+        assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        assertNull(response.getEntityTag());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        assertEquals("{\"a.key\":\"A2\",\"b.key\":\"\"}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Verifies all translations are returned without version or with a version older than the deletion log.
+     */
+    @Test
+    public void translateChangesFull() throws RepositoryException {
+        mockNode(WS_TRANSLATION, "/greeting",
+            stubProperty(PN_KEY, "greeting"),
+            stubProperty(PREFIX_NAME + "de", "Hallo"),
+            stubType(TranslationNodeTypes.Translation.NAME)
+        );
+        KeyDeletionLog deletionLog = mock(KeyDeletionLog.class);
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, null, null, deletionLog, null, null);
+
+        final long start = System.currentTimeMillis() - I18nEndpoint.VERSION_OVERLAP;
+        Map<?, ?> changes = (Map<?, ?>) endpoint.translateChanges("de", null, null).getEntity();
+        assertTrue((Long) changes.get("version") >= start);
+        assertEquals(true, changes.get("full"));
+        assertEquals(Map.of("greeting", "Hallo"), changes.get("changed"));
+        assertEquals(Set.of(), changes.get("deleted"));
+
+        changes = (Map<?, ?>) endpoint.translateChanges("de", 1000L, null).getEntity();
+        assertEquals(true, changes.get("full"));
+        verify(deletionLog).getDeletedSince(1000L);
+    }
+
+    /**
+     * Verifies the changed translations are queried by modification date and merged with the deleted keys.
+     */
+    @Test
+    public void translateChangesSinceVersion() throws RepositoryException {
+        Node changed = mockNode(WS_TRANSLATION, "/changed",
+            stubProperty(PN_KEY, "changed"),
+            stubProperty(PREFIX_NAME + "de", "Neu")
+        );
+        Node readded = mockNode(WS_TRANSLATION, "/readded",
+            stubProperty(PN_KEY, "readded"),
+            stubProperty(PREFIX_NAME + "de", "Wieder da")
+        );
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, String.format(I18nEndpoint.CHANGED_TRANSLATIONS_QUERY, "2026-10-18T08:00:00.000Z"), changed, readded);
+        KeyDeletionLog deletionLog = mock(KeyDeletionLog.class);
+        when(deletionLog.getDeletedSince(1792310400000L)).thenReturn(new LinkedHashSet<>(List.of("removed", "readded")));
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, null, null, deletionLog, null, null);
+
+        Map<?, ?> changes = (Map<?, ?>) endpoint.translateChanges("de", 1792310400000L, null).getEntity();
+        assertEquals(false, changes.get("full"));
+        assertEquals(Map.of("changed", "Neu", "readded", "Wieder da"), changes.get("changed"));
+        assertEquals(Set.of("removed"), changes.get("deleted"));
+    }
+
+    /**
+     * Verifies the event stream subscribes with a filter for the locale fallbacks and key prefixes.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void streamChanges() {
+        TranslationChangeBroadcaster broadcaster = mock(TranslationChangeBroadcaster.class);
+        I18nEndpoint endpoint = new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, null, null, null, null, broadcaster);
+        SseEventSink sink = mock(SseEventSink.class);
+        Sse sse = mock(Sse.class);
+        OutboundSseEvent.Builder builder = mock(OutboundSseEvent.Builder.class, RETURNS_SELF);
+        OutboundSseEvent sent = mock(OutboundSseEvent.class);
+        when(sse.newEventBuilder()).thenReturn(builder);
+        when(builder.build()).thenReturn(sent);
+
+        endpoint.streamChanges(List.of("de_CH"), List.of("cart."), "42", sink, sse);
+        ArgumentCaptor<TranslationChangeBroadcaster.Subscriber> subscriber = ArgumentCaptor.forClass(TranslationChangeBroadcaster.Subscriber.class);
+        ArgumentCaptor<Predicate<TranslationChangeBroadcaster.ChangeEvent>> filter = ArgumentCaptor.forClass(Predicate.class);
+        verify(broadcaster).subscribe(subscriber.capture(), eq("42"), filter.capture());
+
+        assertTrue(filter.getValue().test(new TranslationChangeBroadcaster.ChangeEvent(43, TranslationChangeBroadcaster.EVENT_CHANGE, "cart.title", "de", "Warenkorb")));
+        assertTrue(filter.getValue().test(new TranslationChangeBroadcaster.ChangeEvent(43, TranslationChangeBroadcaster.EVENT_CHANGE, "cart.title", "de_CH", "Warenchorb")));
+        assertTrue(filter.getValue().test(new TranslationChangeBroadcaster.ChangeEvent(43, TranslationChangeBroadcaster.EVENT_DELETE, "cart.title", null, null)));
+        assertFalse(filter.getValue().test(new TranslationChangeBroadcaster.ChangeEvent(43, TranslationChangeBroadcaster.EVENT_CHANGE, "cart.title", "en", "Cart")));
+        assertFalse(filter.getValue().test(new TranslationChangeBroadcaster.ChangeEvent(43, TranslationChangeBroadcaster.EVENT_CHANGE, "footer", "de", "Fuß")));
+
+        subscriber.getValue().send(new TranslationChangeBroadcaster.ChangeEvent(43, TranslationChangeBroadcaster.EVENT_CHANGE, "cart.title", "de", "Warenkorb"));
+        verify(builder).id("43");
+        verify(builder).name(TranslationChangeBroadcaster.EVENT_CHANGE);
+        verify(builder).data("{\"key\":\"cart.title\",\"locale\":\"de\",\"value\":\"Warenkorb\"}");
+        verify(sink).send(sent);
+
+        subscriber.getValue().sendHeartbeat();
+        verify(builder).comment(I18nEndpoint.HEARTBEAT_COMMENT);
+        verify(sink, times(2)).send(sent);
+    }
+
+    /**
+     * Verifies the event stream is closed for malformed locales and without broadcaster.
+     */
+    @Test
+    public void streamChangesRejected() {
+        TranslationChangeBroadcaster broadcaster = mock(TranslationChangeBroadcaster.class);
+        SseEventSink sink = mock(SseEventSink.class);
+        new I18nEndpoint(mock(ConfiguredEndpointDefinition.class), null, null, null, null, null, null, broadcaster).streamChanges(List.of("german"), null, null, sink, mock(Sse.class));
+        _endpoint.streamChanges(null, null, null, sink, mock(Sse.class));
+        verify(sink, times(2)).close();
+        verify(broadcaster, never()).subscribe(any(), any(), any());
+    }
+
+    /**
+     * Verifies the data of the change events.
+     */
+    @Test
+    public void changeEventJson() {
+        assertEquals("{\"key\":\"a\",\"locale\":\"de\",\"value\":\"\\\"1\\\"\"}",
+            I18nEndpoint.toJson(new TranslationChangeBroadcaster.ChangeEvent(1, TranslationChangeBroadcaster.EVENT_CHANGE, "a", "de", "\"1\"")));
+        assertEquals("{\"key\":\"a\"}", I18nEndpoint.toJson(new TranslationChangeBroadcaster.ChangeEvent(2, TranslationChangeBroadcaster.EVENT_DELETE, "a", null, null)));
+        assertEquals("{}", I18nEndpoint.toJson(new TranslationChangeBroadcaster.ChangeEvent(3, TranslationChangeBroadcaster.EVENT_RESET, null, null, null)));
+    }
+
+    private static String getJson(Response response) {
+        return new String((byte[]) response.getEntity(), StandardCharsets.UTF_8);
     }
 }
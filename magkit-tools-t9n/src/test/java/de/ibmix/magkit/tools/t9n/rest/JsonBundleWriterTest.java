@@ -0,0 +1,63 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link JsonBundleWriter}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class JsonBundleWriterTest {
+
+    @Test
+    public void writeObjectInMapOrder() throws IOException {
+        Map<String, String> labels = new LinkedHashMap<>();
+        labels.put("b", "2");
+        labels.put("a", null);
+        StringWriter out = new StringWriter();
+        JsonBundleWriter.write(labels, out);
+        assertEquals("{\"b\":\"2\",\"a\":null}", out.toString());
+
+        out = new StringWriter();
+        JsonBundleWriter.write(Map.of(), out);
+        assertEquals("{}", out.toString());
+    }
+
+    /**
+     * Verifies quotes, backslashes, control characters and line separators are escaped.
+     */
+    @Test
+    public void escapeStrings() throws IOException {
+        StringWriter out = new StringWriter();
+        JsonBundleWriter.writeString("a\"b\\c\nd\te\u0001f\u2028g ä", out);
+        assertEquals("\"a\\\"b\\\\c\\nd\\te\\u0001f\\u2028g ä\"", out.toString());
+    }
+}
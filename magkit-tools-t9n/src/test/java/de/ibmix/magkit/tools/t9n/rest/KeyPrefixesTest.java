@@ -0,0 +1,94 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link KeyPrefixes}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class KeyPrefixesTest {
+
+    /**
+     * Verifies duplicates and covered prefixes are removed and empty prefixes match all keys.
+     */
+    @Test
+    public void normalize() {
+        assertSame(KeyPrefixes.NONE, KeyPrefixes.of(null));
+        assertSame(KeyPrefixes.NONE, KeyPrefixes.of(List.of()));
+        assertSame(KeyPrefixes.NONE, KeyPrefixes.of(List.of("cart.", "")));
+        assertSame(KeyPrefixes.NONE, KeyPrefixes.of(Arrays.asList("cart.", null)));
+
+        KeyPrefixes prefixes = KeyPrefixes.of(List.of("checkout.payment.", "cart.", "checkout.", "cart."));
+        assertEquals(List.of("cart.", "checkout."), prefixes.getPrefixes());
+        assertEquals(prefixes, KeyPrefixes.of(List.of("checkout.", "cart.")));
+        assertEquals(prefixes.hashCode(), KeyPrefixes.of(List.of("checkout.", "cart.")).hashCode());
+    }
+
+    /**
+     * Verifies matching of single keys.
+     */
+    @Test
+    public void matches() {
+        KeyPrefixes prefixes = KeyPrefixes.of(List.of("cart."));
+        assertTrue(prefixes.matches("cart.title"));
+        assertTrue(prefixes.matches("cart."));
+        assertFalse(prefixes.matches("cart"));
+        assertFalse(prefixes.matches("checkout.title"));
+        assertTrue(KeyPrefixes.NONE.matches("any"));
+    }
+
+    /**
+     * Verifies the range scans return exactly the keys with one of the prefixes.
+     */
+    @Test
+    public void filter() {
+        TreeMap<String, String> labels = new TreeMap<>(Map.of(
+            "cart", "0", "cart.", "1", "cart.title", "2", "cart\uFFFF", "3", "cartx", "4", "checkout.title", "5", "footer", "6"
+        ));
+        assertSame(labels, KeyPrefixes.NONE.filter(labels));
+        assertEquals(Map.of("cart.", "1", "cart.title", "2", "checkout.title", "5"), KeyPrefixes.of(List.of("cart.", "checkout.")).filter(labels));
+        assertEquals(Map.of("cart.title", "2"), KeyPrefixes.of(List.of("cart.t")).filter(Map.of("cart.title", "2", "footer", "6")));
+        assertTrue(KeyPrefixes.of(List.of("header.")).filter(labels).isEmpty());
+    }
+
+    /**
+     * Verifies the query condition escapes the like wildcards and quotes.
+     */
+    @Test
+    public void toCondition() {
+        assertEquals("", KeyPrefixes.NONE.toCondition("t.[key]"));
+        assertEquals("(t.[key] like 'cart.%' or t.[key] like 'it''s\\_50\\%%')", KeyPrefixes.of(List.of("cart.", "it's_50%")).toCondition("t.[key]"));
+    }
+}
@@ -0,0 +1,139 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link MessageAst}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class MessageAstTest {
+
+    /**
+     * Verifies plain messages pass through unchanged, including quotes and braces without placeholder.
+     */
+    @Test
+    public void plainMessages() {
+        assertEquals("Hello", MessageAst.toTokens("Hello"));
+        assertEquals("It's {name}", MessageAst.toTokens("It's {name}"));
+        assertEquals("", MessageAst.toTokens(""));
+        assertEquals(null, MessageAst.toTokens(null));
+    }
+
+    /**
+     * Verifies literal and argument segments, with the single quote handling of the translation service.
+     */
+    @Test
+    public void placeholderMessages() {
+        assertEquals(List.of("Hello ", Map.of("arg", 0), "!"), MessageAst.toTokens("Hello {0}!"));
+        assertEquals(List.of("It's ", Map.of("arg", 0)), MessageAst.toTokens("It's {0}"));
+        assertEquals(List.of("It's ", Map.of("arg", 0)), MessageAst.toTokens("It''s {0}"));
+        assertEquals(List.of(Map.of("arg", 1), " of ", Map.of("arg", 0)), MessageAst.toTokens("{1} of {0}"));
+    }
+
+    /**
+     * Verifies format types and styles of arguments.
+     */
+    @Test
+    public void typedArguments() {
+        assertEquals(List.of("Total: ", Map.of("arg", 0, "type", "number", "style", "integer")), MessageAst.parse("Total: {0, Number ,INTEGER}"));
+        assertEquals(List.of(Map.of("arg", 0, "type", "number", "style", "#,##0.00")), MessageAst.parse("{0,number,#,##0.00}"));
+        assertEquals(List.of(Map.of("arg", 0, "type", "date"), " ", Map.of("arg", 1)), MessageAst.parse("{0,date} {1}"));
+    }
+
+    /**
+     * Verifies quoted braces and unmatched closing braces are literals as for MessageFormat.
+     */
+    @Test
+    public void quotedLiterals() {
+        assertEquals(List.of("{0} is ", Map.of("arg", 0), " }"), MessageAst.parse("'{0}' is {0} }"));
+        assertEquals(List.of("a'b"), MessageAst.parse("a''b"));
+    }
+
+    /**
+     * Verifies choice options with parsed nested messages.
+     */
+    @Test
+    public void choiceOptions() {
+        final List<Object> tokens = MessageAst.parse("{0,choice,-\u221E#none|0#no files|1#one file|1<{0,number,integer} files}");
+        final Map<?, ?> argument = (Map<?, ?>) tokens.get(0);
+        assertEquals(0, argument.get("arg"));
+        assertEquals("choice", argument.get("type"));
+        final List<?> options = (List<?>) argument.get("options");
+        assertEquals(4, options.size());
+        assertEquals(Map.of("limit", "-Infinity", "message", "none"), options.get(0));
+        assertEquals(Map.of("limit", 0.0, "message", "no files"), options.get(1));
+        assertEquals(Map.of("limit", Math.nextUp(1.0), "message", List.of(Map.of("arg", 0, "type", "number", "style", "integer"), " files")), options.get(3));
+    }
+
+    /**
+     * Verifies messages whose only arguments are typed, choice or multi-digit arguments are parsed as well.
+     */
+    @Test
+    public void messagesWithoutSimplePlaceholder() {
+        assertEquals(List.of("Total: ", Map.of("arg", 0, "type", "number", "style", "integer")), MessageAst.toTokens("Total: {0,number,integer}"));
+        assertEquals(List.of("It's ", Map.of("arg", 0, "type", "number")), MessageAst.toTokens("It's {0,number}"));
+        assertEquals(List.of(Map.of("arg", 10)), MessageAst.toTokens("{10}"));
+        assertEquals(List.of(Map.of("arg", 0, "type", "choice", "options", List.of(
+            Map.of("limit", 0.0, "message", "none"),
+            Map.of("limit", 1.0, "message", "one")
+        ))), MessageAst.toTokens("{0,choice,0#none|1#one}"));
+    }
+
+    /**
+     * Verifies invalid patterns are rejected and passed through unchanged as tokens.
+     */
+    @Test
+    public void invalidPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> MessageAst.parse("{0"));
+        assertThrows(IllegalArgumentException.class, () -> MessageAst.parse("{x}"));
+        assertThrows(IllegalArgumentException.class, () -> MessageAst.parse("{0,money}"));
+        assertEquals("{0,money} and {1}", MessageAst.toTokens("{0,money} and {1}"));
+    }
+
+    /**
+     * Verifies the JSON output of plain and parsed messages.
+     */
+    @Test
+    public void writeJson() throws IOException {
+        Map<String, String> labels = new LinkedHashMap<>();
+        labels.put("greeting", "Hello \"{0}\"");
+        labels.put("plain", "Hi");
+        labels.put("files", "{0,choice,0#none|1<{0}}");
+        StringWriter out = new StringWriter();
+        MessageAst.write(labels, out);
+        assertEquals("{\"greeting\":[\"Hello \\\"\",{\"arg\":0},\"\\\"\"],\"plain\":\"Hi\","
+            + "\"files\":[{\"arg\":0,\"type\":\"choice\",\"options\":[{\"limit\":0.0,\"message\":\"none\"},"
+            + "{\"limit\":1.0000000000000002,\"message\":[{\"arg\":0}]}]}]}", out.toString());
+    }
+}
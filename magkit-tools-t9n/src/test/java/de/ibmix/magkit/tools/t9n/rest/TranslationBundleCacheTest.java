@@ -0,0 +1,185 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.index.TranslationWorkspaceObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.jcr.RepositoryException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link TranslationBundleCache}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationBundleCacheTest {
+
+    private TranslationWorkspaceObserver _observer;
+    private TranslationBundleCache _cache;
+    private AtomicInteger _loads;
+
+    @BeforeEach
+    public void setUp() {
+        _observer = mock(TranslationWorkspaceObserver.class);
+        _cache = new TranslationBundleCache(_observer);
+        _loads = new AtomicInteger();
+    }
+
+    private Map<String, String> load(String locale) {
+        return Map.of("greeting", locale + _loads.incrementAndGet());
+    }
+
+    /**
+     * Verifies bundles are loaded once per locale.
+     */
+    @Test
+    public void cachePerLocale() throws RepositoryException {
+        TranslationBundle de = _cache.get("de", this::load);
+        assertSame(de, _cache.get("de", this::load));
+        assertEquals("de1", de.getLabels().get("greeting"));
+        assertEquals("en2", _cache.get("en", this::load).getLabels().get("greeting"));
+        assertEquals(2, _cache.getMisses());
+        assertEquals(1, _cache.getHits());
+        assertEquals(2, _cache.size());
+    }
+
+    /**
+     * Verifies concurrent misses for one locale wait for a single load.
+     */
+    @Test
+    public void singleFlight() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final TranslationBundleCache.Loader slowLoader = locale -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return load(locale);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<TranslationBundle> first = executor.submit(() -> _cache.get("de", slowLoader));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<TranslationBundle> second = executor.submit(() -> _cache.get("de", slowLoader));
+            Future<TranslationBundle> third = executor.submit(() -> _cache.get("de", slowLoader));
+            release.countDown();
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertSame(first.get(), third.get(5, TimeUnit.SECONDS));
+            assertEquals(1, _loads.get());
+            assertEquals(1, _cache.getMisses());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, Map<String, String>> loadAll(Collection<String> locales) {
+        final Map<String, Map<String, String>> labels = new LinkedHashMap<>();
+        locales.forEach(locale -> labels.put(locale, load(locale)));
+        return labels;
+    }
+
+    /**
+     * Verifies the missing locales of a batch are loaded with one call and the cached ones are reused.
+     */
+    @Test
+    public void loadMissingLocalesTogether() throws RepositoryException {
+        TranslationBundle de = _cache.get("de", this::load);
+        final List<Collection<String>> batches = new ArrayList<>();
+        Map<String, TranslationBundle> bundles = _cache.getAll(List.of("en", "de", "fr", "en"), locales -> {
+            batches.add(new ArrayList<>(locales));
+            return loadAll(locales);
+        });
+
+        assertEquals(List.of("en", "de", "fr"), new ArrayList<>(bundles.keySet()));
+        assertSame(de, bundles.get("de"));
+        assertEquals(List.of(List.of("en", "fr")), batches);
+        assertEquals("fr3", bundles.get("fr").getLabels().get("greeting"));
+        assertSame(bundles.get("fr"), _cache.get("fr", this::load));
+        assertEquals(3, _cache.getMisses());
+        assertEquals(2, _cache.getHits());
+    }
+
+    /**
+     * Verifies a failed batch load is reported and none of its locales is cached.
+     */
+    @Test
+    public void doNotCacheBatchErrors() throws RepositoryException {
+        _cache.get("de", this::load);
+        assertThrows(RepositoryException.class, () -> _cache.getAll(List.of("de", "en"), locales -> {
+            throw new RepositoryException("failure");
+        }));
+        assertEquals(1, _cache.size());
+        assertEquals("en2", _cache.getAll(List.of("en"), this::loadAll).get("en").getLabels().get("greeting"));
+    }
+
+    /**
+     * Verifies failed loads are reported and not cached.
+     */
+    @Test
+    public void doNotCacheErrors() throws RepositoryException {
+        assertThrows(RepositoryException.class, () -> _cache.get("de", locale -> {
+            throw new RepositoryException("failure");
+        }));
+        assertEquals(0, _cache.size());
+        assertEquals("de1", _cache.get("de", this::load).getLabels().get("greeting"));
+    }
+
+    /**
+     * Verifies workspace changes drop all cached bundles.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void invalidateOnWorkspaceChange() throws RepositoryException {
+        _cache.get("de", this::load);
+        _cache.get("en", this::load);
+        ArgumentCaptor<Consumer<Set<String>>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(_observer).addListener(listener.capture());
+
+        listener.getValue().accept(Set.of("/greeting"));
+        assertEquals(0, _cache.size());
+        assertEquals("de3", _cache.get("de", this::load).getLabels().get("greeting"));
+    }
+}
@@ -0,0 +1,139 @@
+package de.ibmix.magkit.tools.t9n.rest;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link TranslationBundle}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationBundleTest {
+
+    /**
+     * Verifies the entity tag only depends on the content.
+     */
+    @Test
+    public void etagFromContent() {
+        TranslationBundle bundle = new TranslationBundle(Map.of("a", "1", "b", "2"));
+        assertEquals(32, bundle.getEtag().length());
+        assertEquals(bundle.getEtag(), new TranslationBundle(Map.of("b", "2", "a", "1")).getEtag());
+        assertNotEquals(bundle.getEtag(), new TranslationBundle(Map.of("a", "1", "b", "3")).getEtag());
+        assertNotEquals(new TranslationBundle(Map.of("ab", "c")).getEtag(), new TranslationBundle(Map.of("a", "bc")).getEtag());
+    }
+
+    /**
+     * Verifies parsing of the If-None-Match header values.
+     */
+    @Test
+    public void matchIfNoneMatch() {
+        TranslationBundle bundle = new TranslationBundle(Map.of("a", "1"));
+        final String etag = '"' + bundle.getEtag() + '"';
+        assertTrue(bundle.matches(etag));
+        assertTrue(bundle.matches("W/" + etag));
+        assertTrue(bundle.matches("\"other\", " + etag));
+        assertTrue(bundle.matches("*"));
+        assertFalse(bundle.matches(bundle.getEtag()));
+        assertFalse(bundle.matches("\"other\""));
+        assertFalse(bundle.matches(null));
+    }
+
+    /**
+     * Verifies filtered bundles have their own content and entity tag and are reused for equal prefixes.
+     */
+    @Test
+    public void filterByPrefix() {
+        TranslationBundle bundle = new TranslationBundle(Map.of("cart.title", "Warenkorb", "checkout.title", "Kasse", "footer", "Fuß"));
+        assertSame(bundle, bundle.filter(KeyPrefixes.NONE));
+
+        TranslationBundle filtered = bundle.filter(KeyPrefixes.of(List.of("cart.", "checkout.")));
+        assertEquals(Map.of("cart.title", "Warenkorb", "checkout.title", "Kasse"), filtered.getLabels());
+        assertEquals(new TranslationBundle(filtered.getLabels()).getEtag(), filtered.getEtag());
+        assertNotEquals(bundle.getEtag(), filtered.getEtag());
+        assertSame(filtered, bundle.filter(KeyPrefixes.of(List.of("checkout.", "cart."))));
+    }
+
+    /**
+     * Verifies the JSON payload is created once.
+     */
+    @Test
+    public void precomputedJson() {
+        TranslationBundle bundle = new TranslationBundle(Map.of("b", "2", "a", "\"1\""));
+        assertEquals("{\"a\":\"\\\"1\\\"\",\"b\":\"2\"}", new String(bundle.getJson(), StandardCharsets.UTF_8));
+        assertSame(bundle.getJson(), bundle.getJson());
+    }
+
+    /**
+     * Verifies the gzip payload is compressed once from the bytes of the JSON payload, also for concurrent requests.
+     */
+    @Test
+    public void precomputedGzip() throws Exception {
+        TranslationBundle bundle = new TranslationBundle(Map.of("greeting", "Grüß Gott"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> results = executor.invokeAll(Collections.nCopies(8, (Callable<byte[]>) bundle::getGzip));
+            for (Future<byte[]> result : results) {
+                assertSame(bundle.getGzip(), result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bundle.getGzip()))) {
+            assertArrayEquals(bundle.getJson(), in.readAllBytes());
+        }
+    }
+
+    /**
+     * Verifies the pre-parsed format is created once and compressed separately.
+     */
+    @Test
+    public void precomputedAst() throws IOException {
+        TranslationBundle bundle = new TranslationBundle(Map.of("greeting", "Hello {0}", "plain", "Hi"));
+        final String ast = "{\"greeting\":[\"Hello \",{\"arg\":0}],\"plain\":\"Hi\"}";
+        assertEquals(ast, new String(bundle.getAst(), StandardCharsets.UTF_8));
+        assertSame(bundle.getAst(), bundle.getAst());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bundle.getAstGzip()))) {
+            assertEquals(ast, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
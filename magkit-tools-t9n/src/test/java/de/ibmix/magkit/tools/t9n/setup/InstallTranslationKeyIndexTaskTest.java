@@ -0,0 +1,102 @@
+package de.ibmix.magkit.tools.t9n.setup;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.test.cms.module.InstallContextStubbingOperation;
+import info.magnolia.module.InstallContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.jcr.Node;
+
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.cleanContext;
+import static de.ibmix.magkit.test.cms.module.ModuleMockUtils.mockInstallContext;
+import static de.ibmix.magkit.test.jcr.NodeMockUtils.mockNode;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static de.ibmix.magkit.tools.t9n.setup.InstallTranslationKeyIndexTask.INDEX_NAME;
+import static de.ibmix.magkit.tools.t9n.setup.InstallTranslationKeyIndexTask.INDEX_ROOT;
+import static de.ibmix.magkit.tools.t9n.setup.InstallTranslationKeyIndexTask.ORDER_INDEX_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link InstallTranslationKeyIndexTask}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class InstallTranslationKeyIndexTaskTest {
+
+    private InstallContext _installContext;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        _installContext = mockInstallContext(InstallContextStubbingOperation.stubJcrSession(WS_TRANSLATION));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanContext();
+    }
+
+    /**
+     * Verifies the property index and the ordered Lucene index are added below an existing index root.
+     */
+    @Test
+    public void addIndexDefinition() throws Exception {
+        Node indexRoot = mockNode(WS_TRANSLATION, "/" + INDEX_ROOT);
+        new InstallTranslationKeyIndexTask().execute(_installContext);
+        assertTrue(indexRoot.hasNode(INDEX_NAME));
+        assertEquals("property", indexRoot.getNode(INDEX_NAME).getProperty("type").getString());
+        assertTrue(indexRoot.hasNode(ORDER_INDEX_NAME));
+        assertEquals("lucene", indexRoot.getNode(ORDER_INDEX_NAME).getProperty("type").getString());
+        Node keyRule = indexRoot.getNode(ORDER_INDEX_NAME).getNode("indexRules").getNode(NAME).getNode("properties").getNode(PN_KEY);
+        assertTrue(keyRule.getProperty("ordered").getBoolean());
+        assertTrue(keyRule.getProperty("propertyIndex").getBoolean());
+    }
+
+    /**
+     * Verifies an existing index definition is kept and the missing one is added.
+     */
+    @Test
+    public void keepExistingIndexDefinition() throws Exception {
+        Node indexRoot = mockNode(WS_TRANSLATION, "/" + INDEX_ROOT);
+        Node existing = mockNode(WS_TRANSLATION, "/" + INDEX_ROOT + "/" + INDEX_NAME);
+        new InstallTranslationKeyIndexTask().execute(_installContext);
+        assertSame(existing, indexRoot.getNode(INDEX_NAME));
+        assertFalse(existing.hasProperty("type"));
+        assertTrue(indexRoot.hasNode(ORDER_INDEX_NAME));
+    }
+
+    /**
+     * Verifies nothing is added for repositories without index definitions.
+     */
+    @Test
+    public void skipWithoutIndexRoot() throws Exception {
+        new InstallTranslationKeyIndexTask().execute(_installContext);
+        assertFalse(_installContext.getJCRSession(WS_TRANSLATION).getRootNode().hasNode(INDEX_ROOT));
+    }
+}
@@ -20,14 +20,27 @@ package de.ibmix.magkit.tools.t9n.setup;
  * #L%
  */
 
+import de.ibmix.magkit.tools.t9n.index.TranslationChangeBroadcaster;
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import de.ibmix.magkit.tools.t9n.index.TranslationWorkspaceObserver;
+import de.ibmix.magkit.tools.t9n.metrics.TranslationMetrics;
+import de.ibmix.magkit.tools.t9n.usage.KeyUsageTracker;
+import de.ibmix.magkit.tools.t9n.usage.MissingKeyCollector;
 import info.magnolia.module.ModuleLifecycleContext;
+import info.magnolia.objectfactory.Components;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static de.ibmix.magkit.test.cms.context.ComponentsMockUtils.mockComponentInstance;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.cleanContext;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
@@ -45,6 +58,17 @@ public class TranslationModuleTest {
     public void setUp() {
         _translationModule = new TranslationModule();
         _moduleLifecycleContext = mock(ModuleLifecycleContext.class);
+        mockComponentInstance(TranslationChangeBroadcaster.class);
+        mockComponentInstance(MissingKeyCollector.class);
+        mockComponentInstance(KeyUsageTracker.class);
+        mockComponentInstance(TranslationIndex.class);
+        mockComponentInstance(TranslationWorkspaceObserver.class);
+        mockComponentInstance(TranslationMetrics.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cleanContext();
     }
 
     @Test
@@ -89,5 +113,43 @@ public class TranslationModuleTest {
         _translationModule.setBasePath(null);
         assertNull(_translationModule.getBasePath());
     }
-}
 
+    @Test
+    public void stopComponents() {
+        final TranslationChangeBroadcaster broadcaster = Components.getComponent(TranslationChangeBroadcaster.class);
+        final KeyUsageTracker keyUsageTracker = Components.getComponent(KeyUsageTracker.class);
+        final TranslationMetrics metrics = Components.getComponent(TranslationMetrics.class);
+        doThrow(new IllegalStateException("test")).when(keyUsageTracker).stop();
+
+        _translationModule.stop(_moduleLifecycleContext);
+        verify(broadcaster).stop();
+        verify(Components.getComponent(MissingKeyCollector.class)).stop();
+        verify(keyUsageTracker).stop();
+        verify(Components.getComponent(TranslationIndex.class)).stop();
+        verify(Components.getComponent(TranslationWorkspaceObserver.class)).unregister();
+        verify(metrics).unregister();
+    }
+
+    @Test
+    public void startComponentsAgain() {
+        final TranslationWorkspaceObserver observer = Components.getComponent(TranslationWorkspaceObserver.class);
+        doThrow(new IllegalStateException("test")).when(observer).resume();
+
+        _translationModule.stop(_moduleLifecycleContext);
+        _translationModule.start(_moduleLifecycleContext);
+        verify(observer).resume();
+        verify(Components.getComponent(TranslationMetrics.class)).register();
+    }
+
+    @Test
+    public void warmUpOnStart() {
+        final TranslationIndex index = mockComponentInstance(TranslationIndex.class);
+        _translationModule.start(_moduleLifecycleContext);
+        verify(index, never()).startWarmUp();
+
+        _translationModule.setWarmUpOnStart(true);
+        _translationModule.start(_moduleLifecycleContext);
+        verify(index).startWarmUp();
+        verifyNoInteractions(_moduleLifecycleContext);
+    }
+}
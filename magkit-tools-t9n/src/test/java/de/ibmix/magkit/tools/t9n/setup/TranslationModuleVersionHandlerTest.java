@@ -0,0 +1,59 @@
+package de.ibmix.magkit.tools.t9n.setup;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import info.magnolia.module.InstallContext;
+import info.magnolia.module.delta.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link TranslationModuleVersionHandler}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class TranslationModuleVersionHandlerTest {
+
+    private final TranslationModuleVersionHandler _handler = new TranslationModuleVersionHandler();
+
+    /**
+     * Verifies the key index is installed on module install.
+     */
+    @Test
+    public void installTasksContainKeyIndex() {
+        List<Task> tasks = _handler.getExtraInstallTasks(mock(InstallContext.class));
+        assertTrue(tasks.stream().anyMatch(InstallTranslationKeyIndexTask.class::isInstance));
+    }
+
+    /**
+     * Verifies the key index usage is checked on every startup.
+     */
+    @Test
+    public void startupTasksContainIndexVerification() {
+        List<Task> tasks = _handler.getStartupTasks(mock(InstallContext.class));
+        assertTrue(tasks.stream().anyMatch(VerifyTranslationKeyIndexTask.class::isInstance));
+    }
+}
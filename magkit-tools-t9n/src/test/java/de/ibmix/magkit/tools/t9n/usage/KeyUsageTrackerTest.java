@@ -0,0 +1,110 @@
+package de.ibmix.magkit.tools.t9n.usage;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link KeyUsageTracker}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class KeyUsageTrackerTest {
+
+    @TempDir
+    private File _tempDir;
+
+    private TranslationModule _module;
+    private KeyUsageTracker _tracker;
+
+    @BeforeEach
+    public void setUp() {
+        _module = new TranslationModule();
+        _module.setTrackKeyUsage(true);
+        _tracker = new KeyUsageTracker(() -> _module, new File(_tempDir, KeyUsageTracker.FILE_NAME));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        _tracker.stop();
+    }
+
+    @Test
+    public void disabledByDefault() {
+        _module.setTrackKeyUsage(false);
+        _tracker.record("some.key");
+        _tracker.recordBundleRequest();
+        assertEquals(0L, _tracker.getCount("some.key"));
+        assertEquals(0L, _tracker.getLastBundleRequest());
+    }
+
+    @Test
+    public void recordKeys() {
+        final long start = System.currentTimeMillis();
+        _tracker.record("used.key", null, "other.key");
+        _tracker.record("used.key");
+        assertEquals(2L, _tracker.getCount("used.key"));
+        assertEquals(1L, _tracker.getCount("other.key"));
+        assertTrue(_tracker.getLastAccess("used.key") >= start);
+        assertFalse(_tracker.isUnusedSince("used.key", start));
+        assertTrue(_tracker.isUnusedSince("unused.key", start));
+        assertTrue(_tracker.getSince() > 0L);
+    }
+
+    @Test
+    public void limitTrackedKeys() {
+        for (int i = 0; i < KeyUsageTracker.MAX_KEYS; i++) {
+            _tracker.record("key." + i);
+        }
+        _tracker.record("one.too.many", "key.0");
+        assertEquals(0L, _tracker.getCount("one.too.many"));
+        assertEquals(2L, _tracker.getCount("key.0"));
+    }
+
+    @Test
+    public void flushAndLoad() {
+        _tracker.record("used.key");
+        _tracker.recordBundleRequest();
+        final long since = _tracker.getSince();
+        _tracker.flush();
+        assertTrue(new File(_tempDir, KeyUsageTracker.FILE_NAME).isFile());
+
+        KeyUsageTracker reloaded = new KeyUsageTracker(() -> _module, new File(_tempDir, KeyUsageTracker.FILE_NAME));
+        assertEquals(1L, reloaded.getCount("used.key"));
+        assertEquals(_tracker.getLastAccess("used.key"), reloaded.getLastAccess("used.key"));
+        assertEquals(since, reloaded.getSince());
+        assertEquals(_tracker.getLastBundleRequest(), reloaded.getLastBundleRequest());
+        reloaded.record("used.key");
+        assertEquals(2L, reloaded.getCount("used.key"));
+        reloaded.stop();
+    }
+}
@@ -0,0 +1,138 @@
+package de.ibmix.magkit.tools.t9n.usage;
+
+/*-
+ * #%L
+ * IBM iX Magnolia Kit Tools Translation
+ * %%
+ * Copyright (C) 2026 IBM iX
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import de.ibmix.magkit.tools.t9n.index.TranslationIndex;
+import de.ibmix.magkit.tools.t9n.index.TranslationWorkspaceObserver;
+import de.ibmix.magkit.tools.t9n.setup.TranslationModule;
+import info.magnolia.context.MgnlContext;
+import info.magnolia.jcr.util.NodeNameHelper;
+import info.magnolia.jcr.util.PropertyUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.query.Query;
+import java.util.List;
+
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.cleanContext;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockQueryResult;
+import static de.ibmix.magkit.test.cms.context.ContextMockUtils.mockSystemContext;
+import static de.ibmix.magkit.test.cms.context.SystemContextStubbingOperation.stubJcrSession;
+import static de.ibmix.magkit.test.jcr.NodeMockUtils.mockNode;
+import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubProperty;
+import static de.ibmix.magkit.test.jcr.NodeStubbingOperation.stubType;
+import static de.ibmix.magkit.tools.t9n.MagnoliaTranslationServiceImpl.BASE_QUERY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.NAME;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.Translation.PN_KEY;
+import static de.ibmix.magkit.tools.t9n.TranslationNodeTypes.WS_TRANSLATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link MissingKeyCollector}.
+ *
+ * @author IBM iX
+ * @since 2026-10-18
+ */
+public class MissingKeyCollectorTest {
+
+    private TranslationModule _module;
+    private MissingKeyCollector _collector;
+
+    @BeforeEach
+    public void setUp() throws RepositoryException {
+        mockSystemContext(stubJcrSession(WS_TRANSLATION));
+        _module = new TranslationModule();
+        _module.setCaptureMissingKeys(true);
+        NodeNameHelper nodeNameHelper = mock(NodeNameHelper.class);
+        when(nodeNameHelper.getValidatedName(anyString())).thenAnswer(invocation -> invocation.getArgument(0).toString().replace('.', '-'));
+        _collector = new MissingKeyCollector(() -> _module, null, () -> nodeNameHelper);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        _collector.stop();
+        cleanContext();
+    }
+
+    @Test
+    public void captureOncePerKey() {
+        assertTrue(_collector.capture("missing.key"));
+        assertFalse(_collector.capture("missing.key"));
+        assertFalse(_collector.capture("invalid'key"));
+        assertFalse(_collector.capture(" "));
+        assertEquals(1, _collector.getQueueSize());
+    }
+
+    @Test
+    public void disabledByDefault() {
+        _module.setCaptureMissingKeys(false);
+        assertFalse(_collector.capture("missing.key"));
+        assertEquals(0, _collector.getQueueSize());
+    }
+
+    @Test
+    public void createPlaceholderNodesInOneSave() throws RepositoryException {
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, BASE_QUERY + "'first.key' or key = 'second.key'");
+        _collector.capture("first.key");
+        _collector.capture("second.key");
+        _collector.processQueue();
+
+        Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+        Node root = session.getRootNode();
+        assertEquals("first.key", PropertyUtil.getString(root.getNode("first-key"), PN_KEY));
+        assertEquals("second.key", PropertyUtil.getString(root.getNode("second-key"), PN_KEY));
+        assertEquals(0, _collector.getQueueSize());
+        verify(session).save();
+    }
+
+    @Test
+    public void skipExistingKeys() throws RepositoryException {
+        Node existing = mockNode(WS_TRANSLATION, "/other/existing", stubProperty(PN_KEY, "existing.key"));
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, BASE_QUERY + "'existing.key'", existing);
+        _collector.capture("existing.key");
+        _collector.processQueue();
+
+        Session session = MgnlContext.getJCRSession(WS_TRANSLATION);
+        assertFalse(session.getRootNode().hasNode("existing-key"));
+        verify(session, never()).save();
+    }
+
+    @Test
+    public void skipKeysOfIndex() throws RepositoryException {
+        mockNode(WS_TRANSLATION, "/indexed", stubProperty(PN_KEY, "indexed.key"), stubType(NAME));
+        mockQueryResult(WS_TRANSLATION, Query.JCR_SQL2, "select * from [" + NAME + "]", MgnlContext.getJCRSession(WS_TRANSLATION).getNode("/indexed"));
+        TranslationIndex index = new TranslationIndex(mock(TranslationWorkspaceObserver.class));
+        index.getSnapshot();
+        MissingKeyCollector collector = new MissingKeyCollector(() -> _module, index, () -> mock(NodeNameHelper.class));
+        assertEquals(0, collector.createNodes(List.of("indexed.key")));
+    }
+}